@@ -0,0 +1,44 @@
+package net.thucydides.maven.plugins;
+
+import net.thucydides.core.screenshots.ScreenshotStore;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Delete the screenshots in a shared screenshot store that are no longer used by any of the given test reports.
+ */
+@Mojo(name = "prune-screenshots", requiresProject = false)
+public class ThucydidesPruneScreenshotsMojo extends AbstractMojo {
+
+    /**
+     * The shared screenshot store to be pruned
+     */
+    @Parameter(property = "thucydides.screenshot.store", required=true)
+    public File screenshotStore;
+
+    /**
+     * All of the report directories that still use the screenshot store.
+     * These must be listed explicitly, as any screenshot not used in one of them will be deleted.
+     */
+    @Parameter(required=true)
+    public List<File> reportDirectories;
+
+    public void execute() throws MojoExecutionException {
+        if ((reportDirectories == null) || reportDirectories.isEmpty()) {
+            throw new MojoExecutionException("Every report directory that uses the screenshot store "
+                                             + "must be listed in reportDirectories");
+        }
+        try {
+            int prunedScreenshots = new ScreenshotStore(screenshotStore).pruneScreenshotsNotUsedIn(reportDirectories);
+            getLog().info("Removed " + prunedScreenshots + " unused screenshots from " + screenshotStore);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Error pruning the screenshot store", e);
+        }
+    }
+}
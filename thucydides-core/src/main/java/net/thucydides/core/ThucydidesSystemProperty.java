@@ -158,6 +158,18 @@ public enum ThucydidesSystemProperty {
      */
     THUCYDIDES_RESTART_BROWSER_FREQUENCY,
 
+    /**
+     * How many browsers to keep open for each driver type, including the ones being used by tests.
+     * When set, restarting the browser takes a clean browser from the pool instead of starting a new one,
+     * and used browsers are cleared and put back in the pool. Not used by default.
+     */
+    THUCYDIDES_DRIVER_POOL_SIZE,
+
+    /**
+     * How many tests a pooled browser can be used for before it is closed and replaced by a new one. Defaults to 20.
+     */
+    THUCYDIDES_DRIVER_POOL_MAX_REUSE,
+
     /**
      * Pause (in ms) between each test step.
      */
@@ -168,6 +180,13 @@ public enum ThucydidesSystemProperty {
      */
     THUCYDIDES_TIMEOUT,
 
+    /**
+     * How waits check for elements and conditions: "polling" (the default) checks at fixed intervals,
+     * whereas "dom-changes" checks again as soon as the page changes, using a MutationObserver in the browser.
+     * Drivers that cannot run asynchronous scripts fall back to polling.
+     */
+    THUCYDIDES_WAIT_STRATEGY,
+
     /**
      * Don't accept sites using untrusted certificates.
      * By default, Thucydides accepts untrusted certificates - use this to change this behaviour.
@@ -317,6 +336,11 @@ public enum ThucydidesSystemProperty {
      */
     WEBDRIVER_TIMEOUTS_IMPLICITLYWAIT,
 
+    /**
+     * How long webdriver lets asynchronous scripts run before they time out, in milliseconds.
+     */
+    WEBDRIVER_TIMEOUTS_SCRIPT,
+
     /**
      * Extension packages. This is a list of packages that will be scanned for custom TagProvider implementations.
      * To add a custom tag provider, just implement the TagProvider interface and specify the root package for this
@@ -585,7 +609,7 @@ public enum ThucydidesSystemProperty {
     NARRATIVE_FORMAT,
 
     /**
-     * What format should test results be generated in.
+     * What format should test results be generated in: json, xml, html, binary or archive.
      * By default, this is "json,xml".
      */
     OUTPUT_FORMATS,
@@ -641,6 +665,19 @@ public enum ThucydidesSystemProperty {
      */
     JSON_CHARSET,
 
+    /**
+     * Check the JSON test outcomes against their validation constraints when they are loaded.
+     * Turning this off makes large aggregate reports faster to load.
+     * "true" or "false", turned on by default.
+     */
+    JSON_OUTCOME_VALIDATION,
+
+    /**
+     * Compress the test outcomes stored in the binary format.
+     * "true" or "false", turned off by default.
+     */
+    THUCYDIDES_BINARY_OUTCOME_COMPRESSION,
+
     /**
      * If set to true, the RetryFilteringRunNotifier will be used to attempt to rerun failing tests.
      */
@@ -653,6 +690,44 @@ public enum ThucydidesSystemProperty {
      */
     SIMPLIFIED_STACK_TRACES,
 
+    /**
+     * How many threads are used to generate the test outcome reports.
+     * The report threads are shared by all the test runners in the JVM. Defaults to 8.
+     */
+    THUCYDIDES_REPORT_THREADS,
+
+    /**
+     * If set to true, the aggregate reports will only regenerate the pages whose test outcomes have changed
+     * since the last aggregate run in the same output directory. False by default.
+     */
+    THUCYDIDES_INCREMENTAL_REPORTS,
+
+    /**
+     * How many threads are used to save and resize screenshots.
+     * Defaults to the number of processors, up to a maximum of 4.
+     */
+    THUCYDIDES_SCREENSHOT_THREADS,
+
+    /**
+     * How many screenshots can be waiting to be saved at any one time.
+     * When the queue is full, tests wait before taking their next screenshot. Defaults to 64.
+     */
+    THUCYDIDES_SCREENSHOT_QUEUE_SIZE,
+
+    /**
+     * A directory where screenshots can be shared between test runs and modules.
+     * If set, each screenshot is stored there once, and hard-linked into the report directories.
+     */
+    THUCYDIDES_SCREENSHOT_STORE,
+
+    /**
+     * If set, a screenshot that looks almost the same as the previous one in the same test is not saved again:
+     * the step refers to the previous screenshot instead.
+     * The value is the number of bits (out of 64) by which the perceptual hashes of two screenshots may differ
+     * for them to be considered the same; 0 only matches screenshots that look identical at thumbnail size.
+     */
+    THUCYDIDES_SCREENSHOT_SIMILARITY_THRESHOLD,
+
     /**
      * Keep the Thucydides session data between tests.
      * Normally, the session data is cleared between tests.
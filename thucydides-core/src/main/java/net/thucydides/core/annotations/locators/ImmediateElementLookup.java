@@ -0,0 +1,42 @@
+package net.thucydides.core.annotations.locators;
+
+/**
+ * Lets a caller ask the element locators on the current thread to look elements up immediately,
+ * rather than waiting for them to appear as the ajax locators normally do.
+ * This is how the "isCurrently*" and "should*CurrentlyVisible" methods avoid waiting for elements that are not there.
+ * Calls to start() and finish() can be nested, and must always be paired:
+ * <pre>
+ *     ImmediateElementLookup.start();
+ *     try {
+ *         return element.isDisplayed();
+ *     } finally {
+ *         ImmediateElementLookup.finish();
+ *     }
+ * </pre>
+ */
+public final class ImmediateElementLookup {
+
+    private static final ThreadLocal<int[]> NESTED_LOOKUPS = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[1];
+        }
+    };
+
+    private ImmediateElementLookup() {}
+
+    public static void start() {
+        NESTED_LOOKUPS.get()[0]++;
+    }
+
+    public static void finish() {
+        int[] nestedLookups = NESTED_LOOKUPS.get();
+        if (nestedLookups[0] > 0) {
+            nestedLookups[0]--;
+        }
+    }
+
+    public static boolean isInProgress() {
+        return NESTED_LOOKUPS.get()[0] > 0;
+    }
+}
@@ -1,6 +1,9 @@
 package net.thucydides.core.annotations.locators;
 
+import com.google.common.base.Optional;
 import com.google.common.collect.Lists;
+import net.thucydides.core.scheduling.DomChangeWatcher;
+import net.thucydides.core.scheduling.WaitStrategy;
 import net.thucydides.core.steps.StepEventBus;
 import org.openqa.selenium.By;
 import org.openqa.selenium.NoSuchElementException;
@@ -19,6 +22,7 @@ public class SmartAjaxElementLocator extends SmartElementLocator {
 
 	private final Field field;
 	private final WebDriver driver;
+	private final Optional<DomChangeWatcher> domChangeWatcher;
 
 	/**
 	 * Main constructor.
@@ -32,12 +36,32 @@ public class SmartAjaxElementLocator extends SmartElementLocator {
 
 	}
 
+	/**
+	 * @param waitStrategy How to wait between lookups while the element is not there yet.
+	 */
+	public SmartAjaxElementLocator(WebDriver driver, Field field, int timeOutInSeconds, WaitStrategy waitStrategy) {
+		this(new SystemClock(), driver, field, timeOutInSeconds, waitStrategy);
+	}
+
 	public SmartAjaxElementLocator(Clock clock, WebDriver driver, Field field, int timeOutInSeconds) {
+		this(clock, driver, field, timeOutInSeconds, WaitStrategy.POLLING);
+	}
+
+	public SmartAjaxElementLocator(Clock clock, WebDriver driver, Field field, int timeOutInSeconds,
+								   WaitStrategy waitStrategy) {
 		super(driver, field);
 		this.timeOutInSeconds = timeOutInSeconds;
 		this.clock = clock;
 		this.field = field;
 		this.driver = driver;
+		this.domChangeWatcher = domChangeWatcherFor(driver, waitStrategy);
+	}
+
+	private static Optional<DomChangeWatcher> domChangeWatcherFor(WebDriver driver, WaitStrategy waitStrategy) {
+		if (waitStrategy == WaitStrategy.DOM_CHANGES) {
+			return Optional.of(new DomChangeWatcher(driver));
+		}
+		return Optional.absent();
 	}
 
 	@Override
@@ -54,18 +78,11 @@ public class SmartAjaxElementLocator extends SmartElementLocator {
 	}
 
 	private boolean calledFromAQuickMethod() {
-        for (StackTraceElement elt : Thread.currentThread().getStackTrace()) {
-            //if (QUICK_METHODS.contains(elt.getMethodName())
-            if (elt.getMethodName().contains("Currently")) {
-                return true;
-            }
-        }
-        return false;
+        return ImmediateElementLookup.isInProgress();
     }
 
 	public WebElement findElementImmediately() {
-		SmartAnnotations annotations = new SmartAnnotations(field);
-		By by = annotations.buildBy();
+		By by = SmartAnnotations.locatorFor(field);
 		WebElement element = driver.findElement(by);
 		if (element == null) {
 			throw new NoSuchElementException("No such element found for criteria " + by.toString());
@@ -125,6 +142,16 @@ public class SmartAjaxElementLocator extends SmartElementLocator {
 		return 250;
 	}
 
+	/**
+	 * When waiting for page changes, the wait happens here, and there is nothing left to sleep for afterwards.
+	 */
+	private long pauseBeforeNextLookup() {
+		if (domChangeWatcher.isPresent() && domChangeWatcher.get().waitForNextChange(sleepFor())) {
+			return 0;
+		}
+		return sleepFor();
+	}
+
 	private class SlowLoadingElement extends SlowLoadableComponent<SlowLoadingElement> {
 		private NoSuchElementException lastException;
 		private WebElement element;
@@ -140,7 +167,7 @@ public class SmartAjaxElementLocator extends SmartElementLocator {
 
 		@Override
 		protected long sleepFor() {
-			return SmartAjaxElementLocator.this.sleepFor();
+			return SmartAjaxElementLocator.this.pauseBeforeNextLookup();
 		}
 
 		@Override
@@ -181,7 +208,7 @@ public class SmartAjaxElementLocator extends SmartElementLocator {
 
 		@Override
 		protected long sleepFor() {
-			return SmartAjaxElementLocator.this.sleepFor();
+			return SmartAjaxElementLocator.this.pauseBeforeNextLookup();
 		}
 
 		@Override
@@ -223,8 +250,6 @@ public class SmartAjaxElementLocator extends SmartElementLocator {
 
     @Override
     public String toString() {
-        SmartAnnotations annotations = new SmartAnnotations(field);
-        By by = annotations.buildBy();
-        return by.toString();
+        return SmartAnnotations.locatorFor(field).toString();
     }
 }
@@ -10,12 +10,21 @@ import org.openqa.selenium.support.pagefactory.Annotations;
 import java.lang.reflect.Field;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 
 public class SmartAnnotations extends Annotations {
 
+    /**
+     * Locators are immutable, so the locator for each field only needs to be worked out once,
+     * and can then be shared by all the page objects and threads that use the field.
+     */
+    private static final ConcurrentMap<Field, org.openqa.selenium.By> LOCATORS_BY_FIELD
+            = new ConcurrentHashMap<Field, org.openqa.selenium.By>();
+
     private Field field;
 
     public SmartAnnotations(Field field) {
@@ -23,6 +32,18 @@ public class SmartAnnotations extends Annotations {
         this.field = field;
     }
 
+    /**
+     * The locator defined by the annotations on a field, built the first time it is needed.
+     */
+    public static org.openqa.selenium.By locatorFor(Field field) {
+        org.openqa.selenium.By locator = LOCATORS_BY_FIELD.get(field);
+        if (locator == null) {
+            locator = new SmartAnnotations(field).buildBy();
+            LOCATORS_BY_FIELD.putIfAbsent(field, locator);
+        }
+        return locator;
+    }
+
     private void assertValidAnnotations() {
         FindBys findBys = field.getAnnotation(FindBys.class);
         FindBy myFindBy = field.getAnnotation(FindBy.class);
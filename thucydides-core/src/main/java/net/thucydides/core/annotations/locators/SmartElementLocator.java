@@ -22,7 +22,7 @@ public class SmartElementLocator implements ElementLocator {
 		this.searchContext = searchContext;
 	    SmartAnnotations annotations = new SmartAnnotations(field);
 	    shouldCache = annotations.isLookupCached();
-	    by = annotations.buildBy();
+	    by = SmartAnnotations.locatorFor(field);
 	}
 
 	/**
@@ -1,5 +1,6 @@
 package net.thucydides.core.annotations.locators;
 
+import net.thucydides.core.scheduling.WaitStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.pagefactory.ElementLocator;
 import org.openqa.selenium.support.pagefactory.ElementLocatorFactory;
@@ -9,13 +10,19 @@ import java.lang.reflect.Field;
 public final class SmartElementLocatorFactory implements ElementLocatorFactory {
 	  private final WebDriver webDriver;
 	  private int timeoutInSeconds;
+	  private final WaitStrategy waitStrategy;
 
 	  public SmartElementLocatorFactory(WebDriver webDriver, int timeoutInSeconds) {
+	    this(webDriver, timeoutInSeconds, WaitStrategy.POLLING);
+	  }
+
+	  public SmartElementLocatorFactory(WebDriver webDriver, int timeoutInSeconds, WaitStrategy waitStrategy) {
 	    this.webDriver = webDriver;
 	    this.timeoutInSeconds = timeoutInSeconds;
+	    this.waitStrategy = waitStrategy;
 	  }
 
 	  public ElementLocator createLocator(Field field) {
-	    return new SmartAjaxElementLocator(webDriver, field, timeoutInSeconds);
+	    return new SmartAjaxElementLocator(webDriver, field, timeoutInSeconds, waitStrategy);
 	  }
 }
@@ -0,0 +1,66 @@
+package net.thucydides.core.images;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+
+/**
+ * A 64-bit "difference hash" of an image, used to tell whether two screenshots look the same.
+ * The image is shrunk to a 9x8 grayscale thumbnail, and each bit records whether a pixel is darker
+ * than its right-hand neighbour. Small changes such as a blinking cursor barely affect the hash,
+ * so similar images have hashes that differ by only a few bits.
+ */
+public class PerceptualHash {
+
+    private static final int HASH_WIDTH = 8;
+    private static final int HASH_HEIGHT = 8;
+
+    private final long hash;
+
+    private PerceptualHash(long hash) {
+        this.hash = hash;
+    }
+
+    public static PerceptualHash of(BufferedImage image) {
+        BufferedImage thumbnail = new BufferedImage(HASH_WIDTH + 1, HASH_HEIGHT, BufferedImage.TYPE_BYTE_GRAY);
+        Graphics2D g = thumbnail.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(image, 0, 0, HASH_WIDTH + 1, HASH_HEIGHT, null);
+        g.dispose();
+
+        Raster pixels = thumbnail.getRaster();
+        long hash = 0;
+        for (int y = 0; y < HASH_HEIGHT; y++) {
+            for (int x = 0; x < HASH_WIDTH; x++) {
+                boolean darkerThanNextPixel = pixels.getSample(x, y, 0) < pixels.getSample(x + 1, y, 0);
+                hash = (hash << 1) | (darkerThanNextPixel ? 1 : 0);
+            }
+        }
+        return new PerceptualHash(hash);
+    }
+
+    /**
+     * @return the number of bits (from 0 to 64) that differ between the two hashes.
+     */
+    public int distanceTo(PerceptualHash otherHash) {
+        return Long.bitCount(hash ^ otherHash.hash);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        return hash == ((PerceptualHash) o).hash;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return Long.toHexString(hash);
+    }
+}
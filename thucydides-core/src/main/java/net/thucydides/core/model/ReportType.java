@@ -17,7 +17,10 @@ public enum ReportType {
     HTML("html"),
     
     /** JSON reports. */
-    JSON("json");
+    JSON("json"),
+
+    /** Binary test outcomes. */
+    BINARY("bin");
 
     private String suffix;
 
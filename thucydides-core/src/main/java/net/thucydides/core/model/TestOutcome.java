@@ -177,6 +177,14 @@ public class TestOutcome {
      */
     private boolean manual;
 
+    /**
+     * Set once the outcome is complete (typically after it has been loaded from a report file).
+     * The values derived from the test steps are only cached while the outcome is frozen.
+     */
+    private transient volatile boolean frozen;
+
+    private transient volatile DerivedState derivedState;
+
     private final org.slf4j.Logger logger = LoggerFactory.getLogger(TestOutcome.class);
 
     /**
@@ -474,12 +482,14 @@ public class TestOutcome {
     }
 
     public void setAllStepsTo(TestResult result) {
+        thaw();
         for(TestStep step : testSteps) {
             step.setResult(result);
         }
     }
 
     public void setAllStepsTo(List<TestStep> steps, TestResult result) {
+        thaw();
         for(TestStep step : steps) {
             step.setResult(result);
             if (step.hasChildren()) {
@@ -641,7 +651,7 @@ public class TestOutcome {
      * @return A list of top-level test steps for this test.
      */
     public List<TestStep> getTestSteps() {
-        return ImmutableList.copyOf(testSteps);
+        return frozen ? derivedState().testSteps : ImmutableList.copyOf(testSteps);
     }
 
     public boolean hasScreenshots() {
@@ -702,8 +712,12 @@ public class TestOutcome {
     }
 
     public List<TestStep> getFlattenedTestSteps() {
+        return frozen ? derivedState().flattenedTestSteps : flattenTestSteps();
+    }
+
+    private List<TestStep> flattenTestSteps() {
         List<TestStep> flattenedTestSteps = new ArrayList<TestStep>();
-        for (TestStep step : getTestSteps()) {
+        for (TestStep step : testSteps) {
             flattenedTestSteps.add(step);
             if (step.isAGroup()) {
                 flattenedTestSteps.addAll(step.getFlattenedSteps());
@@ -713,8 +727,12 @@ public class TestOutcome {
     }
 
     public List<TestStep> getLeafTestSteps() {
+        return frozen ? derivedState().leafTestSteps : findLeafTestSteps();
+    }
+
+    private List<TestStep> findLeafTestSteps() {
         List<TestStep> leafTestSteps = new ArrayList<TestStep>();
-        for (TestStep step : getTestSteps()) {
+        for (TestStep step : testSteps) {
             if (step.isAGroup()) {
                 leafTestSteps.addAll(step.getLeafTestSteps());
             } else {
@@ -734,6 +752,10 @@ public class TestOutcome {
      * @return The outcome of this test.
      */
     public TestResult getResult() {
+        return frozen ? derivedState().result : calculateResult();
+    }
+
+    private TestResult calculateResult() {
         if (annotatedResult != null) {
             return annotatedResult;
         }
@@ -762,6 +784,7 @@ public class TestOutcome {
      */
     public TestOutcome recordStep(final TestStep step) {
         checkNotNull(step.getDescription(), "The test step description was not defined.");
+        thaw();
         if (inGroup()) {
             getCurrentStepGroup().addChildStep(step);
             renumberTestSteps();
@@ -772,11 +795,13 @@ public class TestOutcome {
     }
 
     private void addStep(TestStep step) {
+        thaw();
         testSteps.add(step);
         renumberTestSteps();
     }
 
     private void addSteps(List<TestStep> steps) {
+        thaw();
         testSteps.addAll(steps);
         renumberTestSteps();
     }
@@ -836,6 +861,7 @@ public class TestOutcome {
      * Turns the current step into a group. Subsequent steps will be added as children of the current step.
      */
     public void startGroup() {
+        thaw();
         if (!testSteps.isEmpty()) {
             groupStack.push(currentStep());
         }
@@ -901,6 +927,7 @@ public class TestOutcome {
     }
 
     public void determineTestFailureCause(Throwable cause) {
+        thaw();
         if (cause != null) {
             RootCauseAnalyzer rootCauseAnalyser = new RootCauseAnalyzer(cause);
             FailureCause rootCause = rootCauseAnalyser.getRootCause();
@@ -920,6 +947,7 @@ public class TestOutcome {
     }
 
     public void setTestFailureClassname(String testFailureClassname) {
+        thaw();
         this.testFailureClassname = testFailureClassname;
     }
 
@@ -956,6 +984,7 @@ public class TestOutcome {
     }
 
     public void setAnnotatedResult(final TestResult annotatedResult) {
+        thaw();
         if (this.annotatedResult != PENDING) {
             this.annotatedResult = annotatedResult;
         }
@@ -1092,6 +1121,7 @@ public class TestOutcome {
     }
 
     public void addFailingStepAsSibling(List<TestStep> testStepList, Throwable testFailureCause) {
+        thaw();
         if (testStepList.isEmpty()) {
             addStep(failingStep(testFailureCause));
         } else {
@@ -1115,6 +1145,7 @@ public class TestOutcome {
     }
 
     public void lastStepFailedWith(Throwable testFailureCause) {
+        thaw();
         determineTestFailureCause(testFailureCause);
         TestStep lastTestStep = testSteps.get(testSteps.size() - 1);
         lastTestStep.failedWith(new StepFailureException(testFailureCause.getMessage(), testFailureCause));
@@ -1356,19 +1387,19 @@ public class TestOutcome {
     }
 
     public Integer getSuccessCount() {
-        return count(successfulSteps()).in(getLeafTestSteps());
+        return frozen ? derivedState().successCount : count(successfulSteps()).in(getLeafTestSteps());
     }
 
     public Integer getFailureCount() {
-        return count(failingSteps()).in(getLeafTestSteps());
+        return frozen ? derivedState().failureCount : count(failingSteps()).in(getLeafTestSteps());
     }
 
     public Integer getErrorCount() {
-        return count(errorSteps()).in(getLeafTestSteps());
+        return frozen ? derivedState().errorCount : count(errorSteps()).in(getLeafTestSteps());
     }
 
     public Integer getIgnoredCount() {
-        return count(ignoredSteps()).in(getLeafTestSteps());
+        return frozen ? derivedState().ignoredCount : count(ignoredSteps()).in(getLeafTestSteps());
     }
 
     public Integer getSkippedOrIgnoredCount() {
@@ -1376,12 +1407,71 @@ public class TestOutcome {
     }
 
     public Integer getSkippedCount() {
-        return count(skippedSteps()).in(getLeafTestSteps());
+        return frozen ? derivedState().skippedCount : count(skippedSteps()).in(getLeafTestSteps());
     }
 
     public Integer getPendingCount() {
-        List<TestStep> allTestSteps = getLeafTestSteps();
-        return select(allTestSteps, having(on(TestStep.class).isPending())).size();
+        return frozen ? derivedState().pendingCount : count(pendingSteps()).in(getLeafTestSteps());
+    }
+
+    /**
+     * Mark this test outcome as complete, for example once it has been loaded from a report file.
+     * The result, step lists and step counts of a frozen outcome are worked out once and cached,
+     * rather than being recalculated from the test steps each time a report asks for them.
+     * Recording new steps or failures against the outcome unfreezes it again.
+     * The test steps of a frozen outcome should not be modified directly.
+     */
+    public TestOutcome freeze() {
+        frozen = true;
+        return this;
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void thaw() {
+        frozen = false;
+        derivedState = null;
+    }
+
+    private DerivedState derivedState() {
+        DerivedState state = derivedState;
+        if (state == null) {
+            state = new DerivedState();
+            derivedState = state;
+        }
+        return state;
+    }
+
+    /**
+     * The values derived from the test steps of a frozen test outcome.
+     * The step lists are handed out to every caller, so they are held as immutable lists.
+     */
+    private class DerivedState {
+        private final TestResult result;
+        private final ImmutableList<TestStep> testSteps;
+        private final ImmutableList<TestStep> flattenedTestSteps;
+        private final ImmutableList<TestStep> leafTestSteps;
+        private final int successCount;
+        private final int failureCount;
+        private final int errorCount;
+        private final int ignoredCount;
+        private final int skippedCount;
+        private final int pendingCount;
+
+        DerivedState() {
+            result = calculateResult();
+            testSteps = ImmutableList.copyOf(TestOutcome.this.testSteps);
+            flattenedTestSteps = ImmutableList.copyOf(flattenTestSteps());
+            leafTestSteps = ImmutableList.copyOf(findLeafTestSteps());
+            successCount = count(successfulSteps()).in(leafTestSteps);
+            failureCount = count(failingSteps()).in(leafTestSteps);
+            errorCount = count(errorSteps()).in(leafTestSteps);
+            ignoredCount = count(ignoredSteps()).in(leafTestSteps);
+            skippedCount = count(skippedSteps()).in(leafTestSteps);
+            pendingCount = count(pendingSteps()).in(leafTestSteps);
+        }
     }
 
     public Boolean isSuccess() {
@@ -1537,6 +1627,15 @@ public class TestOutcome {
         };
     }
 
+    StepFilter pendingSteps() {
+        return new StepFilter() {
+            @Override
+            boolean apply(TestStep step) {
+                return step.isPending();
+            }
+        };
+    }
+
     public void setStatistics(TestStatistics statistics) {
         this.statistics = statistics;
     }
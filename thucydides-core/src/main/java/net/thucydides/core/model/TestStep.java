@@ -46,6 +46,28 @@ public class TestStep {
         this.number = number;
     }
 
+    private TestStep(final long startTime) {
+        this.startTime = startTime;
+    }
+
+    /**
+     * Rebuild a test step that was loaded from a stored test outcome.
+     * Unlike the other constructors, this does not need to read the system clock.
+     */
+    public static TestStep restoredStep(int number, String description, long startTime, long duration,
+                                        TestResult result, FailureCause exception,
+                                        List<ScreenshotAndHtmlSource> screenshots, List<TestStep> children) {
+        TestStep step = new TestStep(startTime);
+        step.number = number;
+        step.description = description;
+        step.duration = duration;
+        step.result = result;
+        step.exception = exception;
+        step.screenshots = Lists.newArrayList(screenshots);
+        step.children = Lists.newArrayList(children);
+        return step;
+    }
+
     private SystemClock getSystemClock() {
         return Injectors.getInjector().getInstance(SystemClock.class);
     }
@@ -11,8 +11,8 @@ import net.thucydides.core.pages.components.FileToUpload;
 import net.thucydides.core.pages.jquery.JQueryEnabledPage;
 import net.thucydides.core.reflection.MethodFinder;
 import net.thucydides.core.scheduling.FluentWaitWithRefresh;
-import net.thucydides.core.scheduling.NormalFluentWait;
 import net.thucydides.core.scheduling.ThucydidesFluentWait;
+import net.thucydides.core.scheduling.WaitStrategy;
 import net.thucydides.core.steps.StepDelayer;
 import net.thucydides.core.steps.StepEventBus;
 import net.thucydides.core.util.EnvironmentVariables;
@@ -872,11 +872,7 @@ public abstract class PageObject {
 
     public void addJQuerySupport() {
         if (pageIsLoaded()) {
-            JQueryEnabledPage jQueryEnabledPage = JQueryEnabledPage.withDriver(getDriver());
-            if (jQueryEnabledPage.isJQueryIntegrationEnabled() && !jQueryEnabledPage.isJQueryAvailable()) {
-                jQueryEnabledPage.injectJQuery();
-                jQueryEnabledPage.injectJQueryPlugins();
-            }
+            JQueryEnabledPage.withDriver(getDriver()).injectJQueryIfAbsent();
         }
     }
 
@@ -896,7 +892,7 @@ public abstract class PageObject {
     }
 
     public ThucydidesFluentWait<WebDriver> waitForCondition() {
-        return new NormalFluentWait<>(driver, webdriverClock, sleeper)
+        return WaitStrategy.configuredIn(environmentVariables).newWait(driver, webdriverClock, sleeper)
                 .withTimeout(waitForTimeoutInMilliseconds, TimeUnit.MILLISECONDS)
                 .pollingEvery(WAIT_FOR_ELEMENT_PAUSE_LENGTH, TimeUnit.MILLISECONDS)
                 .ignoring(NoSuchElementException.class, NoSuchFrameException.class);
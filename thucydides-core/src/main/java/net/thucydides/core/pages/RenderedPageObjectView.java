@@ -1,7 +1,9 @@
 package net.thucydides.core.pages;
 
-import net.thucydides.core.scheduling.NormalFluentWait;
+import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.scheduling.ThucydidesFluentWait;
+import net.thucydides.core.scheduling.WaitStrategy;
+import net.thucydides.core.util.EnvironmentVariables;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.*;
 import org.openqa.selenium.support.ui.SystemClock;
@@ -20,6 +22,7 @@ public class RenderedPageObjectView {
     private transient long waitForTimeoutInMilliseconds;
     private final Clock webdriverClock;
     private final Sleeper sleeper;
+    private final WaitStrategy waitStrategy;
 
     private static final int WAIT_FOR_ELEMENT_PAUSE_LENGTH = 50;
 
@@ -31,10 +34,11 @@ public class RenderedPageObjectView {
         this.waitForTimeoutInMilliseconds = waitForTimeout;
         this.webdriverClock = new SystemClock();
         this.sleeper = Sleeper.SYSTEM_SLEEPER;
+        this.waitStrategy = WaitStrategy.configuredIn(Injectors.getInjector().getProvider(EnvironmentVariables.class).get());
     }
 
     public ThucydidesFluentWait<WebDriver> waitForCondition() {
-        return new NormalFluentWait<WebDriver>(driver, webdriverClock, sleeper)
+        return waitStrategy.newWait(driver, webdriverClock, sleeper)
                 .withTimeout(waitForTimeoutInMilliseconds, TimeUnit.MILLISECONDS)
                 .pollingEvery(WAIT_FOR_ELEMENT_PAUSE_LENGTH, TimeUnit.MILLISECONDS)
                 .ignoring(NoSuchElementException.class, NoSuchFrameException.class);
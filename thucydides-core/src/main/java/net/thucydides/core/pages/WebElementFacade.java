@@ -48,6 +48,12 @@ public interface WebElementFacade extends WebElement, WrapsElement, Locatable, W
 
     public abstract List<String> getSelectOptions();
 
+    /**
+     * Read the displayed, enabled and selected state, text, attributes, location and size of this element
+     * in a single round trip to the browser. Checks made on the snapshot do not go back to the browser.
+     */
+    public abstract WebElementSnapshot snapshot();
+
     /**
 	 * Type a value into a field, making sure that the field is empty first.
 	 *
@@ -5,8 +5,10 @@ import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.annotations.locators.ImmediateElementLookup;
 import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.pages.jquery.JQueryEnabledPage;
+import net.thucydides.core.scheduling.WaitStrategy;
 import net.thucydides.core.steps.StepEventBus;
 import net.thucydides.core.util.EnvironmentVariables;
 import net.thucydides.core.webdriver.javascript.JavascriptExecutorFacade;
@@ -23,9 +25,11 @@ import org.slf4j.LoggerFactory;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static ch.lambdaj.Lambda.convert;
+import static net.thucydides.core.webdriver.javascript.JavascriptSupport.javascriptIsSupportedIn;
 
 
 /**
@@ -232,22 +236,30 @@ public class WebElementFacadeImpl implements WebElementFacade {
      * Is this web element present and visible on the screen
      * This method will not throw an exception if the element is not on the screen at all.
      * The method will fail immediately if the element is not visible on the screen.
-     * There is a little black magic going on here - the web element class will detect if it is being called
-     * by a method called "isCurrently*" and, if so, fail immediately without waiting as it would normally do.
+     * The element is looked up immediately, so the method will not wait for the element to appear
+     * as it would normally do.
      */
     @Override
 	public boolean isCurrentlyVisible() {
-        return isVisible();
+        ImmediateElementLookup.start();
+        try {
+            return isVisible();
+        } finally {
+            ImmediateElementLookup.finish();
+        }
     }
 
     @Override
 	public boolean isCurrentlyEnabled() {
+        ImmediateElementLookup.start();
         try {
             return getElement().isEnabled();
         } catch (NoSuchElementException e) {
             return false;
         } catch (StaleElementReferenceException se) {
             return false;
+        } finally {
+            ImmediateElementLookup.finish();
         }
     }
 
@@ -648,7 +660,7 @@ public class WebElementFacadeImpl implements WebElementFacade {
 
     }
 
-    private static final List<String> HTML_ELEMENTS_WITH_VALUE_ATTRIBUTE = ImmutableList.of("input", "button", "option");
+    static final List<String> HTML_ELEMENTS_WITH_VALUE_ATTRIBUTE = ImmutableList.of("input", "button", "option");
 
     private boolean hasValueAttribute(WebElement webElement) {
         String tag = webElement.getTagName().toLowerCase();
@@ -666,6 +678,12 @@ public class WebElementFacadeImpl implements WebElementFacade {
 
     @Override
 	public Wait<WebDriver> waitForCondition() {
+        if (WaitStrategy.configuredIn(environmentVariables) == WaitStrategy.DOM_CHANGES) {
+            return WaitStrategy.DOM_CHANGES.newWait(driver, webdriverClock, sleeper)
+                    .withTimeout(timeoutInMilliseconds, TimeUnit.MILLISECONDS)
+                    .pollingEvery(WAIT_FOR_ELEMENT_PAUSE_LENGTH, TimeUnit.MILLISECONDS)
+                    .ignoring(NoSuchElementException.class, NoSuchFrameException.class);
+        }
         return new FluentWait<WebDriver>(driver, webdriverClock, sleeper)
                 .withTimeout(timeoutInMilliseconds, TimeUnit.MILLISECONDS)
                 .pollingEvery(WAIT_FOR_ELEMENT_PAUSE_LENGTH, TimeUnit.MILLISECONDS)
@@ -750,6 +768,39 @@ public class WebElementFacadeImpl implements WebElementFacade {
         return "";
     }
 
+    /**
+     * Read the current state of the element in a single round trip to the browser.
+     * The element is looked up immediately, without waiting for it to appear.
+     */
+    @Override
+    public WebElementSnapshot snapshot() {
+        if (driverIsDisabled()) {
+            return WebElementSnapshot.ofMissingElement(expectedErrorMessage);
+        }
+        ImmediateElementLookup.start();
+        try {
+            WebElement element = getElement();
+            if (element == null) {
+                return WebElementSnapshot.ofMissingElement(expectedErrorMessage);
+            }
+            if (javascriptIsSupportedIn(driver)) {
+                Object state = javascriptExecutorFacade.executeScript(WebElementSnapshot.SNAPSHOT_SCRIPT, element);
+                if (state instanceof Map) {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> stateInPage = (Map<String, Object>) state;
+                    return WebElementSnapshot.fromScriptResult(stateInPage, expectedErrorMessage);
+                }
+            }
+            return WebElementSnapshot.fromElement(element, expectedErrorMessage);
+        } catch (NoSuchElementException e) {
+            return WebElementSnapshot.ofMissingElement(expectedErrorMessage);
+        } catch (StaleElementReferenceException e) {
+            return WebElementSnapshot.ofMissingElement(expectedErrorMessage);
+        } finally {
+            ImmediateElementLookup.finish();
+        }
+    }
+
     @Override
     public WebElementState expect(String errorMessage) {
         return copy().expectingErrorMessage(errorMessage);
@@ -812,10 +863,7 @@ public class WebElementFacadeImpl implements WebElementFacade {
     }
 
     private void enableHighlightingIfRequired() {
-        JQueryEnabledPage jQueryEnabledPage = JQueryEnabledPage.withDriver(driver);
-        if (jQueryEnabledPage.isJQueryIntegrationEnabled() && !jQueryEnabledPage.isJQueryAvailable()) {
-            jQueryEnabledPage.injectJQueryPlugins();
-        }
+        JQueryEnabledPage.withDriver(driver).injectJQueryPluginsIfAbsent();
     }
     private void notifyScreenChange() {
         StepEventBus.getEventBus().notifyScreenChange();
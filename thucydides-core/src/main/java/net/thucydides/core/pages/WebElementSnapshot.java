@@ -0,0 +1,323 @@
+package net.thucydides.core.pages;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.lang3.StringUtils;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The state of a web element at a given moment, read from the browser in a single round trip.
+ * Checking several things about an element through a snapshot only costs one call to the browser,
+ * which makes a real difference when the browser is on a remote grid:
+ * <pre>
+ *     page.element(firstName).snapshot().shouldBeVisible().shouldBeEnabled().shouldContainText("Joe");
+ * </pre>
+ * A snapshot never changes once taken: take a new one to see the latest state of the element.
+ * The visibility and text are worked out in the page by Javascript, so in unusual cases (such as elements hidden by
+ * an ancestor with zero opacity) they may differ slightly from WebDriver's own isDisplayed() and getText().
+ */
+public class WebElementSnapshot {
+
+    /**
+     * Other elements may have a value property (list items, for example), but it is not what the user typed or chose.
+     */
+    static final String SNAPSHOT_SCRIPT =
+            "var element = arguments[0];" +
+            "var tagName = element.tagName.toLowerCase();" +
+            "var rect = element.getBoundingClientRect();" +
+            "var style = window.getComputedStyle(element);" +
+            "var attributes = {};" +
+            "for (var i = 0; i < element.attributes.length; i++) {" +
+            "  attributes[element.attributes[i].name] = element.attributes[i].value;" +
+            "}" +
+            "if (['" + Joiner.on("','").join(WebElementFacadeImpl.HTML_ELEMENTS_WITH_VALUE_ATTRIBUTE) + "']" +
+            "      .indexOf(tagName) >= 0 && element.value !== undefined && element.value !== null) {" +
+            "  attributes['value'] = String(element.value);" +
+            "}" +
+            "var displayed = (rect.width > 0 || rect.height > 0)" +
+            "                && style.visibility !== 'hidden' && style.display !== 'none';" +
+            "var text = displayed ? (element.innerText !== undefined ? element.innerText : element.textContent) : '';" +
+            "return {tagName: tagName," +
+            "        displayed: displayed," +
+            "        enabled: !element.disabled," +
+            "        selected: !!(element.selected || element.checked)," +
+            "        text: text || ''," +
+            "        attributes: attributes," +
+            "        x: Math.round(rect.left + window.pageXOffset)," +
+            "        y: Math.round(rect.top + window.pageYOffset)," +
+            "        width: Math.round(rect.width)," +
+            "        height: Math.round(rect.height)};";
+
+    /**
+     * The attributes read when the state cannot be fetched with Javascript.
+     */
+    private static final List<String> BASIC_ATTRIBUTES = ImmutableList.of("id", "name", "class", "type", "href", "value");
+
+    private final boolean present;
+    private final String tagName;
+    private final boolean displayed;
+    private final boolean enabled;
+    private final boolean selected;
+    private final String text;
+    private final Map<String, String> attributes;
+    private final Point location;
+    private final Dimension size;
+    private final Optional<String> expectedErrorMessage;
+
+    private WebElementSnapshot(boolean present, String tagName, boolean displayed, boolean enabled, boolean selected,
+                               String text, Map<String, String> attributes, Point location, Dimension size,
+                               Optional<String> expectedErrorMessage) {
+        this.present = present;
+        this.tagName = tagName;
+        this.displayed = displayed;
+        this.enabled = enabled;
+        this.selected = selected;
+        this.text = text;
+        this.attributes = attributes;
+        this.location = location;
+        this.size = size;
+        this.expectedErrorMessage = expectedErrorMessage;
+    }
+
+    static WebElementSnapshot ofMissingElement(Optional<String> expectedErrorMessage) {
+        return new WebElementSnapshot(false, "", false, false, false, "", ImmutableMap.<String, String>of(),
+                                      new Point(0, 0), new Dimension(0, 0), expectedErrorMessage);
+    }
+
+    /**
+     * Build a snapshot from the object returned by the SNAPSHOT_SCRIPT.
+     */
+    static WebElementSnapshot fromScriptResult(Map<String, Object> state, Optional<String> expectedErrorMessage) {
+        ImmutableMap.Builder<String, String> attributes = ImmutableMap.builder();
+        Object attributesInPage = state.get("attributes");
+        if (attributesInPage instanceof Map) {
+            for (Map.Entry<?, ?> attribute : ((Map<?, ?>) attributesInPage).entrySet()) {
+                if (attribute.getValue() != null) {
+                    attributes.put(attribute.getKey().toString(), attribute.getValue().toString());
+                }
+            }
+        }
+        return new WebElementSnapshot(true,
+                                      stringValueOf(state.get("tagName")),
+                                      Boolean.TRUE.equals(state.get("displayed")),
+                                      Boolean.TRUE.equals(state.get("enabled")),
+                                      Boolean.TRUE.equals(state.get("selected")),
+                                      stringValueOf(state.get("text")).trim(),
+                                      attributes.build(),
+                                      new Point(intValueOf(state.get("x")), intValueOf(state.get("y"))),
+                                      new Dimension(intValueOf(state.get("width")), intValueOf(state.get("height"))),
+                                      expectedErrorMessage);
+    }
+
+    /**
+     * Build a snapshot by querying the element directly, for drivers that cannot run Javascript.
+     * Only the most common attributes are read.
+     */
+    static WebElementSnapshot fromElement(WebElement element, Optional<String> expectedErrorMessage) {
+        ImmutableMap.Builder<String, String> attributes = ImmutableMap.builder();
+        for (String attribute : BASIC_ATTRIBUTES) {
+            String value = element.getAttribute(attribute);
+            if (value != null) {
+                attributes.put(attribute, value);
+            }
+        }
+        boolean displayed = element.isDisplayed();
+        return new WebElementSnapshot(true,
+                                      element.getTagName(),
+                                      displayed,
+                                      element.isEnabled(),
+                                      element.isSelected(),
+                                      displayed ? StringUtils.defaultString(element.getText()) : "",
+                                      attributes.build(),
+                                      element.getLocation(),
+                                      element.getSize(),
+                                      expectedErrorMessage);
+    }
+
+    private static String stringValueOf(Object value) {
+        return (value == null) ? "" : value.toString();
+    }
+
+    private static int intValueOf(Object value) {
+        return (value instanceof Number) ? ((Number) value).intValue() : 0;
+    }
+
+    public boolean isPresent() {
+        return present;
+    }
+
+    public boolean isVisible() {
+        return displayed;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isSelected() {
+        return selected;
+    }
+
+    public String getTagName() {
+        return tagName;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public String getValue() {
+        return attributes.get("value");
+    }
+
+    /**
+     * @return the value of the attribute when the snapshot was taken, or null if the element did not have it.
+     */
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    public Point getLocation() {
+        return location;
+    }
+
+    public Dimension getSize() {
+        return size;
+    }
+
+    /**
+     * The value of a visible field, or the text of any other visible element, as for WebElementFacade.getTextValue().
+     */
+    public String getTextValue() {
+        if (!isVisible()) {
+            return "";
+        }
+        if (hasValueAttribute() && StringUtils.isNotEmpty(getValue())) {
+            return getValue();
+        }
+        return text;
+    }
+
+    private boolean hasValueAttribute() {
+        return WebElementFacadeImpl.HTML_ELEMENTS_WITH_VALUE_ATTRIBUTE.contains(tagName.toLowerCase());
+    }
+
+    public boolean containsText(String value) {
+        return text.contains(value);
+    }
+
+    public boolean containsOnlyText(String value) {
+        return text.equals(value);
+    }
+
+    public WebElementSnapshot shouldBePresent() {
+        if (!isPresent()) {
+            failWithMessage("Field should be present");
+        }
+        return this;
+    }
+
+    public WebElementSnapshot shouldNotBePresent() {
+        if (isPresent()) {
+            failWithMessage("Field should not be present");
+        }
+        return this;
+    }
+
+    public WebElementSnapshot shouldBeVisible() {
+        if (!isVisible()) {
+            failWithMessage("Element should be visible");
+        }
+        return this;
+    }
+
+    public WebElementSnapshot shouldNotBeVisible() {
+        if (isVisible()) {
+            failWithMessage("Element should not be visible");
+        }
+        return this;
+    }
+
+    public WebElementSnapshot shouldBeEnabled() {
+        if (!isEnabled()) {
+            failWithMessage(String.format("Field '%s' should be enabled", this));
+        }
+        return this;
+    }
+
+    public WebElementSnapshot shouldNotBeEnabled() {
+        if (isEnabled()) {
+            failWithMessage(String.format("Field '%s' should not be enabled", this));
+        }
+        return this;
+    }
+
+    public WebElementSnapshot shouldContainText(String textValue) {
+        if (!containsText(textValue)) {
+            failWithMessage(String.format("The text '%s' was not found in the web element. Element text '%s'.",
+                                          textValue, text));
+        }
+        return this;
+    }
+
+    public WebElementSnapshot shouldContainOnlyText(String textValue) {
+        if (!containsOnlyText(textValue)) {
+            failWithMessage(String.format("The text '%s' does not match the elements text '%s'.", textValue, text));
+        }
+        return this;
+    }
+
+    public WebElementSnapshot shouldNotContainText(String textValue) {
+        if (containsText(textValue)) {
+            failWithMessage(String.format(
+                    "The text '%s' was found in the web element when it should not have. Element text '%s'.",
+                    textValue, text));
+        }
+        return this;
+    }
+
+    private void failWithMessage(String errorMessage) {
+        throw new AssertionError(expectedErrorMessage.or(errorMessage));
+    }
+
+    /**
+     * Described in the same way as the web element facade, but without going back to the browser.
+     */
+    @Override
+    public String toString() {
+        if (!isPresent()) {
+            return "<Undefined web element>";
+        }
+        StringBuilder description = new StringBuilder("<").append(tagName);
+        boolean descriptiveFieldFound = appendAttribute(description, "id");
+        descriptiveFieldFound = appendAttribute(description, "name") || descriptiveFieldFound;
+        if (!descriptiveFieldFound) {
+            descriptiveFieldFound = appendAttribute(description, "href");
+        }
+        descriptiveFieldFound = appendAttribute(description, "type") || descriptiveFieldFound;
+        descriptiveFieldFound = appendAttribute(description, "value") || descriptiveFieldFound;
+        if (!descriptiveFieldFound) {
+            appendAttribute(description, "class");
+        }
+        return description.append(">").toString();
+    }
+
+    private boolean appendAttribute(StringBuilder description, String attribute) {
+        if (StringUtils.isNotEmpty(attributes.get(attribute))) {
+            description.append(" ").append(attribute).append("='").append(attributes.get(attribute)).append("'");
+            return true;
+        }
+        return false;
+    }
+}
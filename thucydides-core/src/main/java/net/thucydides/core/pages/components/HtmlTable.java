@@ -1,6 +1,7 @@
 package net.thucydides.core.pages.components;
 
 import ch.lambdaj.function.convert.Converter;
+import com.google.common.base.Optional;
 import net.thucydides.core.matchers.BeanMatcher;
 import org.apache.commons.lang3.StringUtils;
 import org.openqa.selenium.By;
@@ -33,6 +34,11 @@ public class HtmlTable {
 
     public List<Map<Object, String>> getRows() {
 
+        Optional<List<List<String>>> rowTexts = rowTextsReadInOneCall();
+        if (rowTexts.isPresent()) {
+            return rowDataFromTexts(rowTexts.get(), getHeadings());
+        }
+
         List<Map<Object, String>> results = new ArrayList<Map<Object, String>>();
 
         List<String> headings = getHeadings();
@@ -56,20 +62,17 @@ public class HtmlTable {
     }
 
     public boolean containsRowElementsWhere(BeanMatcher... matchers) {
-        List<WebElement> rows = getRowElementsWhere(matchers);
-        return (!rows.isEmpty());
+        return !findMatchingRowIndexes(matchers).isEmpty();
     }
 
     public void shouldHaveRowElementsWhere(BeanMatcher... matchers) {
-        List<WebElement> rows = getRowElementsWhere(matchers);
-        if (rows.isEmpty()) {
+        if (findMatchingRowIndexes(matchers).isEmpty()) {
             throw new AssertionError("Expecting a table with at least one row where: " + Arrays.deepToString(matchers));
         }
     }
 
     public void shouldNotHaveRowElementsWhere(BeanMatcher... matchers) {
-        List<WebElement> rows = getRowElementsWhere(matchers);
-        if (!rows.isEmpty()) {
+        if (!findMatchingRowIndexes(matchers).isEmpty()) {
             throw new AssertionError("Expecting a table with no rows where: " + Arrays.deepToString(matchers));
         }
     }
@@ -112,6 +115,11 @@ public class HtmlTable {
 
     public List<String> getHeadings() {
         if (headings == null) {
+            Optional<List<String>> headingsInTable = headingsReadInOneCall();
+            if (headingsInTable.isPresent()) {
+                headings = headingsInTable.get();
+                return headings;
+            }
             List<String> thHeadings = convert(headingElements(), toTextValues());
             if (thHeadings.isEmpty()) {
                 headings = convert(firstRowElements(), toTextValues());
@@ -164,6 +172,12 @@ public class HtmlTable {
 
     public List<WebElement> getRowElementsWhere(BeanMatcher... matchers) {
 
+        Optional<List<List<String>>> rowTexts = rowTextsReadInOneCall();
+        if (rowTexts.isPresent()) {
+            List<Integer> matchingRowIndexes = findMatchingIndexesIn(rowDataFromTexts(rowTexts.get(), getHeadings()), matchers);
+            return rowElementsAt(matchingRowIndexes);
+        }
+
         List<WebElement> rowElements = getRowElementsFor(getHeadings());
         List<Integer> matchingRowIndexes = findMatchingIndexesFor(rowElements, matchers);
 
@@ -174,6 +188,40 @@ public class HtmlTable {
         return matchingElements;
     }
 
+    private List<Integer> findMatchingRowIndexes(BeanMatcher... matchers) {
+        Optional<List<List<String>>> rowTexts = rowTextsReadInOneCall();
+        if (rowTexts.isPresent()) {
+            return findMatchingIndexesIn(rowDataFromTexts(rowTexts.get(), getHeadings()), matchers);
+        }
+        return findMatchingIndexesFor(getRowElementsFor(getHeadings()), matchers);
+    }
+
+    /**
+     * The row elements are only fetched from the browser if some rows actually match.
+     */
+    private List<WebElement> rowElementsAt(List<Integer> rowIndexes) {
+        List<WebElement> matchingElements = new ArrayList<WebElement>();
+        if (!rowIndexes.isEmpty()) {
+            List<WebElement> rowElements = getRowElementsFor(getHeadings());
+            for (Integer index : rowIndexes) {
+                matchingElements.add(rowElements.get(index));
+            }
+        }
+        return matchingElements;
+    }
+
+    private List<Integer> findMatchingIndexesIn(List<Map<Object, String>> rows, BeanMatcher[] matchers) {
+        List<Integer> indexes = new ArrayList<Integer>();
+        int index = 0;
+        for (Map<Object, String> rowData : rows) {
+            if (matches(rowData, matchers)) {
+                indexes.add(index);
+            }
+            index++;
+        }
+        return indexes;
+    }
+
     private List<Integer> findMatchingIndexesFor(List<WebElement> rowElements,
                                                  BeanMatcher[] matchers) {
         List<Integer> indexes = new ArrayList<Integer>();
@@ -216,6 +264,72 @@ public class HtmlTable {
         return rowData;
     }
 
+    private List<Map<Object, String>> rowDataFromTexts(List<List<String>> rowTexts, List<String> headings) {
+        List<Map<Object, String>> results = new ArrayList<Map<Object, String>>();
+        for (List<String> cellTexts : rowTexts) {
+            results.add(rowDataFromCellTexts(cellTexts, headings));
+        }
+        return results;
+    }
+
+    private Map<Object,String> rowDataFromCellTexts(List<String> cellTexts, List<String> headings) {
+        Map<Object,String> rowData = new HashMap<Object, String>();
+
+        int column = 0;
+        for (String heading : headings) {
+            String cell = cellTexts.get(column++);
+            if (!StringUtils.isEmpty(heading)) {
+                rowData.put(heading, cell);
+            }
+            rowData.put(column, cell);
+        }
+        return rowData;
+    }
+
+    private Optional<List<String>> headingsReadInOneCall() {
+        Optional<Map<String, Object>> contents = tableContents().read(null, false);
+        if (contents.isPresent()) {
+            return Optional.of(stringsIn(contents.get().get("headings")));
+        }
+        return Optional.absent();
+    }
+
+    /**
+     * The texts of the cells in each data row, read in a single call to the browser.
+     * Only the cells needed for the headings are read, and rows with too few cells are left out,
+     * so the rows line up with getRowElementsFor(getHeadings()).
+     */
+    private Optional<List<List<String>>> rowTextsReadInOneCall() {
+        Optional<Map<String, Object>> contents = tableContents().read(headings, true);
+        if (!contents.isPresent()) {
+            return Optional.absent();
+        }
+        if (headings == null) {
+            headings = stringsIn(contents.get().get("headings"));
+        }
+        List<List<String>> rowTexts = new ArrayList<List<String>>();
+        for (Object row : listIn(contents.get().get("rows"))) {
+            rowTexts.add(stringsIn(row));
+        }
+        return Optional.of(rowTexts);
+    }
+
+    private HtmlTableContents tableContents() {
+        return new HtmlTableContents(tableElement);
+    }
+
+    private static List<?> listIn(Object value) {
+        return (value instanceof List) ? (List<?>) value : Collections.emptyList();
+    }
+
+    private static List<String> stringsIn(Object values) {
+        List<String> strings = new ArrayList<String>();
+        for (Object value : listIn(values)) {
+            strings.add(value == null ? "" : value.toString());
+        }
+        return strings;
+    }
+
     private List<WebElement> cellsIn(WebElement row) {
         return row.findElements(By.xpath("./td"));
     }
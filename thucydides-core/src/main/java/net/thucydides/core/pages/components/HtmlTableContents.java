@@ -0,0 +1,151 @@
+package net.thucydides.core.pages.components;
+
+import com.google.common.base.Optional;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.internal.WrapsDriver;
+import org.openqa.selenium.internal.WrapsElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static net.thucydides.core.webdriver.javascript.JavascriptSupport.javascriptIsSupportedIn;
+
+/**
+ * Reads the headings and cell texts of an HTML table in a single Javascript call, rather than
+ * asking the browser for each row and cell in turn.
+ * The script follows the same rules as HtmlTable: headings come from the th cells, or from the first row if there are none,
+ * data rows are the rows with at least one cell per heading, and a first row that just repeats the headings is left out.
+ * Cell texts are worked out in the same way as WebDriver's getText(): hidden cells are empty, hidden elements are ignored,
+ * whitespace is collapsed, and nested cells are separated by spaces.
+ * If the driver cannot run Javascript, no contents are returned and HtmlTable reads the table element by element.
+ */
+class HtmlTableContents {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HtmlTableContents.class);
+
+    static final String TABLE_CONTENTS_SCRIPT =
+            "var table = arguments[0], headings = arguments[1], readHeadings = arguments[2], includeRows = arguments[3];" +
+            "var BLOCKS = /^(address|blockquote|dd|div|dl|dt|form|h[1-6]|hr|li|ol|p|pre|table|tr|ul)$/;" +
+            "function isHidden(element) {" +
+            "  var style = window.getComputedStyle ? window.getComputedStyle(element, null) : null;" +
+            "  return style && (style.display === 'none' || style.visibility === 'hidden');" +
+            "}" +
+            "function appendText(node, parts) {" +
+            "  for (var child = node.firstChild; child; child = child.nextSibling) {" +
+            "    if (child.nodeType === 3) { parts.push(child.nodeValue.replace(/\\s+/g, ' ')); continue; }" +
+            "    if (child.nodeType !== 1) { continue; }" +
+            "    var tag = child.tagName.toLowerCase();" +
+            "    if (tag === 'script' || tag === 'style' || isHidden(child)) { continue; }" +
+            "    if (tag === 'br') { parts.push('\\n'); continue; }" +
+            "    var separator = BLOCKS.test(tag) ? '\\n' : ((tag === 'td' || tag === 'th') ? ' ' : '');" +
+            "    parts.push(separator);" +
+            "    appendText(child, parts);" +
+            "    parts.push(separator);" +
+            "  }" +
+            "}" +
+            "function isShown(cell) {" +
+            "  for (var element = cell; element && element.nodeType === 1; element = element.parentNode) {" +
+            "    if (isHidden(element)) { return false; }" +
+            "  }" +
+            "  return true;" +
+            "}" +
+            "function textOf(cell) {" +
+            "  if (!isShown(cell)) { return ''; }" +
+            "  var parts = [];" +
+            "  appendText(cell, parts);" +
+            "  var lines = parts.join('').split('\\n'), text = [];" +
+            "  for (var i = 0; i < lines.length; i++) {" +
+            "    var line = lines[i].replace(/ +/g, ' ').replace(/^ | $/g, '');" +
+            "    if (line.length > 0) { text.push(line); }" +
+            "  }" +
+            "  return text.join('\\n');" +
+            "}" +
+            "function textsOf(cells, max) {" +
+            "  var texts = [];" +
+            "  for (var i = 0; i < cells.length && i < max; i++) { texts.push(textOf(cells[i])); }" +
+            "  return texts;" +
+            "}" +
+            "function cellsIn(row) {" +
+            "  var cells = [];" +
+            "  for (var i = 0; i < row.children.length; i++) {" +
+            "    if (row.children[i].tagName.toLowerCase() === 'td') { cells.push(row.children[i]); }" +
+            "  }" +
+            "  return cells;" +
+            "}" +
+            "if (readHeadings) {" +
+            "  headings = textsOf(table.getElementsByTagName('th'), Infinity);" +
+            "  if (headings.length === 0) {" +
+            "    var firstRow = table.getElementsByTagName('tr')[0];" +
+            "    headings = firstRow ? textsOf(firstRow.getElementsByTagName('td'), Infinity) : [];" +
+            "  }" +
+            "}" +
+            "var rows = [];" +
+            "if (includeRows) {" +
+            "  var tableRows = table.getElementsByTagName('tr');" +
+            "  for (var r = 0; r < tableRows.length; r++) {" +
+            "    var cells = cellsIn(tableRows[r]);" +
+            "    if (cells.length > 0 && cells.length >= headings.length) { rows.push(textsOf(cells, headings.length)); }" +
+            "  }" +
+            "  if (rows.length > 0 && rows[0].join('\\u0000') === headings.join('\\u0000')) { rows.shift(); }" +
+            "}" +
+            "return {headings: headings, rows: rows};";
+
+    private final WebElement tableElement;
+
+    HtmlTableContents(WebElement tableElement) {
+        this.tableElement = tableElement;
+    }
+
+    /**
+     * @param headings     the known table headings, or null if they should be read from the table
+     * @param includeRows  whether the cell texts of the data rows should be read as well as the headings
+     * @return a map containing the "headings" and the "rows" of the table, or nothing if the table could not be read with Javascript.
+     */
+    @SuppressWarnings("unchecked")
+    Optional<Map<String, Object>> read(List<String> headings, boolean includeRows) {
+        WebElement element = unwrapped(tableElement);
+        Optional<WebDriver> driver = driverOf(element);
+        if (!driver.isPresent() || !javascriptIsSupportedIn(driver.get())) {
+            return Optional.absent();
+        }
+        try {
+            boolean readHeadings = (headings == null);
+            Object contents = ((JavascriptExecutor) driver.get()).executeScript(TABLE_CONTENTS_SCRIPT,
+                    element, readHeadings ? Collections.<String>emptyList() : headings, readHeadings, includeRows);
+            if (contents instanceof Map) {
+                return Optional.of((Map<String, Object>) contents);
+            }
+        } catch (WebDriverException e) {
+            LOGGER.debug("Could not read the table contents with Javascript: {}", e.getMessage());
+        }
+        return Optional.absent();
+    }
+
+    private WebElement unwrapped(WebElement element) {
+        WebElement unwrappedElement = element;
+        while (unwrappedElement instanceof WrapsElement) {
+            WebElement wrappedElement = ((WrapsElement) unwrappedElement).getWrappedElement();
+            if (wrappedElement == null || wrappedElement == unwrappedElement) {
+                break;
+            }
+            unwrappedElement = wrappedElement;
+        }
+        return unwrappedElement;
+    }
+
+    private Optional<WebDriver> driverOf(WebElement element) {
+        if (element instanceof WrapsDriver) {
+            WebDriver driver = ((WrapsDriver) element).getWrappedDriver();
+            if (driver instanceof JavascriptExecutor) {
+                return Optional.of(driver);
+            }
+        }
+        return Optional.absent();
+    }
+}
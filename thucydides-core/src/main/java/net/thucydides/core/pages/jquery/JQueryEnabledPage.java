@@ -9,11 +9,25 @@ import net.thucydides.core.webdriver.javascript.JavascriptExecutorFacade;
 import org.openqa.selenium.WebDriver;
 
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static net.thucydides.core.webdriver.javascript.JavascriptSupport.javascriptIsSupportedIn;
 
 public class JQueryEnabledPage {
 
+    private static final String JQUERY = "jquery/jquery.min.js";
+    private static final String JQUERY_FOCUS_FIX = "jquery/jquery.focus.test-fix.js";
+    private static final String THUCYDIDES_PLUGIN = "jquery/jquery-thucydides-plugin.js";
+    private static final String JAVASCRIPT_UTILS = "javascript/cycle.js";
+
+    /**
+     * The script resources never change, so they are only read from the classpath once.
+     */
+    private static final ConcurrentMap<String, String> SCRIPT_SOURCES = new ConcurrentHashMap<String, String>();
+
     private final WebDriver driver;
     private final EnvironmentVariables environmentVariables;
 
@@ -50,8 +64,37 @@ public class JQueryEnabledPage {
 
 
     public void injectJQuery() {
-        executeScriptFrom("jquery/jquery.min.js");
-        executeScriptFrom("jquery/jquery.focus.test-fix.js");
+        executeScriptFrom(JQUERY);
+        executeScriptFrom(JQUERY_FOCUS_FIX);
+    }
+
+    /**
+     * Add jQuery, and the Thucydides plugins if they are activated, to the current page unless it already has jQuery.
+     * All the scripts are sent in a single call, which checks for jQuery again before running them,
+     * so they are injected at most once per page load.
+     */
+    public void injectJQueryIfAbsent() {
+        if (isJQueryIntegrationEnabled() && !isJQueryAvailable()) {
+            List<String> scripts = new ArrayList<String>();
+            scripts.add(JQUERY);
+            scripts.add(JQUERY_FOCUS_FIX);
+            if (isHighlightingActivated()) {
+                scripts.add(THUCYDIDES_PLUGIN);
+            }
+            executeScriptsUnless("typeof jQuery === 'function'", scripts);
+        }
+    }
+
+    /**
+     * Add the Thucydides plugins to a page that does not have jQuery yet.
+     * Nothing is sent to the browser if no plugins are activated.
+     */
+    public void injectJQueryPluginsIfAbsent() {
+        if (isJQueryIntegrationEnabled() && isHighlightingActivated() && !isJQueryAvailable()) {
+            List<String> scripts = new ArrayList<String>();
+            scripts.add(THUCYDIDES_PLUGIN);
+            executeScriptsUnless("typeof jQuery === 'function'", scripts);
+        }
     }
 
     protected void executeScriptFrom(String scriptSource) {
@@ -62,24 +105,48 @@ public class JQueryEnabledPage {
         }
     }
 
-    private String getFileAsString(final String resourcePath) {
-        String content = "";
-        try {
-            URL fileUrl = getClass().getClassLoader().getResource(resourcePath);
-            content = Resources.toString(fileUrl, Charsets.UTF_8);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+    /**
+     * Run the given script resources, in order, in a single call to the browser, unless the condition is true in the page.
+     */
+    protected void executeScriptsUnless(String condition, List<String> scriptSources) {
+        if (javascriptIsSupportedIn(driver)) {
+            StringBuilder script = new StringBuilder("if (").append(condition).append(") { return; }\n");
+            for (String scriptSource : scriptSources) {
+                script.append(getFileAsString(scriptSource)).append(";\n");
+            }
+            JavascriptExecutorFacade js = new JavascriptExecutorFacade(driver);
+            js.executeScript(script.toString());
+        }
+    }
+
+    static String getFileAsString(final String resourcePath) {
+        String content = SCRIPT_SOURCES.get(resourcePath);
+        if (content == null) {
+            try {
+                URL fileUrl = JQueryEnabledPage.class.getClassLoader().getResource(resourcePath);
+                content = Resources.toString(fileUrl, Charsets.UTF_8);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            String alreadyLoaded = SCRIPT_SOURCES.putIfAbsent(resourcePath, content);
+            if (alreadyLoaded != null) {
+                content = alreadyLoaded;
+            }
         }
         return content;
     }
 
+    private boolean isHighlightingActivated() {
+        return environmentVariables.getPropertyAsBoolean(ThucydidesSystemProperty.THUCYDIDES_ACTIVATE_HIGHLIGHTING.getPropertyName(), false);
+    }
+
     public void injectJQueryPlugins() {
-        if (environmentVariables.getPropertyAsBoolean(ThucydidesSystemProperty.THUCYDIDES_ACTIVATE_HIGHLIGHTING.getPropertyName(), false)) {
-            executeScriptFrom("jquery/jquery-thucydides-plugin.js");
+        if (isHighlightingActivated()) {
+            executeScriptFrom(THUCYDIDES_PLUGIN);
         }
     }
     
     public void injectJavaScriptUtils(){
-    	executeScriptFrom("javascript/cycle.js");
+    	executeScriptFrom(JAVASCRIPT_UTILS);
     }
 }
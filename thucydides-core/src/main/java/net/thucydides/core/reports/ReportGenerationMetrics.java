@@ -0,0 +1,70 @@
+package net.thucydides.core.reports;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of how many reports each reporter has generated, and how long it took.
+ * Reporters are identified by name, so that the figures are cumulated across all the report services in the JVM.
+ */
+public class ReportGenerationMetrics {
+
+    private final ConcurrentMap<String, AtomicLong> reportCounts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> reportTimes = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicLong> maximumReportTimes = new ConcurrentHashMap<>();
+
+    public void recordReportFor(String reporterName, long durationInMilliseconds) {
+        counterFor(reportCounts, reporterName).incrementAndGet();
+        counterFor(reportTimes, reporterName).addAndGet(durationInMilliseconds);
+        updateMaximum(counterFor(maximumReportTimes, reporterName), durationInMilliseconds);
+    }
+
+    public Set<String> getReporterNames() {
+        return ImmutableSet.copyOf(reportCounts.keySet());
+    }
+
+    public long getReportCountFor(String reporterName) {
+        return valueOf(reportCounts, reporterName);
+    }
+
+    public long getTotalReportTimeFor(String reporterName) {
+        return valueOf(reportTimes, reporterName);
+    }
+
+    public long getMaximumReportTimeFor(String reporterName) {
+        return valueOf(maximumReportTimes, reporterName);
+    }
+
+    public long getAverageReportTimeFor(String reporterName) {
+        long reportCount = getReportCountFor(reporterName);
+        return (reportCount == 0) ? 0 : getTotalReportTimeFor(reporterName) / reportCount;
+    }
+
+    private void updateMaximum(AtomicLong maximum, long value) {
+        long currentMaximum = maximum.get();
+        while ((value > currentMaximum) && !maximum.compareAndSet(currentMaximum, value)) {
+            currentMaximum = maximum.get();
+        }
+    }
+
+    private AtomicLong counterFor(ConcurrentMap<String, AtomicLong> counters, String reporterName) {
+        AtomicLong counter = counters.get(reporterName);
+        if (counter == null) {
+            AtomicLong newCounter = new AtomicLong();
+            counter = counters.putIfAbsent(reporterName, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+        return counter;
+    }
+
+    private long valueOf(ConcurrentMap<String, AtomicLong> counters, String reporterName) {
+        AtomicLong counter = counters.get(reporterName);
+        return (counter == null) ? 0 : counter.get();
+    }
+}
@@ -1,6 +1,11 @@
 package net.thucydides.core.reports;
 
-import com.google.common.util.concurrent.*;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.common.util.concurrent.Uninterruptibles;
+import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.model.TestOutcome;
 import net.thucydides.core.util.EnvironmentVariables;
@@ -12,10 +17,12 @@ import javax.inject.Inject;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Generates different Thucydides reports in a given output directory.
@@ -35,6 +42,14 @@ public class ReportService {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(ReportService.class);
 
+    private final static int DEFAULT_REPORT_THREADS = 8;
+
+    private final static ReportGenerationMetrics REPORT_GENERATION_METRICS = new ReportGenerationMetrics();
+
+    private static ListeningExecutorService reportExecutor;
+
+    private static BlockingQueue<Runnable> reportQueue;
+
     @Inject
     public ReportService(final Configuration configuration) {
         this(configuration.getOutputDirectory(), getDefaultReporters());
@@ -98,63 +113,73 @@ public class ReportService {
         LOGGER.info("Generating reports using: " + reporter);
         long t0 = System.currentTimeMillis();
 
-        ListeningExecutorService executorService = MoreExecutors.listeningDecorator(Executors.newFixedThreadPool(8));
+        ListeningExecutorService executorService = getReportExecutor();
 
-        List<? extends TestOutcome> outcomes = testOutcomes.getOutcomes();
-        final AtomicInteger remainingReportCount = new AtomicInteger(outcomes.size());
-        for (final TestOutcome outcome : outcomes) {
-            final ListenableFuture<TestOutcome> future = executorService.submit(new Callable<TestOutcome>() {
+        List<ListenableFuture<TestOutcome>> reportJobs = new ArrayList<>();
+        for (final TestOutcome outcome : testOutcomes.getOutcomes()) {
+            reportJobs.add(executorService.submit(new Callable<TestOutcome>() {
                 @Override
                 public TestOutcome call() throws Exception {
+                    generateReportFor(outcome, testOutcomes, reporter);
                     return outcome;
                 }
-            });
-            future.addListener(new Runnable() {
-                @Override
-                public void run() {
-                    generateQueuedReport(future, testOutcomes, reporter);
-                }
-            }, MoreExecutors.sameThreadExecutor());
-
-            Futures.addCallback(future, new FutureCallback<TestOutcome>() {
-                @Override
-                public void onSuccess(TestOutcome result) {
-                    remainingReportCount.decrementAndGet();
-                    LOGGER.info("Report generated for " + result.getCompleteName());
-                }
-
-                @Override
-                public void onFailure(Throwable t) {
-                    LOGGER.info("Report generated failed " + t.getMessage());
-                }
-            });
+            }));
         }
-        waitForReportGenerationToFinish(remainingReportCount);
+        waitForReportGenerationToFinish(reportJobs);
         LOGGER.info("Reports generated in: " + (System.currentTimeMillis() - t0));
 
     }
 
-    private void generateQueuedReport(ListenableFuture<TestOutcome> future, TestOutcomes testOutcomes, AcceptanceTestReporter reporter) {
-        try {
-            final TestOutcome outcome = future.get();
-            LOGGER.info("Processing test outcome " + outcome.getCompleteName());
-            generateReportFor(outcome, testOutcomes, reporter);
-        } catch (InterruptedException e) {
-            throw new RuntimeException("Report generation failure", e);
-        } catch (ExecutionException e) {
-            throw new RuntimeException("Report generation failure", e);
+    private void waitForReportGenerationToFinish(List<ListenableFuture<TestOutcome>> reportJobs) {
+        for (ListenableFuture<TestOutcome> reportJob : reportJobs) {
+            try {
+                TestOutcome outcome = Uninterruptibles.getUninterruptibly(reportJob);
+                LOGGER.debug("Report generated for " + outcome.getCompleteName());
+            } catch (ExecutionException e) {
+                LOGGER.error("Report generation failed: " + e.getCause().getMessage(), e.getCause());
+            }
         }
     }
 
-    private void waitForReportGenerationToFinish(AtomicInteger reportCount) {
-        while (reportCount.get() > 0) {
-            try {
-                Thread.sleep(50);
-            } catch (InterruptedException e) {
+    /**
+     * The report executor is shared by every report service in the JVM, so that test runners do not
+     * each start (and leak) their own threads. The pool size comes from the thucydides.report.threads property.
+     */
+    private static ListeningExecutorService getReportExecutor() {
+        synchronized (ReportService.class) {
+            if (reportExecutor == null) {
+                EnvironmentVariables environmentVariables = Injectors.getInjector().getProvider(EnvironmentVariables.class).get();
+                int threadCount = environmentVariables.getPropertyAsInteger(ThucydidesSystemProperty.THUCYDIDES_REPORT_THREADS,
+                                                                            DEFAULT_REPORT_THREADS);
+                reportQueue = new LinkedBlockingQueue<>();
+                ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount,
+                                                                     0L, TimeUnit.MILLISECONDS,
+                                                                     reportQueue,
+                                                                     new ThreadFactoryBuilder().setDaemon(true)
+                                                                                               .setNameFormat("thucydides-reports-%d")
+                                                                                               .build());
+                reportExecutor = MoreExecutors.listeningDecorator(executor);
             }
+            return reportExecutor;
+        }
+    }
+
+    /**
+     * @return the number of report jobs waiting for a report thread.
+     */
+    public static int getQueuedReportCount() {
+        synchronized (ReportService.class) {
+            return (reportQueue == null) ? 0 : reportQueue.size();
         }
     }
 
+    /**
+     * @return how many reports each reporter generated, and how long they took.
+     */
+    public static ReportGenerationMetrics getReportGenerationMetrics() {
+        return REPORT_GENERATION_METRICS;
+    }
+
     /**
      * The default reporters applicable for standard test runs.
      *
@@ -188,12 +213,18 @@ public class ReportService {
                                    final AcceptanceTestReporter reporter) {
         try {
             LOGGER.info(reporter + ": Generating report for test outcome: " + testOutcome.getCompleteName());
+            long startTime = System.currentTimeMillis();
             reporter.setOutputDirectory(outputDirectory);
             reporter.generateReportFor(testOutcome, allTestOutcomes);
+            REPORT_GENERATION_METRICS.recordReportFor(nameOf(reporter), System.currentTimeMillis() - startTime);
         } catch (IOException e) {
             throw new ReportGenerationFailedError(
                     "Failed to generate reports using " + reporter, e);
         }
     }
 
+    private String nameOf(AcceptanceTestReporter reporter) {
+        return (reporter.getName() != null) ? reporter.getName() : reporter.getClass().getSimpleName();
+    }
+
 }
@@ -0,0 +1,122 @@
+package net.thucydides.core.reports;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSetMultimap;
+import com.google.common.collect.Sets;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.model.TestTag;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An inverted index of a set of test outcomes, by tag, tag type and result.
+ * The index is built in a single pass over the outcomes, so that the filtered views of a TestOutcomes object
+ * cost no more than the size of the result, rather than a full scan of the outcomes for each query.
+ * Outcomes are always listed in the order of the original outcome list.
+ */
+class TestOutcomeIndex {
+
+    private final ImmutableListMultimap<TestTag, TestOutcome> outcomesByTag;
+    private final ImmutableListMultimap<String, TestOutcome> outcomesByTagName;
+    private final ImmutableListMultimap<String, TestOutcome> outcomesByTagType;
+    private final ImmutableListMultimap<TestResult, TestOutcome> outcomesByResult;
+    private final ImmutableSetMultimap<String, TestTag> tagsByType;
+    private final List<TestTag> tags;
+    private final Set<String> tagNames;
+    private final Set<String> tagTypes;
+
+    TestOutcomeIndex(List<? extends TestOutcome> outcomes) {
+        ImmutableListMultimap.Builder<TestTag, TestOutcome> outcomesByTag = ImmutableListMultimap.builder();
+        ImmutableListMultimap.Builder<String, TestOutcome> outcomesByTagName = ImmutableListMultimap.builder();
+        ImmutableListMultimap.Builder<String, TestOutcome> outcomesByTagType = ImmutableListMultimap.builder();
+        ImmutableListMultimap.Builder<TestResult, TestOutcome> outcomesByResult = ImmutableListMultimap.builder();
+        ImmutableSetMultimap.Builder<String, TestTag> tagsByType = ImmutableSetMultimap.builder();
+        Set<TestTag> allTags = Sets.newHashSet();
+        Set<String> allTagNames = Sets.newHashSet();
+        Set<String> allTagTypes = Sets.newHashSet();
+
+        for (TestOutcome outcome : outcomes) {
+            Set<TestTag> outcomeTags = Sets.newHashSet();
+            Set<String> outcomeTagNames = Sets.newHashSet();
+            Set<String> outcomeTagTypes = Sets.newHashSet();
+            for (TestTag tag : outcome.getTags()) {
+                if (outcomeTags.add(tag)) {
+                    outcomesByTag.put(tag, outcome);
+                }
+                if (outcomeTagNames.add(tag.getName().toLowerCase())) {
+                    outcomesByTagName.put(tag.getName().toLowerCase(), outcome);
+                }
+                if (outcomeTagTypes.add(tag.getType())) {
+                    outcomesByTagType.put(tag.getType(), outcome);
+                }
+                tagsByType.put(tag.getType().toLowerCase(), tag);
+                allTags.add(tag);
+                allTagNames.add(tag.getName().toLowerCase());
+                allTagTypes.add(tag.getType().toLowerCase());
+            }
+            outcomesByResult.put(outcome.getResult(), outcome);
+        }
+
+        this.outcomesByTag = outcomesByTag.build();
+        this.outcomesByTagName = outcomesByTagName.build();
+        this.outcomesByTagType = outcomesByTagType.build();
+        this.outcomesByResult = outcomesByResult.build();
+        this.tagsByType = tagsByType.build();
+        this.tags = ImmutableList.copyOf(allTags);
+        this.tagNames = allTagNames;
+        this.tagTypes = allTagTypes;
+    }
+
+    /**
+     * Outcomes containing a tag equal to the given tag (tag names and types are compared ignoring case).
+     */
+    List<TestOutcome> outcomesWithTag(TestTag tag) {
+        return outcomesByTag.get(tag);
+    }
+
+    /**
+     * Outcomes containing a tag with this name, ignoring case.
+     */
+    List<TestOutcome> outcomesWithTagName(String tagName) {
+        return outcomesByTagName.get(tagName.toLowerCase());
+    }
+
+    /**
+     * Outcomes containing a tag of exactly this type.
+     */
+    List<TestOutcome> outcomesWithTagType(String tagType) {
+        return outcomesByTagType.get(tagType);
+    }
+
+    List<TestOutcome> outcomesWithResult(TestResult result) {
+        return outcomesByResult.get(result);
+    }
+
+    /**
+     * Tags of a given type, ignoring case.
+     */
+    Set<TestTag> tagsOfType(String tagType) {
+        return tagsByType.get(tagType.toLowerCase());
+    }
+
+    List<TestTag> getTags() {
+        return tags;
+    }
+
+    /**
+     * @return the tag names, in lower case
+     */
+    Set<String> getTagNames() {
+        return tagNames;
+    }
+
+    /**
+     * @return the tag types, in lower case
+     */
+    Set<String> getTagTypes() {
+        return tagTypes;
+    }
+}
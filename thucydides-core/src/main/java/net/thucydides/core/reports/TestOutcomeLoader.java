@@ -1,17 +1,28 @@
 package net.thucydides.core.reports;
 
+import com.google.common.base.Optional;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.archive.ArchiveTestOutcomeReporter;
+import net.thucydides.core.reports.archive.ArchivedOutcome;
+import net.thucydides.core.reports.archive.OutcomeArchiveReader;
+import net.thucydides.core.reports.binary.BinaryTestOutcomeReporter;
 import net.thucydides.core.reports.json.JSONTestOutcomeReporter;
 import net.thucydides.core.reports.xml.XMLTestOutcomeReporter;
 import net.thucydides.core.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
 import java.io.File;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * Loads test outcomes from a given directory, and reports on their contents.
@@ -19,6 +30,8 @@ import java.util.*;
  */
 public class TestOutcomeLoader {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(TestOutcomeLoader.class);
+
     private final EnvironmentVariables environmentVariables;
     private final FormatConfiguration formatConfiguration;
 
@@ -44,21 +57,272 @@ public class TestOutcomeLoader {
     /**
      * Load the test outcomes from a given directory.
      *
-     * @param reportDirectory An existing directory that contains the test outcomes in XML or JSON format.
+     * @param reportDirectory An existing directory that contains the test outcomes in XML, JSON, binary or archive format.
      * @return The full list of test outcomes.
      * @throws java.io.IOException Thrown if the specified directory was invalid.
      */
     public List<TestOutcome> loadFrom(final File reportDirectory) throws IOException {
+        return loadFrom(reportDirectory, NO_LISTENER);
+    }
+
+    /**
+     * Load the test outcomes from a given directory, notifying a listener of the file each outcome came from.
+     * The report files are parsed in parallel, so the listener may be called from several threads at once.
+     *
+     * @param reportDirectory An existing directory that contains the test outcomes in XML, JSON, binary or archive format.
+     * @param listener Notified once for each test outcome that was successfully loaded.
+     * @return The full list of test outcomes, sorted by title.
+     * @throws java.io.IOException Thrown if the specified directory was invalid.
+     */
+    public List<TestOutcome> loadFrom(final File reportDirectory, final OutcomeFileListener listener) throws IOException {
+        List<TestOutcome> testOutcomes = Lists.newArrayList(load(reportDirectory, listener, true));
+        Collections.sort(testOutcomes, byTitle());
+        return ImmutableList.copyOf(testOutcomes);
+    }
+
+    /**
+     * Pass each test outcome in a given directory to a listener, without keeping the loaded outcomes in memory.
+     * This lets aggregate reporters process very large result directories.
+     * The report files are parsed in parallel, so the listener may be called from several threads at once,
+     * and the outcomes are not delivered in any particular order.
+     *
+     * @param reportDirectory An existing directory that contains the test outcomes in XML, JSON, binary or archive format.
+     * @param listener Notified once for each test outcome that was successfully loaded.
+     * @throws java.io.IOException Thrown if the specified directory was invalid.
+     */
+    public void processOutcomesFrom(final File reportDirectory, final OutcomeFileListener listener) throws IOException {
+        load(reportDirectory, listener, false);
+    }
 
-        final AcceptanceTestLoader testOutcomeReporter = getOutcomeReporter();
+    /**
+     * @return the loaded test outcomes, or an empty list if they are only passed to the listener.
+     */
+    List<TestOutcome> load(final File reportDirectory,
+                           final OutcomeFileListener listener,
+                           final boolean keepOutcomes) throws IOException {
         List<File> reportFiles = getAllOutcomeFilesFrom(reportDirectory);
+        List<Closeable> openArchives = Lists.newArrayList();
+        try {
+            List<StoredOutcome> storedOutcomes = storedOutcomesIn(reportFiles, openArchives);
+            return LOADER_POOL.invoke(new LoadOutcomesTask(storedOutcomes, listener, keepOutcomes));
+        } catch (OutcomeListenerFailure listenerFailure) {
+            throw listenerFailure.getCause();
+        } finally {
+            for (Closeable archive : openArchives) {
+                archive.close();
+            }
+        }
+    }
+
+    /**
+     * A run archive holds many test outcomes, so each archived outcome is loaded separately,
+     * and the outcomes of a single large archive are still loaded in parallel.
+     * Only the latest record of each test outcome is loaded from the archives of successive test runs.
+     */
+    private List<StoredOutcome> storedOutcomesIn(List<File> reportFiles, List<Closeable> openArchives) throws IOException {
+        List<StoredOutcome> storedOutcomes = Lists.newArrayList();
+        if (formatConfiguration.getPreferredFormat() == OutcomeFormat.ARCHIVE) {
+            List<OutcomeArchiveReader> archives = Lists.newArrayList();
+            for (File archiveFile : reportFiles) {
+                Optional<OutcomeArchiveReader> archive = ArchiveTestOutcomeReporter.openArchive(archiveFile);
+                if (archive.isPresent()) {
+                    archives.add(archive.get());
+                } else {
+                    storedOutcomes.add(new UnreadableArchive(archiveFile));
+                }
+            }
+            openArchives.addAll(archives);
+            for (ArchivedOutcome archivedOutcome : OutcomeArchiveReader.latestOutcomesIn(archives)) {
+                storedOutcomes.add(new OutcomeInArchive(archivedOutcome));
+            }
+        } else {
+            AcceptanceTestLoader testOutcomeReporter = getOutcomeReporter();
+            for (File reportFile : reportFiles) {
+                storedOutcomes.add(new OutcomeFile(testOutcomeReporter, reportFile));
+            }
+        }
+        return storedOutcomes;
+    }
+
+
+    /**
+     * Used by aggregate reporters that need to know which file each test outcome was loaded from.
+     */
+    public interface OutcomeFileListener {
+        void outcomeLoadedFrom(File reportFile, TestOutcome testOutcome) throws IOException;
+    }
+
+    /**
+     * Also notified of the report files that could not be loaded,
+     * for callers that must not act on an incomplete set of test outcomes.
+     */
+    public interface OutcomeLoadingListener extends OutcomeFileListener {
+        void outcomeNotLoadedFrom(File reportFile) throws IOException;
+    }
+
+    private static final OutcomeFileListener NO_LISTENER = new OutcomeFileListener() {
+        @Override
+        public void outcomeLoadedFrom(File reportFile, TestOutcome testOutcome) {}
+    };
+
+    private static final ForkJoinPool LOADER_POOL = new ForkJoinPool();
+
+    /**
+     * A test outcome stored either in its own report file or in a run archive.
+     */
+    private abstract static class StoredOutcome {
+        abstract File getFile();
+
+        abstract Optional<TestOutcome> load();
+    }
 
-        final List<TestOutcome> testOutcomes = Collections.synchronizedList(new ArrayList<TestOutcome>());
-        for(File reportFile : reportFiles) {
-            testOutcomes.addAll(testOutcomeReporter.loadReportFrom(reportFile).asSet());
+    private static class OutcomeFile extends StoredOutcome {
+        private final AcceptanceTestLoader testOutcomeReporter;
+        private final File reportFile;
+
+        private OutcomeFile(AcceptanceTestLoader testOutcomeReporter, File reportFile) {
+            this.testOutcomeReporter = testOutcomeReporter;
+            this.reportFile = reportFile;
+        }
+
+        @Override
+        File getFile() {
+            return reportFile;
+        }
+
+        @Override
+        Optional<TestOutcome> load() {
+            return testOutcomeReporter.loadReportFrom(reportFile);
+        }
+    }
+
+    private static class OutcomeInArchive extends StoredOutcome {
+        private final ArchivedOutcome archivedOutcome;
+
+        private OutcomeInArchive(ArchivedOutcome archivedOutcome) {
+            this.archivedOutcome = archivedOutcome;
+        }
+
+        @Override
+        File getFile() {
+            return archivedOutcome.getArchiveFile();
+        }
+
+        @Override
+        Optional<TestOutcome> load() {
+            try {
+                return Optional.of(archivedOutcome.load());
+            } catch (IOException | RuntimeException e) {
+                LOGGER.warn("could not read test outcome " + archivedOutcome.getRecord()
+                            + " from the archive " + archivedOutcome.getArchiveFile().getName()
+                            + System.lineSeparator()
+                            + e.getMessage());
+                return Optional.absent();
+            }
+        }
+    }
+
+    private static class UnreadableArchive extends StoredOutcome {
+        private final File archiveFile;
+
+        private UnreadableArchive(File archiveFile) {
+            this.archiveFile = archiveFile;
+        }
+
+        @Override
+        File getFile() {
+            return archiveFile;
+        }
+
+        @Override
+        Optional<TestOutcome> load() {
+            return Optional.absent();
+        }
+    }
+
+    /**
+     * Splits the stored outcomes into batches that are parsed in parallel.
+     * The results of each half are joined in file order, so the loaded outcomes are always returned in the same order.
+     */
+    private static class LoadOutcomesTask extends RecursiveTask<List<TestOutcome>> {
+
+        private static final int FILES_PER_BATCH = 16;
+
+        private final List<StoredOutcome> storedOutcomes;
+        private final OutcomeFileListener listener;
+        private final boolean keepOutcomes;
+
+        private LoadOutcomesTask(List<StoredOutcome> storedOutcomes,
+                                 OutcomeFileListener listener,
+                                 boolean keepOutcomes) {
+            this.storedOutcomes = storedOutcomes;
+            this.listener = listener;
+            this.keepOutcomes = keepOutcomes;
+        }
+
+        @Override
+        protected List<TestOutcome> compute() {
+            if (storedOutcomes.size() <= FILES_PER_BATCH) {
+                return loadBatch();
+            }
+            int middle = storedOutcomes.size() / 2;
+            LoadOutcomesTask firstHalf = batchOf(storedOutcomes.subList(0, middle));
+            LoadOutcomesTask secondHalf = batchOf(storedOutcomes.subList(middle, storedOutcomes.size()));
+            secondHalf.fork();
+            List<TestOutcome> testOutcomes = Lists.newArrayList(firstHalf.compute());
+            testOutcomes.addAll(secondHalf.join());
+            return testOutcomes;
+        }
+
+        private LoadOutcomesTask batchOf(List<StoredOutcome> batch) {
+            return new LoadOutcomesTask(batch, listener, keepOutcomes);
+        }
+
+        private List<TestOutcome> loadBatch() {
+            List<TestOutcome> testOutcomes = Lists.newArrayList();
+            for (StoredOutcome storedOutcome : storedOutcomes) {
+                Optional<TestOutcome> testOutcome = storedOutcome.load();
+                if (testOutcome.isPresent()) {
+                    testOutcome.get().freeze();
+                    notifyListener(storedOutcome.getFile(), testOutcome.get());
+                    if (keepOutcomes) {
+                        testOutcomes.add(testOutcome.get());
+                    }
+                } else {
+                    notifyListenerOfFailure(storedOutcome.getFile());
+                }
+            }
+            return testOutcomes;
+        }
+
+        private void notifyListener(File reportFile, TestOutcome testOutcome) {
+            try {
+                listener.outcomeLoadedFrom(reportFile, testOutcome);
+            } catch (IOException e) {
+                throw new OutcomeListenerFailure(e);
+            }
+        }
+
+        private void notifyListenerOfFailure(File reportFile) {
+            if (listener instanceof OutcomeLoadingListener) {
+                try {
+                    ((OutcomeLoadingListener) listener).outcomeNotLoadedFrom(reportFile);
+                } catch (IOException e) {
+                    throw new OutcomeListenerFailure(e);
+                }
+            }
+        }
+    }
+
+    private static class OutcomeListenerFailure extends RuntimeException {
+        private OutcomeListenerFailure(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
         }
-        Collections.sort(testOutcomes, byTitle());
-        return ImmutableList.copyOf(testOutcomes);
     }
 
     private Comparator<? super TestOutcome> byTitle() {
@@ -106,6 +370,8 @@ public class TestOutcomeLoader {
         switch (formatConfiguration.getPreferredFormat()) {
             case XML: return new XMLTestOutcomeReporter();
             case JSON: return new JSONTestOutcomeReporter();
+            case BINARY: return new BinaryTestOutcomeReporter(environmentVariables);
+            case ARCHIVE: return new ArchiveTestOutcomeReporter(environmentVariables);
             default: throw new IllegalArgumentException("Unsupported report format: " + formatConfiguration.getPreferredFormat());
         }
     }
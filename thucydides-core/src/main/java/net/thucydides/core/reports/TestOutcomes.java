@@ -2,6 +2,8 @@ package net.thucydides.core.reports;
 
 import ch.lambdaj.function.convert.Converter;
 import com.google.common.base.Optional;
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -24,7 +26,6 @@ import java.util.Set;
 
 import static ch.lambdaj.Lambda.*;
 import static net.thucydides.core.model.TestResult.*;
-import static net.thucydides.core.reports.matchers.TestOutcomeMatchers.*;
 import static org.hamcrest.Matchers.is;
 
 //import net.thucydides.core.statistics.HibernateTestStatisticsProvider;
@@ -46,6 +47,16 @@ public class TestOutcomes {
     private final EnvironmentVariables environmentVariables;
     private final RequirementsService requirementsService;
 
+    /**
+     * Tag, tag type and result index of the outcomes, built the first time a filtered view is requested.
+     */
+    private final Supplier<TestOutcomeIndex> index = Suppliers.memoize(new Supplier<TestOutcomeIndex>() {
+        @Override
+        public TestOutcomeIndex get() {
+            return new TestOutcomeIndex(outcomes);
+        }
+    });
+
     /**
      * A label indicating where these tests come from (e.g. the tag, the result status, etc).
      */
@@ -91,7 +102,7 @@ public class TestOutcomes {
 
     public TestOutcomes havingResult(TestResult result) {
 
-        return TestOutcomes.of(filter(withResult(result), outcomes))
+        return TestOutcomes.of(index.get().outcomesWithResult(result))
                 .withLabel(labelForTestsWithStatus(result.name()))
                 .withRootOutcomes(getRootOutcomes());
     }
@@ -117,18 +128,11 @@ public class TestOutcomes {
      * @return The list of all of the different tag types that appear in the test outcomes.
      */
     public List<String> getTagTypes() {
-        Set<String> tagTypes = Sets.newHashSet();
-        for (TestOutcome outcome : outcomes) {
-            addTagTypesFrom(outcome, tagTypes);
-        }
-        return sort(ImmutableList.copyOf(tagTypes), on(String.class));
+        return sort(ImmutableList.copyOf(index.get().getTagTypes()), on(String.class));
     }
 
     public List<String> getFirstClassTagTypes() {
-        Set<String> tagTypes = Sets.newHashSet();
-        for (TestOutcome outcome : outcomes) {
-            addTagTypesFrom(outcome, tagTypes);
-        }
+        Set<String> tagTypes = Sets.newHashSet(index.get().getTagTypes());
         tagTypes.remove("version");
         tagTypes.removeAll(getRequirementTagTypes());
         return sort(ImmutableList.copyOf(tagTypes), on(String.class));
@@ -150,51 +154,21 @@ public class TestOutcomes {
      * @return The list of all the names of the different tags in these test outcomes
      */
     public List<String> getTagNames() {
-        Set<String> tags = Sets.newHashSet();
-        for (TestOutcome outcome : outcomes) {
-            addTagNamesFrom(outcome, tags);
-        }
-        return sort(ImmutableList.copyOf(tags), on(String.class));
-    }
-
-    private void addTagNamesFrom(TestOutcome outcome, Set<String> tags) {
-        for (TestTag tag : outcome.getTags()) {
-            String normalizedForm = tag.getName().toLowerCase();
-            if (!tags.contains(normalizedForm)) {
-                tags.add(normalizedForm);
-            }
-        }
-    }
-
-    private void addTagTypesFrom(TestOutcome outcome, Set<String> tags) {
-        for (TestTag tag : outcome.getTags()) {
-            String normalizedForm = tag.getType().toLowerCase();
-            if (!tags.contains(normalizedForm)) {
-                tags.add(normalizedForm);
-            }
-        }
+        return sort(ImmutableList.copyOf(index.get().getTagNames()), on(String.class));
     }
 
     /**
      * @return The list of all the different tags in these test outcomes
      */
     public List<TestTag> getTags() {
-        Set<TestTag> tags = Sets.newHashSet();
-        for (TestOutcome outcome : outcomes) {
-            tags.addAll(outcome.getTags());
-        }
-        return ImmutableList.copyOf(tags);
+        return index.get().getTags();
     }
 
     /**
      * @return The list of all the tags associated with a given tag type.
      */
     public List<TestTag> getTagsOfType(String tagType) {
-        Set<TestTag> tags = Sets.newHashSet();
-        for (TestOutcome outcome : outcomes) {
-            tags.addAll(tagsOfType(tagType).in(outcome));
-        }
-        return sort(ImmutableList.copyOf(tags), on(String.class));
+        return sort(ImmutableList.copyOf(index.get().tagsOfType(tagType)), on(String.class));
     }
 
 
@@ -321,7 +295,7 @@ public class TestOutcomes {
      * @return A new set of test outcomes for this tag type
      */
     public TestOutcomes withTagType(String tagType) {
-        return TestOutcomes.of(filter(havingTagType(tagType), outcomes)).withLabel(tagType).withRootOutcomes(this.getRootOutcomes());
+        return TestOutcomes.of(index.get().outcomesWithTagType(tagType)).withLabel(tagType).withRootOutcomes(this.getRootOutcomes());
     }
 
     private TestOutcomes withRootOutcomes(TestOutcomes rootOutcomes) {
@@ -335,7 +309,7 @@ public class TestOutcomes {
      * @return A new set of test outcomes for this tag name
      */
     public TestOutcomes withTag(String tagName) {
-        return TestOutcomes.of(filter(havingTagName(tagName), outcomes)).withLabel(tagName).withRootOutcomes(getRootOutcomes());
+        return TestOutcomes.of(index.get().outcomesWithTagName(tagName)).withLabel(tagName).withRootOutcomes(getRootOutcomes());
     }
 
     public TestOutcomes withTag(TestTag tag) {
@@ -352,6 +326,9 @@ public class TestOutcomes {
     }
 
     private List<? extends TestOutcome> matchingOutcomes(List<? extends TestOutcome> outcomes, TestTag tag) {
+        if (!isAnIssue(tag)) {
+            return index.get().outcomesWithTag(tag);
+        }
         List<TestOutcome> matchingOutcomes = Lists.newArrayList();
         for (TestOutcome outcome : outcomes) {
             if (isAnIssue(tag) && (outcome.hasIssue(tag.getName()))) {
@@ -395,13 +372,13 @@ public class TestOutcomes {
      * @return A new set of test outcomes containing only the failing tests
      */
     public TestOutcomes getFailingTests() {
-        return TestOutcomes.of(filter(withResult(TestResult.FAILURE), outcomes))
+        return TestOutcomes.of(index.get().outcomesWithResult(TestResult.FAILURE))
                 .withLabel(labelForTestsWithStatus("failing tests"))
                 .withRootOutcomes(getRootOutcomes());
     }
 
     public TestOutcomes getErrorTests() {
-        return TestOutcomes.of(filter(withResult(TestResult.ERROR), outcomes))
+        return TestOutcomes.of(index.get().outcomesWithResult(TestResult.ERROR))
                 .withLabel(labelForTestsWithStatus("failing tests"))
                 .withRootOutcomes(getRootOutcomes());
     }
@@ -420,7 +397,7 @@ public class TestOutcomes {
      * @return A new set of test outcomes containing only the successful tests
      */
     public TestOutcomes getPassingTests() {
-        return TestOutcomes.of(filter(withResult(TestResult.SUCCESS), outcomes))
+        return TestOutcomes.of(index.get().outcomesWithResult(TestResult.SUCCESS))
                 .withLabel(labelForTestsWithStatus("passing tests"))
                 .withRootOutcomes(getRootOutcomes());
     }
@@ -0,0 +1,210 @@
+package net.thucydides.core.reports.archive;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.AcceptanceTestLoader;
+import net.thucydides.core.reports.AcceptanceTestReporter;
+import net.thucydides.core.reports.OutcomeFormat;
+import net.thucydides.core.reports.TestOutcomes;
+import net.thucydides.core.reports.binary.BinaryOutcomeConverter;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Stores all the test outcomes of a test run in a single run archive, rather than in one file per test outcome.
+ * Each JVM appends to its own archive in the output directory, so test runs split across several JVMs
+ * produce one archive per JVM. The archives are closed, and their indexes written, when the JVM shuts down.
+ * Archives from earlier test runs are kept, but only the latest record of each test outcome is loaded.
+ * Test outcomes are stored in the binary outcome format, compressed if thucydides.binary.outcome.compression is true.
+ */
+public class ArchiveTestOutcomeReporter implements AcceptanceTestReporter, AcceptanceTestLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ArchiveTestOutcomeReporter.class);
+
+    private static final ConcurrentMap<File, OutcomeArchiveWriter> ARCHIVE_WRITERS
+            = new ConcurrentHashMap<File, OutcomeArchiveWriter>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                closeAllArchives();
+            }
+        }));
+    }
+
+    private File outputDirectory;
+
+    private transient String qualifier;
+
+    private final BinaryOutcomeConverter binaryConverter;
+
+    public ArchiveTestOutcomeReporter() {
+        this(Injectors.getInjector().getProvider(EnvironmentVariables.class).get());
+    }
+
+    public ArchiveTestOutcomeReporter(EnvironmentVariables environmentVariables) {
+        boolean compressed = environmentVariables.getPropertyAsBoolean(ThucydidesSystemProperty.THUCYDIDES_BINARY_OUTCOME_COMPRESSION, false);
+        binaryConverter = new BinaryOutcomeConverter(compressed);
+    }
+
+    @Override
+    public String getName() {
+        return "archive";
+    }
+
+    /**
+     * Add a test outcome to the run archive in the output directory.
+     * @return the run archive file.
+     */
+    @Override
+    public File generateReportFor(TestOutcome testOutcome, TestOutcomes allTestOutcomes) throws IOException {
+        TestOutcome storedTestOutcome = testOutcome.withQualifier(qualifier);
+        Preconditions.checkNotNull(outputDirectory);
+        ByteArrayOutputStream binaryOutcome = new ByteArrayOutputStream();
+        binaryConverter.toBinary(storedTestOutcome, binaryOutcome);
+        OutcomeArchiveWriter archive = archiveWriterFor(outputDirectory);
+        archive.append(storedTestOutcome.getReportName(), binaryOutcome.toByteArray());
+        return archive.getArchiveFile();
+    }
+
+    private static OutcomeArchiveWriter archiveWriterFor(File outputDirectory) throws IOException {
+        File directory = outputDirectory.getCanonicalFile();
+        OutcomeArchiveWriter archive = ARCHIVE_WRITERS.get(directory);
+        if (archive == null) {
+            synchronized (ARCHIVE_WRITERS) {
+                archive = ARCHIVE_WRITERS.get(directory);
+                if (archive == null) {
+                    directory.mkdirs();
+                    File archiveFile = new File(directory, "test-outcomes-" + UUID.randomUUID() + OutcomeFormat.ARCHIVE.getExtension());
+                    archive = new OutcomeArchiveWriter(archiveFile);
+                    ARCHIVE_WRITERS.put(directory, archive);
+                }
+            }
+        }
+        return archive;
+    }
+
+    /**
+     * Write the indexes of all the run archives written by this JVM, and close them.
+     * Test outcomes reported after this will go to new archives.
+     */
+    public static void closeAllArchives() {
+        synchronized (ARCHIVE_WRITERS) {
+            for (OutcomeArchiveWriter archive : ARCHIVE_WRITERS.values()) {
+                try {
+                    archive.close();
+                } catch (IOException e) {
+                    LOGGER.warn("Could not close the test outcome archive " + archive.getArchiveFile() + ": " + e.getMessage());
+                }
+            }
+            ARCHIVE_WRITERS.clear();
+        }
+    }
+
+    public File getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    public void setOutputDirectory(final File outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    @Override
+    public void setQualifier(final String qualifier) {
+        this.qualifier = qualifier;
+    }
+
+    public void setResourceDirectory(String resourceDirectoryPath) {
+    }
+
+    /**
+     * A run archive usually holds many test outcomes: this returns the first one.
+     * Use loadOutcomesFrom() to read all the test outcomes in an archive.
+     */
+    public Optional<TestOutcome> loadReportFrom(final File archiveFile) {
+        List<TestOutcome> testOutcomes = loadOutcomesFrom(archiveFile);
+        return testOutcomes.isEmpty() ? Optional.<TestOutcome>absent() : Optional.of(testOutcomes.get(0));
+    }
+
+    public List<TestOutcome> loadOutcomesFrom(final File archiveFile) {
+        return loadLatestOutcomesFrom(new File[] {archiveFile});
+    }
+
+    @Override
+    public List<TestOutcome> loadReportsFrom(File outputDirectory) {
+        File[] archiveFiles = outputDirectory.listFiles(new ArchiveFilenameFilter());
+        if (archiveFiles == null) {
+            return Lists.newArrayList();
+        }
+        return loadLatestOutcomesFrom(archiveFiles);
+    }
+
+    private List<TestOutcome> loadLatestOutcomesFrom(File[] archiveFiles) {
+        List<OutcomeArchiveReader> archives = Lists.newArrayList();
+        List<TestOutcome> testOutcomes = Lists.newArrayList();
+        try {
+            for (File archiveFile : archiveFiles) {
+                archives.addAll(openArchive(archiveFile).asSet());
+            }
+            for (ArchivedOutcome archivedOutcome : OutcomeArchiveReader.latestOutcomesIn(archives)) {
+                testOutcomes.add(archivedOutcome.load());
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Could not read the Thucydides test outcome archives: " + e.getMessage());
+        } finally {
+            closeAll(archives);
+        }
+        return testOutcomes;
+    }
+
+    /**
+     * @return the archive, or nothing if the file is not a valid test outcome archive.
+     */
+    public static Optional<OutcomeArchiveReader> openArchive(File archiveFile) {
+        try {
+            return Optional.of(new OutcomeArchiveReader(archiveFile));
+        } catch (IOException e) {
+            LOGGER.warn("this file was not a valid Thucydides test outcome archive: " + archiveFile.getName()
+                        + System.lineSeparator()
+                        + e.getMessage());
+            return Optional.absent();
+        }
+    }
+
+    private void closeAll(List<OutcomeArchiveReader> archives) {
+        for (OutcomeArchiveReader archive : archives) {
+            try {
+                archive.close();
+            } catch (IOException e) {
+                LOGGER.warn("Could not close the test outcome archive " + archive.getArchiveFile() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static final class ArchiveFilenameFilter implements FilenameFilter {
+        public boolean accept(final File file, final String filename) {
+            return filename.toLowerCase(Locale.getDefault()).endsWith(OutcomeFormat.ARCHIVE.getExtension());
+        }
+    }
+
+    @Override
+    public Optional<OutcomeFormat> getFormat() {
+        return Optional.of(OutcomeFormat.ARCHIVE);
+    }
+}
@@ -0,0 +1,42 @@
+package net.thucydides.core.reports.archive;
+
+import net.thucydides.core.model.TestOutcome;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A test outcome stored in a run archive.
+ */
+public class ArchivedOutcome {
+
+    private final OutcomeArchiveReader archive;
+    private final int record;
+    private final String reportName;
+
+    ArchivedOutcome(OutcomeArchiveReader archive, int record, String reportName) {
+        this.archive = archive;
+        this.record = record;
+        this.reportName = reportName;
+    }
+
+    public File getArchiveFile() {
+        return archive.getArchiveFile();
+    }
+
+    public int getRecord() {
+        return record;
+    }
+
+    public String getReportName() {
+        return reportName;
+    }
+
+    public TestOutcome load() throws IOException {
+        return archive.readOutcome(record);
+    }
+
+    public String digest() throws IOException {
+        return archive.readOutcomeDigest(record);
+    }
+}
@@ -0,0 +1,222 @@
+package net.thucydides.core.reports.archive;
+
+import com.google.common.base.Optional;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.binary.BinaryOutcomeConverter;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static net.thucydides.core.reports.archive.OutcomeArchiveWriter.ARCHIVE_MAGIC;
+import static net.thucydides.core.reports.archive.OutcomeArchiveWriter.FORMAT_VERSION;
+import static net.thucydides.core.reports.archive.OutcomeArchiveWriter.HEADER_SIZE;
+import static net.thucydides.core.reports.archive.OutcomeArchiveWriter.INDEX_MAGIC;
+import static net.thucydides.core.reports.archive.OutcomeArchiveWriter.TRAILER_SIZE;
+
+/**
+ * Reads the test outcomes stored in a run archive written by an OutcomeArchiveWriter.
+ * The archive is memory-mapped rather than read into memory, and the records are found using the index
+ * at the end of the archive, or by reading them one after the other if the archive was never closed.
+ * Records can be read from several threads at once.
+ */
+public class OutcomeArchiveReader implements Closeable {
+
+    private final File archiveFile;
+    private final FileChannel channel;
+    private final long size;
+    private final MappedByteBuffer archive;
+    private final List<Long> recordPositions;
+    private final BinaryOutcomeConverter binaryConverter = new BinaryOutcomeConverter(false);
+
+    public OutcomeArchiveReader(File archiveFile) throws IOException {
+        this.archiveFile = archiveFile;
+        this.channel = FileChannel.open(archiveFile.toPath(), StandardOpenOption.READ);
+        try {
+            this.size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Not a test outcome archive: " + archiveFile);
+            }
+            this.archive = (size <= Integer.MAX_VALUE) ? channel.map(FileChannel.MapMode.READ_ONLY, 0, size) : null;
+            checkHeader(readAt(0, HEADER_SIZE));
+            Optional<List<Long>> indexedRecordPositions = indexedRecordPositions(size);
+            this.recordPositions = indexedRecordPositions.isPresent() ? indexedRecordPositions.get() : scannedRecordPositions(size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public File getArchiveFile() {
+        return archiveFile;
+    }
+
+    public int getRecordCount() {
+        return recordPositions.size();
+    }
+
+    /**
+     * The report name of a test outcome, read without reading the test outcome itself.
+     */
+    public String readReportName(int record) throws IOException {
+        long recordPosition = recordPositions.get(record);
+        int nameLength = readAt(recordPosition + 4, 2).getShort() & 0xFFFF;
+        ByteBuffer name = readAt(recordPosition + 6, nameLength);
+        byte[] nameBytes = new byte[nameLength];
+        name.get(nameBytes);
+        return new String(nameBytes, StandardCharsets.UTF_8);
+    }
+
+    public TestOutcome readOutcome(int record) throws IOException {
+        return binaryConverter.fromBinary(new ByteBufferInputStream(binaryOutcomeAt(record)));
+    }
+
+    /**
+     * A digest of a single stored test outcome, which only changes if that test outcome changes.
+     */
+    public String readOutcomeDigest(int record) throws IOException {
+        return DigestUtils.md5Hex(new ByteBufferInputStream(binaryOutcomeAt(record)));
+    }
+
+    private ByteBuffer binaryOutcomeAt(int record) throws IOException {
+        long recordPosition = recordPositions.get(record);
+        ByteBuffer recordHeader = readAt(recordPosition, 6);
+        int length = recordHeader.getInt();
+        int nameLength = recordHeader.getShort() & 0xFFFF;
+        if (nameLength + 2 > length) {
+            throw new IOException("Corrupted record " + record + " in the test outcome archive " + archiveFile);
+        }
+        return readAt(recordPosition + 6 + nameLength, length - 2 - nameLength);
+    }
+
+    /**
+     * Archives from earlier test runs stay in the output directory, so the same test can be recorded in several archives.
+     * Just as a new test outcome file replaces the file from an earlier run, only the latest record of each test outcome
+     * is kept: archives are read from the oldest to the newest, and a record replaces any earlier record with the same
+     * report name.
+     */
+    public static List<ArchivedOutcome> latestOutcomesIn(List<OutcomeArchiveReader> archives) throws IOException {
+        List<OutcomeArchiveReader> oldestFirst = new ArrayList<>(archives);
+        Collections.sort(oldestFirst, new Comparator<OutcomeArchiveReader>() {
+            @Override
+            public int compare(OutcomeArchiveReader first, OutcomeArchiveReader second) {
+                int byAge = Long.compare(first.getArchiveFile().lastModified(), second.getArchiveFile().lastModified());
+                return (byAge != 0) ? byAge : first.getArchiveFile().getName().compareTo(second.getArchiveFile().getName());
+            }
+        });
+        Map<String, ArchivedOutcome> latestOutcomes = new LinkedHashMap<>();
+        for (OutcomeArchiveReader archive : oldestFirst) {
+            for (int record = 0; record < archive.getRecordCount(); record++) {
+                String reportName = archive.readReportName(record);
+                latestOutcomes.remove(reportName);
+                latestOutcomes.put(reportName, new ArchivedOutcome(archive, record, reportName));
+            }
+        }
+        return new ArrayList<>(latestOutcomes.values());
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void checkHeader(ByteBuffer header) throws IOException {
+        if (header.getInt() != ARCHIVE_MAGIC) {
+            throw new IOException("Not a test outcome archive: " + archiveFile);
+        }
+        int version = header.getInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported test outcome archive version " + version + ": " + archiveFile);
+        }
+    }
+
+    private Optional<List<Long>> indexedRecordPositions(long size) throws IOException {
+        if (size < HEADER_SIZE + TRAILER_SIZE) {
+            return Optional.absent();
+        }
+        ByteBuffer trailer = readAt(size - TRAILER_SIZE, TRAILER_SIZE);
+        int recordCount = trailer.getInt();
+        long indexPosition = trailer.getLong();
+        if ((trailer.getInt() != INDEX_MAGIC) || (recordCount < 0)
+                || (indexPosition + recordCount * 8L + TRAILER_SIZE != size)) {
+            return Optional.absent();
+        }
+        ByteBuffer index = readAt(indexPosition, recordCount * 8);
+        List<Long> positions = new ArrayList<>(recordCount);
+        for (int i = 0; i < recordCount; i++) {
+            positions.add(index.getLong());
+        }
+        return Optional.of(positions);
+    }
+
+    /**
+     * Records always hold at least the length of the report name, so a smaller length marks the start of the index,
+     * or of a record that was never written.
+     */
+    private List<Long> scannedRecordPositions(long size) throws IOException {
+        List<Long> positions = new ArrayList<>();
+        long position = HEADER_SIZE;
+        while (position + 4 <= size) {
+            int length = readAt(position, 4).getInt();
+            if ((length < 2) || (position + 4 + length > size)) {
+                break;
+            }
+            positions.add(position);
+            position += 4 + length;
+        }
+        return positions;
+    }
+
+    private ByteBuffer readAt(long position, int length) throws IOException {
+        if ((position < 0) || (length < 0) || (position + length > size)) {
+            throw new IOException("Corrupted test outcome archive: " + archiveFile);
+        }
+        if (archive != null) {
+            ByteBuffer region = archive.duplicate();
+            region.position((int) position).limit((int) position + length);
+            return region.slice();
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? (buffer.get() & 0xFF) : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int bytesRead = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, bytesRead);
+            return bytesRead;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package net.thucydides.core.reports.archive;
+
+import com.google.common.base.Preconditions;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends test outcomes to a run archive, a single file that holds all of the test outcomes of a test run.
+ * The archive starts with a short header, followed by one record per test outcome. Each record is written as its length,
+ * the report name of the test outcome, and the test outcome in the binary outcome format. When the archive is closed, an index of
+ * the record positions is written at the end of the file, so that the records can be found without reading
+ * the whole archive. If the test run stops before the archive is closed, the records can still be read one after the other.
+ * Test outcomes can be appended from several threads at once.
+ */
+public class OutcomeArchiveWriter implements Closeable {
+
+    static final int ARCHIVE_MAGIC = 0x54485241;     // "THRA"
+    static final int INDEX_MAGIC = 0x54485249;       // "THRI"
+    static final int FORMAT_VERSION = 2;
+    static final int HEADER_SIZE = 8;
+    static final int TRAILER_SIZE = 16;
+    static final int MAX_REPORT_NAME_LENGTH = 0xFFFF;
+
+    private final File archiveFile;
+    private final FileChannel channel;
+    private final List<Long> recordPositions = new ArrayList<>();
+    private boolean closed = false;
+
+    public OutcomeArchiveWriter(File archiveFile) throws IOException {
+        this.archiveFile = archiveFile;
+        this.channel = FileChannel.open(archiveFile.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(ARCHIVE_MAGIC).putInt(FORMAT_VERSION).flip();
+        writeFully(header);
+    }
+
+    public File getArchiveFile() {
+        return archiveFile;
+    }
+
+    /**
+     * Add a test outcome, already in the binary outcome format, to the end of the archive.
+     * The report name identifies the test outcome, so that readers can find the latest record of each test
+     * without reading the test outcomes themselves.
+     */
+    public void append(String reportName, byte[] binaryOutcome) throws IOException {
+        byte[] name = reportName.getBytes(StandardCharsets.UTF_8);
+        Preconditions.checkArgument(name.length <= MAX_REPORT_NAME_LENGTH, "Report name too long: " + reportName);
+        ByteBuffer recordHeader = ByteBuffer.allocate(6 + name.length);
+        recordHeader.putInt(2 + name.length + binaryOutcome.length).putShort((short) name.length).put(name).flip();
+        appendRecord(recordHeader, ByteBuffer.wrap(binaryOutcome));
+    }
+
+    private synchronized void appendRecord(ByteBuffer recordHeader, ByteBuffer binaryOutcome) throws IOException {
+        if (closed) {
+            throw new IOException("The outcome archive " + archiveFile + " has already been closed");
+        }
+        long recordPosition = channel.position();
+        writeFully(recordHeader, binaryOutcome);
+        recordPositions.add(recordPosition);
+    }
+
+    public synchronized int getRecordCount() {
+        return recordPositions.size();
+    }
+
+    /**
+     * Write the record index at the end of the archive and close it.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            long indexPosition = channel.position();
+            ByteBuffer index = ByteBuffer.allocate(recordPositions.size() * 8 + TRAILER_SIZE);
+            for (Long recordPosition : recordPositions) {
+                index.putLong(recordPosition);
+            }
+            index.putInt(recordPositions.size()).putLong(indexPosition).putInt(INDEX_MAGIC).flip();
+            writeFully(index);
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void writeFully(ByteBuffer... buffers) throws IOException {
+        ByteBuffer lastBuffer = buffers[buffers.length - 1];
+        while (lastBuffer.hasRemaining()) {
+            channel.write(buffers);
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package net.thucydides.core.reports.binary;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.json.jackson.JacksonJSONConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Stores test outcomes in a compact binary form.
+ * The outcomes are mapped using the same Jackson mapping as the JSON reports, so a loaded outcome is the same
+ * as one loaded from JSON, but the resulting stream of tokens is written in binary rather than as text:
+ * each distinct field name and string value is written once and then referred to by its position in a string table,
+ * whole numbers such as durations and timestamps are written as variable-length integers,
+ * and the content can optionally be compressed with deflate.
+ */
+public class BinaryOutcomeConverter {
+
+    private static final byte[] MAGIC = {'T', 'H', 'B', 'O'};
+    private static final int FORMAT_VERSION = 1;
+    private static final int COMPRESSED = 1;
+
+    private static final int END = 0;
+    private static final int START_OBJECT = 1;
+    private static final int END_OBJECT = 2;
+    private static final int START_ARRAY = 3;
+    private static final int END_ARRAY = 4;
+    private static final int FIELD_NAME = 5;
+    private static final int STRING = 6;
+    private static final int WHOLE_NUMBER = 7;
+    private static final int DECIMAL_NUMBER = 8;
+    private static final int BIG_INTEGER = 9;
+    private static final int BIG_DECIMAL = 10;
+    private static final int TRUE = 11;
+    private static final int FALSE = 12;
+    private static final int NULL = 13;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int STRING_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * Object mappers are expensive to create and safe to share once configured.
+     */
+    private static final ObjectMapper MAPPER = JacksonJSONConverter.testOutcomeMapper();
+    private static final ObjectReader READER = MAPPER.reader(TestOutcome.class);
+    private static final ObjectWriter WRITER = MAPPER.writerWithType(TestOutcome.class);
+
+    private final boolean compressed;
+
+    public BinaryOutcomeConverter(boolean compressed) {
+        this.compressed = compressed;
+    }
+
+    public void toBinary(TestOutcome testOutcome, OutputStream outputStream) throws IOException {
+        TokenBuffer tokens = new TokenBuffer(MAPPER, false);
+        WRITER.writeValue(tokens, testOutcome);
+
+        DataOutputStream header = new DataOutputStream(outputStream);
+        header.write(MAGIC);
+        header.writeByte(FORMAT_VERSION);
+        header.writeByte(compressed ? COMPRESSED : 0);
+
+        if (compressed) {
+            Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+            try {
+                DeflaterOutputStream compressedStream = new DeflaterOutputStream(outputStream, deflater);
+                writeTokens(tokens.asParser(), new DataOutputStream(compressedStream));
+                compressedStream.finish();
+            } finally {
+                deflater.end();
+            }
+        } else {
+            writeTokens(tokens.asParser(), header);
+        }
+        header.flush();
+    }
+
+    public TestOutcome fromBinary(InputStream inputStream) throws IOException {
+        DataInputStream header = new DataInputStream(inputStream);
+        byte[] magic = new byte[MAGIC.length];
+        header.readFully(magic);
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (magic[i] != MAGIC[i]) {
+                throw new IOException("Not a binary test outcome");
+            }
+        }
+        int version = header.readUnsignedByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported binary test outcome version: " + version);
+        }
+        boolean compressedContent = ((header.readUnsignedByte() & COMPRESSED) != 0);
+        if (compressedContent) {
+            Inflater inflater = new Inflater();
+            try {
+                return readOutcome(new DataInputStream(new InflaterInputStream(inputStream, inflater)));
+            } finally {
+                inflater.end();
+            }
+        }
+        return readOutcome(header);
+    }
+
+    private TestOutcome readOutcome(DataInputStream input) throws IOException {
+        TokenBuffer tokens = readTokens(input);
+        JsonParser parser = tokens.asParser();
+        try {
+            return READER.readValue(parser);
+        } finally {
+            parser.close();
+        }
+    }
+
+    private void writeTokens(JsonParser parser, DataOutputStream output) throws IOException {
+        StringTableWriter strings = new StringTableWriter(output);
+        JsonToken token;
+        while ((token = parser.nextToken()) != null) {
+            switch (token) {
+                case START_OBJECT:
+                    output.writeByte(START_OBJECT);
+                    break;
+                case END_OBJECT:
+                    output.writeByte(END_OBJECT);
+                    break;
+                case START_ARRAY:
+                    output.writeByte(START_ARRAY);
+                    break;
+                case END_ARRAY:
+                    output.writeByte(END_ARRAY);
+                    break;
+                case FIELD_NAME:
+                    output.writeByte(FIELD_NAME);
+                    strings.write(parser.getCurrentName());
+                    break;
+                case VALUE_STRING:
+                    output.writeByte(STRING);
+                    strings.write(parser.getText());
+                    break;
+                case VALUE_NUMBER_INT:
+                    if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+                        output.writeByte(BIG_INTEGER);
+                        strings.write(parser.getBigIntegerValue().toString());
+                    } else {
+                        output.writeByte(WHOLE_NUMBER);
+                        writeVarLong(output, zigZag(parser.getLongValue()));
+                    }
+                    break;
+                case VALUE_NUMBER_FLOAT:
+                    if (parser.getNumberType() == JsonParser.NumberType.BIG_DECIMAL) {
+                        output.writeByte(BIG_DECIMAL);
+                        strings.write(parser.getDecimalValue().toString());
+                    } else {
+                        output.writeByte(DECIMAL_NUMBER);
+                        output.writeDouble(parser.getDoubleValue());
+                    }
+                    break;
+                case VALUE_TRUE:
+                    output.writeByte(TRUE);
+                    break;
+                case VALUE_FALSE:
+                    output.writeByte(FALSE);
+                    break;
+                case VALUE_NULL:
+                    output.writeByte(NULL);
+                    break;
+                default:
+                    throw new IOException("Unsupported value in test outcome: " + token);
+            }
+        }
+        output.writeByte(END);
+        output.flush();
+    }
+
+    private TokenBuffer readTokens(DataInputStream input) throws IOException {
+        TokenBuffer tokens = new TokenBuffer(MAPPER, false);
+        StringTableReader strings = new StringTableReader(input);
+        int tag;
+        while ((tag = input.readUnsignedByte()) != END) {
+            switch (tag) {
+                case START_OBJECT:
+                    tokens.writeStartObject();
+                    break;
+                case END_OBJECT:
+                    tokens.writeEndObject();
+                    break;
+                case START_ARRAY:
+                    tokens.writeStartArray();
+                    break;
+                case END_ARRAY:
+                    tokens.writeEndArray();
+                    break;
+                case FIELD_NAME:
+                    tokens.writeFieldName(strings.read());
+                    break;
+                case STRING:
+                    tokens.writeString(strings.read());
+                    break;
+                case WHOLE_NUMBER:
+                    long value = unZigZag(readVarLong(input));
+                    if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                        tokens.writeNumber((int) value);
+                    } else {
+                        tokens.writeNumber(value);
+                    }
+                    break;
+                case DECIMAL_NUMBER:
+                    tokens.writeNumber(input.readDouble());
+                    break;
+                case BIG_INTEGER:
+                    tokens.writeNumber(new BigInteger(strings.read()));
+                    break;
+                case BIG_DECIMAL:
+                    tokens.writeNumber(new BigDecimal(strings.read()));
+                    break;
+                case TRUE:
+                    tokens.writeBoolean(true);
+                    break;
+                case FALSE:
+                    tokens.writeBoolean(false);
+                    break;
+                case NULL:
+                    tokens.writeNull();
+                    break;
+                default:
+                    throw new IOException("Corrupted binary test outcome (unknown tag " + tag + ")");
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Strings are written as 0 followed by their UTF-8 bytes the first time they appear,
+     * and as their position in the table (starting at 1) after that.
+     */
+    private static class StringTableWriter {
+        private final DataOutputStream output;
+        private final Map<String, Integer> positions = new HashMap<String, Integer>();
+
+        private StringTableWriter(DataOutputStream output) {
+            this.output = output;
+        }
+
+        void write(String value) throws IOException {
+            Integer position = positions.get(value);
+            if (position != null) {
+                writeVarLong(output, position);
+            } else {
+                positions.put(value, positions.size() + 1);
+                byte[] bytes = value.getBytes(UTF_8);
+                writeVarLong(output, 0);
+                writeVarLong(output, bytes.length);
+                output.write(bytes);
+            }
+        }
+    }
+
+    private static class StringTableReader {
+        private final DataInputStream input;
+        private final List<String> strings = new ArrayList<String>();
+
+        private StringTableReader(DataInputStream input) {
+            this.input = input;
+        }
+
+        String read() throws IOException {
+            long position = readVarLong(input);
+            if (position != 0) {
+                if (position < 0 || position > strings.size()) {
+                    throw new IOException("Corrupted binary test outcome (unknown string " + position + ")");
+                }
+                return strings.get((int) position - 1);
+            }
+            long length = readVarLong(input);
+            if (length < 0 || length > Integer.MAX_VALUE) {
+                throw new IOException("Corrupted binary test outcome (invalid string length " + length + ")");
+            }
+            String value = new String(readBytes((int) length), UTF_8);
+            strings.add(value);
+            return value;
+        }
+
+        /**
+         * The number of bytes left is not known up front for compressed outcomes, so long strings are read
+         * a chunk at a time: a corrupted length then fails when the input runs out, rather than by
+         * allocating a buffer for bytes that are not there.
+         */
+        private byte[] readBytes(int length) throws IOException {
+            if (length <= STRING_CHUNK_SIZE) {
+                byte[] bytes = new byte[length];
+                input.readFully(bytes);
+                return bytes;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(STRING_CHUNK_SIZE);
+            byte[] chunk = new byte[STRING_CHUNK_SIZE];
+            for (int remaining = length; remaining > 0; remaining -= STRING_CHUNK_SIZE) {
+                int chunkLength = Math.min(remaining, STRING_CHUNK_SIZE);
+                input.readFully(chunk, 0, chunkLength);
+                bytes.write(chunk, 0, chunkLength);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarLong(DataOutputStream output, long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            output.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        output.writeByte((int) remaining);
+    }
+
+    private static long readVarLong(DataInputStream input) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int nextByte = input.readUnsignedByte();
+            value |= (long) (nextByte & 0x7F) << shift;
+            if ((nextByte & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new EOFException("Corrupted binary test outcome (variable-length number too long)");
+    }
+}
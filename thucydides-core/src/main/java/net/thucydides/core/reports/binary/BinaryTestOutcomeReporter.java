@@ -0,0 +1,115 @@
+package net.thucydides.core.reports.binary;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.model.ReportType;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.AcceptanceTestLoader;
+import net.thucydides.core.reports.AcceptanceTestReporter;
+import net.thucydides.core.reports.OutcomeFormat;
+import net.thucydides.core.reports.TestOutcomes;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Stores test outcomes in a compact binary format, which is smaller than JSON or XML and much faster to load
+ * when aggregating large numbers of test outcomes.
+ * The binary outcomes are compressed if thucydides.binary.outcome.compression is set to true.
+ */
+public class BinaryTestOutcomeReporter implements AcceptanceTestReporter, AcceptanceTestLoader {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryTestOutcomeReporter.class);
+
+    private File outputDirectory;
+
+    private transient String qualifier;
+
+    BinaryOutcomeConverter binaryConverter;
+
+    public BinaryTestOutcomeReporter() {
+        this(Injectors.getInjector().getProvider(EnvironmentVariables.class).get());
+    }
+
+    public BinaryTestOutcomeReporter(EnvironmentVariables environmentVariables) {
+        boolean compressed = environmentVariables.getPropertyAsBoolean(ThucydidesSystemProperty.THUCYDIDES_BINARY_OUTCOME_COMPRESSION, false);
+        binaryConverter = new BinaryOutcomeConverter(compressed);
+    }
+
+    @Override
+    public String getName() {
+        return "binary";
+    }
+
+    @Override
+    public File generateReportFor(TestOutcome testOutcome, TestOutcomes allTestOutcomes) throws IOException {
+        TestOutcome storedTestOutcome = testOutcome.withQualifier(qualifier);
+        Preconditions.checkNotNull(outputDirectory);
+        File report = new File(getOutputDirectory(), reportFor(storedTestOutcome));
+        try(OutputStream outputStream = new BufferedOutputStream(new FileOutputStream(report))) {
+            binaryConverter.toBinary(storedTestOutcome, outputStream);
+        }
+        return report;
+    }
+
+    public File getOutputDirectory() {
+        return outputDirectory;
+    }
+
+    private String reportFor(final TestOutcome testOutcome) {
+        return testOutcome.withQualifier(qualifier).getReportName(ReportType.BINARY);
+    }
+
+    public void setOutputDirectory(final File outputDirectory) {
+        this.outputDirectory = outputDirectory;
+    }
+
+    @Override
+    public void setQualifier(final String qualifier) {
+        this.qualifier = qualifier;
+    }
+
+    public void setResourceDirectory(String resourceDirectoryPath) {
+    }
+
+    public Optional<TestOutcome> loadReportFrom(final File reportFile) {
+        try(InputStream report = new BufferedInputStream(new FileInputStream(reportFile))) {
+            return Optional.of(binaryConverter.fromBinary(report));
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("this file was not a valid binary Thucydides test report: " + reportFile.getName()
+                        + System.lineSeparator()
+                        + e.getMessage());
+            return Optional.absent();
+        }
+    }
+
+    @Override
+    public List<TestOutcome> loadReportsFrom(File outputDirectory) {
+        File[] reportFiles = outputDirectory.listFiles(new BinaryFilenameFilter());
+        List<TestOutcome> testOutcomes = Lists.newArrayList();
+        if (reportFiles != null) {
+            for (File reportFile : reportFiles) {
+                testOutcomes.addAll(loadReportFrom(reportFile).asSet());
+            }
+        }
+        return testOutcomes;
+    }
+
+    private static final class BinaryFilenameFilter implements FilenameFilter {
+        public boolean accept(final File file, final String filename) {
+            return filename.toLowerCase(Locale.getDefault()).endsWith(OutcomeFormat.BINARY.getExtension());
+        }
+    }
+
+    @Override
+    public Optional<OutcomeFormat> getFormat() {
+        return Optional.of(OutcomeFormat.BINARY);
+    }
+}
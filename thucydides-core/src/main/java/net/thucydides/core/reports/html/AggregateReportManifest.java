@@ -0,0 +1,214 @@
+package net.thucydides.core.reports.html;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.SortedSetMultimap;
+import com.google.common.collect.TreeMultimap;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestTag;
+import net.thucydides.core.reports.OutcomeFormat;
+import net.thucydides.core.reports.TestOutcomes;
+import net.thucydides.core.reports.archive.ArchiveTestOutcomeReporter;
+import net.thucydides.core.reports.archive.ArchivedOutcome;
+import net.thucydides.core.reports.archive.OutcomeArchiveReader;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records the test outcome files that went into an aggregate report, and the inputs used to build each page.
+ * The manifest is stored in the output directory, so that the next aggregate run can skip pages whose
+ * test outcomes have not changed since they were last generated.
+ */
+public class AggregateReportManifest {
+
+    public static final String MANIFEST_FILE = "aggregate-manifest.properties";
+
+    private static final String OUTCOME_PREFIX = "outcome.";
+    private static final String PAGE_PREFIX = "page.";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AggregateReportManifest.class);
+
+    private final File outputDirectory;
+    private final Properties previousManifest;
+    private final Properties currentManifest = new Properties();
+    private final SortedSetMultimap<String, String> outcomeDigests = TreeMultimap.create();
+    private final ConcurrentMap<File, String> fileDigests = new ConcurrentHashMap<>();
+    private final Map<File, Map<String, String>> archivedOutcomeDigests = Maps.newHashMap();
+    private String configurationKey = "";
+
+    protected AggregateReportManifest(File outputDirectory, Properties previousManifest) {
+        this.outputDirectory = outputDirectory;
+        this.previousManifest = previousManifest;
+    }
+
+    public static AggregateReportManifest loadFrom(File outputDirectory) {
+        Properties previousManifest = new Properties();
+        File manifestFile = new File(outputDirectory, MANIFEST_FILE);
+        if (manifestFile.exists()) {
+            try (InputStream in = new BufferedInputStream(new FileInputStream(manifestFile))) {
+                previousManifest.load(in);
+            } catch (IOException e) {
+                LOGGER.warn("Could not read the aggregate report manifest - all pages will be regenerated", e);
+                previousManifest.clear();
+            }
+        }
+        return new AggregateReportManifest(outputDirectory, previousManifest);
+    }
+
+    /**
+     * Settings that affect every page, such as the Thucydides version or the tag types shown in the menus.
+     * If any of these change, every page will be regenerated.
+     */
+    public void useConfigurationKey(String configurationKey) {
+        this.configurationKey = configurationKey;
+    }
+
+    /**
+     * Record the digest of the file a test outcome was loaded from.
+     * Outcomes may be recorded from several loader threads at once.
+     * A run archive holds many test outcomes, so archived outcomes are recorded by report name,
+     * with the digest of their own record rather than of the whole archive.
+     */
+    public void recordOutcomeFile(TestOutcome outcome, File outcomeFile) throws IOException {
+        String reportName = outcome.getReportName();
+        String digest = isArchive(outcomeFile) ? archivedDigestOf(reportName, outcomeFile) : digestOf(outcomeFile);
+        synchronized (outcomeDigests) {
+            currentManifest.setProperty(outcomeKeyFor(outcome, outcomeFile), digest);
+            outcomeDigests.put(reportName, digest);
+        }
+    }
+
+    public boolean outcomeFileHasChanged(TestOutcome outcome, File outcomeFile) {
+        String key = outcomeKeyFor(outcome, outcomeFile);
+        return !currentManifest.getProperty(key, "").equals(previousManifest.getProperty(key));
+    }
+
+    private String outcomeKeyFor(TestOutcome outcome, File outcomeFile) {
+        if (isArchive(outcomeFile)) {
+            return OUTCOME_PREFIX + "archived." + outcome.getReportName();
+        }
+        return OUTCOME_PREFIX + outcomeFile.getName();
+    }
+
+    private boolean isArchive(File outcomeFile) {
+        return outcomeFile.getName().endsWith(OutcomeFormat.ARCHIVE.getExtension());
+    }
+
+    /**
+     * A page is up to date if it was generated from exactly the same test outcome files, with the same tags,
+     * and all of the files it produced are still in the output directory.
+     */
+    public boolean isUpToDate(String reportName, TestOutcomes testOutcomes, String... generatedFiles) {
+        Optional<String> pageKey = pageKeyFor(testOutcomes);
+        if (!pageKey.isPresent() || !pageKey.get().equals(previousManifest.getProperty(PAGE_PREFIX + reportName))) {
+            return false;
+        }
+        if (!new File(outputDirectory, reportName).exists()) {
+            return false;
+        }
+        for (String generatedFile : generatedFiles) {
+            if (!new File(outputDirectory, generatedFile).exists()) {
+                return false;
+            }
+        }
+        currentManifest.setProperty(PAGE_PREFIX + reportName, pageKey.get());
+        return true;
+    }
+
+    public void recordPage(String reportName, TestOutcomes testOutcomes) {
+        Optional<String> pageKey = pageKeyFor(testOutcomes);
+        if (pageKey.isPresent()) {
+            currentManifest.setProperty(PAGE_PREFIX + reportName, pageKey.get());
+        }
+    }
+
+    public void save() throws IOException {
+        File manifestFile = new File(outputDirectory, MANIFEST_FILE);
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(manifestFile))) {
+            currentManifest.store(out, "Thucydides aggregate report manifest");
+        }
+    }
+
+    /**
+     * The page key is built from the outcome file digests and the tags of each test outcome on the page.
+     * Outcomes that were not loaded from a file (and so have no digest) cannot be tracked, so pages
+     * containing them are always regenerated.
+     */
+    private Optional<String> pageKeyFor(TestOutcomes testOutcomes) {
+        List<String> outcomeKeys = Lists.newArrayList();
+        for (TestOutcome outcome : testOutcomes.getOutcomes()) {
+            SortedSet<String> digests = outcomeDigests.get(outcome.getReportName());
+            if (digests.isEmpty()) {
+                return Optional.absent();
+            }
+            outcomeKeys.add(outcome.getReportName() + ":" + digests + ":" + tagsOf(outcome));
+        }
+        Collections.sort(outcomeKeys);
+
+        StringBuilder pageInputs = new StringBuilder(configurationKey);
+        for (String outcomeKey : outcomeKeys) {
+            pageInputs.append('\n').append(outcomeKey);
+        }
+        return Optional.of(DigestUtils.md5Hex(pageInputs.toString()));
+    }
+
+    private String tagsOf(TestOutcome outcome) {
+        List<String> tags = Lists.newArrayList();
+        for (TestTag tag : outcome.getTags()) {
+            tags.add(tag.getType() + "/" + tag.getName());
+        }
+        Collections.sort(tags);
+        return tags.toString();
+    }
+
+    /**
+     * The record digests of an archive are all calculated the first time one of its outcomes is recorded.
+     */
+    private String archivedDigestOf(String reportName, File archiveFile) throws IOException {
+        synchronized (archivedOutcomeDigests) {
+            Map<String, String> digests = archivedOutcomeDigests.get(archiveFile);
+            if (digests == null) {
+                digests = recordDigestsIn(archiveFile);
+                archivedOutcomeDigests.put(archiveFile, digests);
+            }
+            return digests.containsKey(reportName) ? digests.get(reportName) : digestOf(archiveFile);
+        }
+    }
+
+    private Map<String, String> recordDigestsIn(File archiveFile) throws IOException {
+        Map<String, String> digests = Maps.newHashMap();
+        Optional<OutcomeArchiveReader> archive = ArchiveTestOutcomeReporter.openArchive(archiveFile);
+        if (archive.isPresent()) {
+            try {
+                for (ArchivedOutcome archivedOutcome : OutcomeArchiveReader.latestOutcomesIn(Collections.singletonList(archive.get()))) {
+                    digests.put(archivedOutcome.getReportName(), archivedOutcome.digest());
+                }
+            } finally {
+                archive.get().close();
+            }
+        }
+        return digests;
+    }
+
+    private String digestOf(File outcomeFile) throws IOException {
+        String digest = fileDigests.get(outcomeFile);
+        if (digest == null) {
+            try (InputStream in = new BufferedInputStream(new FileInputStream(outcomeFile))) {
+                digest = DigestUtils.md5Hex(in);
+            }
+            fileDigests.putIfAbsent(outcomeFile, digest);
+        }
+        return digest;
+    }
+}
@@ -91,13 +91,12 @@ public class HtmlAcceptanceTestReporter extends HtmlReporter implements Acceptan
         addFormattersToContext(context);
         addTimestamp(testOutcome, context);
 
-        String htmlContents = mergeTemplate(DEFAULT_ACCEPTANCE_TEST_REPORT).usingContext(context);
         copyResourcesToOutputDirectory();
 
         String reportFilename = reportFor(storedTestOutcome);
         LOGGER.info("GENERATING HTML REPORT FOR " + storedTestOutcome.getCompleteName() + (qualifier != null? "/" + qualifier : "") + " => " + reportFilename);
 
-        return writeReportToOutputDirectory(reportFilename, htmlContents);
+        return mergeTemplate(DEFAULT_ACCEPTANCE_TEST_REPORT).toReport(reportFilename, context);
     }
 
     private boolean containsScreenshots(TestOutcome testOutcome) {
@@ -149,8 +148,7 @@ public class HtmlAcceptanceTestReporter extends HtmlReporter implements Acceptan
         addFormattersToContext(context);
         context.put("screenshots", screenshots);
         context.put("narrativeView", testOutcome.getReportName());
-        String htmlContents = mergeTemplate(DEFAULT_ACCEPTANCE_TEST_SCREENSHOT).usingContext(context);
-        writeReportToOutputDirectory(screenshotReport, htmlContents);
+        mergeTemplate(DEFAULT_ACCEPTANCE_TEST_SCREENSHOT).toReport(screenshotReport, context);
 
     }
 
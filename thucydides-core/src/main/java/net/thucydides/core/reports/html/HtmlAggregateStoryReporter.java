@@ -1,12 +1,14 @@
 package net.thucydides.core.reports.html;
 
 import com.beust.jcommander.internal.Lists;
+import com.google.common.base.Optional;
 import net.thucydides.core.ThucydidesSystemProperties;
 import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.issues.IssueTracking;
 import net.thucydides.core.model.NumericalFormatter;
 import net.thucydides.core.model.Release;
+import net.thucydides.core.model.TestOutcome;
 import net.thucydides.core.model.TestResult;
 import net.thucydides.core.model.TestTag;
 import net.thucydides.core.releases.ReleaseManager;
@@ -19,6 +21,7 @@ import net.thucydides.core.requirements.model.RequirementsConfiguration;
 import net.thucydides.core.requirements.reports.RequirementOutcome;
 import net.thucydides.core.requirements.reports.RequirementsOutcomes;
 import net.thucydides.core.requirements.reports.RequirmentsOutcomeFactory;
+import net.thucydides.core.screenshots.ScreenshotStore;
 import net.thucydides.core.util.EnvironmentVariables;
 import net.thucydides.core.util.Inflector;
 import net.thucydides.core.util.VersionProvider;
@@ -32,6 +35,7 @@ import java.nio.file.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Generates an aggregate acceptance test report in HTML form.
@@ -60,6 +64,7 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     private final RequirementsConfiguration requirementsConfiguration;
     private final EnvironmentVariables environmentVariables;
     private FormatConfiguration formatConfiguration;
+    private Optional<AggregateReportManifest> reportManifest = Optional.absent();
 
     public HtmlAggregateStoryReporter(final String projectName) {
         this(projectName, "");
@@ -116,12 +121,23 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     }
 
     public TestOutcomes generateReportsForTestResultsFrom(final File sourceDirectory) throws IOException {
+        if (useIncrementalReports()) {
+            reportManifest = Optional.of(AggregateReportManifest.loadFrom(getOutputDirectory()));
+        }
         TestOutcomes allTestOutcomes = loadTestOutcomesFrom(sourceDirectory);
         copyScreenshotsFrom(sourceDirectory);
         generateReportsForTestResultsIn(allTestOutcomes);
+        if (reportManifest.isPresent()) {
+            reportManifest.get().save();
+        }
         return allTestOutcomes;
     }
 
+    private boolean useIncrementalReports() {
+        return (getOutputDirectory() != null)
+                && environmentVariables.getPropertyAsBoolean(ThucydidesSystemProperty.THUCYDIDES_INCREMENTAL_REPORTS, false);
+    }
+
     private void copyScreenshotsFrom(File sourceDirectory) {
         if ((getOutputDirectory() != null) && (getOutputDirectory() != sourceDirectory)) {
             CopyOption[] options = new CopyOption[]{ StandardCopyOption.COPY_ATTRIBUTES };
@@ -130,11 +146,17 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
             Path sourcePath = Paths.get(sourceDirectory.toURI());
             try {
 
+                Optional<ScreenshotStore> screenshotStore = ScreenshotStore.configuredIn(environmentVariables);
                 DirectoryStream<Path> directoryContents = Files.newDirectoryStream(sourcePath);
                 for(Path sourceFile : directoryContents) {
                     Path destinationFile = targetPath.resolve(sourceFile.getFileName());
+                    String filename = sourceFile.getFileName().toString();
                     if (Files.notExists(destinationFile)) {
-                        Files.copy(sourceFile, destinationFile, options);
+                        if (screenshotStore.isPresent() && screenshotStore.get().contains(filename)) {
+                            screenshotStore.get().linkInto(destinationFile.toFile(), filename);
+                        } else {
+                            Files.copy(sourceFile, destinationFile, options);
+                        }
                     }
                 }
             } catch (IOException e) {
@@ -149,6 +171,10 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
         copyResourcesToOutputDirectory();
         copyTestResultsToOutputDirectory();
 
+        if (reportManifest.isPresent()) {
+            reportManifest.get().useConfigurationKey(configurationKeyFor(testOutcomes));
+        }
+
         generateAggregateReportFor(testOutcomes);
         generateTagReportsFor(testOutcomes);
         generateTagTypeReportsFor(testOutcomes);
@@ -236,11 +262,52 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     }
 
     private TestOutcomes loadTestOutcomesFrom(File sourceDirectory) throws IOException {
+        if (reportManifest.isPresent()) {
+            return loadAndRecordTestOutcomesFrom(sourceDirectory, reportManifest.get());
+        }
         return TestOutcomeLoader.loadTestOutcomes().inFormat(getFormat()).from(sourceDirectory).withHistory().withRequirementsTags();
     }
 
+    private TestOutcomes loadAndRecordTestOutcomesFrom(File sourceDirectory,
+                                                       final AggregateReportManifest manifest) throws IOException {
+        final AtomicInteger changedOutcomeFiles = new AtomicInteger();
+        TestOutcomeLoader loader = new TestOutcomeLoader(environmentVariables).forFormat(getFormat());
+        List<TestOutcome> outcomes = loader.loadFrom(sourceDirectory, new TestOutcomeLoader.OutcomeFileListener() {
+            @Override
+            public void outcomeLoadedFrom(File reportFile, TestOutcome testOutcome) throws IOException {
+                manifest.recordOutcomeFile(testOutcome, reportFile);
+                if (manifest.outcomeFileHasChanged(testOutcome, reportFile)) {
+                    changedOutcomeFiles.incrementAndGet();
+                }
+            }
+        });
+        LOGGER.info("Incremental reports: " + changedOutcomeFiles.get() + " of " + outcomes.size() + " test outcomes have changed");
+        return TestOutcomes.of(outcomes).withHistory().withRequirementsTags();
+    }
+
+    private String configurationKeyFor(TestOutcomes testOutcomes) {
+        VersionProvider versionProvider = new VersionProvider(environmentVariables);
+        return versionProvider.getVersion() + ":" + versionProvider.getBuildNumberText()
+                + ":" + testOutcomes.getTagTypes()
+                + ":" + testOutcomes.getFirstClassTagTypes()
+                + ":" + requirementsService.getRequirementTypes();
+    }
+
+    private boolean pageIsUpToDate(String report, TestOutcomes testOutcomes, String csvReport) {
+        return reportManifest.isPresent() && reportManifest.get().isUpToDate(report, testOutcomes, csvReport);
+    }
+
+    private void recordPage(String report, TestOutcomes testOutcomes) {
+        if (reportManifest.isPresent()) {
+            reportManifest.get().recordPage(report, testOutcomes);
+        }
+    }
+
     private void generateAggregateReportFor(TestOutcomes testOutcomes) throws IOException {
 
+        if (pageIsUpToDate("index.html", testOutcomes, "results.csv")) {
+            return;
+        }
         ReportNameProvider defaultNameProvider = new ReportNameProvider();
         Map<String, Object> context = buildContext(testOutcomes, defaultNameProvider, true);
         context.put("report", ReportProperties.forAggregateResultsReport());
@@ -248,6 +315,7 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
 
         generateReportPage(context, TEST_OUTCOME_TEMPLATE_PATH, "index.html");
         generateCSVReportFor(testOutcomes, "results.csv");
+        recordPage("index.html", testOutcomes);
     }
 
     private ReleaseManager releaseManager;
@@ -382,48 +450,60 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     }
 
     private void generateResultReport(TestOutcomes testOutcomes, ReportNameProvider reportName, TestTag tag, String testResult) throws IOException {
+        String csvReport = reportName.forCSVFiles().forTestResult(testResult);
+        String report = reportName.withPrefix(tag).forTestResult(testResult);
+        if (pageIsUpToDate(report, testOutcomes, csvReport)) {
+            return;
+        }
+
         Map<String, Object> context = buildContext(testOutcomes, reportName);
         context.put("report", ReportProperties.forTestResultsReport());
         context.put("currentTagType", tag.getType());
         context.put("currentTag", tag);
-
-        String csvReport = reportName.forCSVFiles().forTestResult(testResult);
         context.put("csvReport", csvReport);
-        String report = reportName.withPrefix(tag).forTestResult(testResult);
+
         generateReportPage(context, TEST_OUTCOME_TEMPLATE_PATH, report);
         generateCSVReportFor(testOutcomes, csvReport);
+        recordPage(report, testOutcomes);
     }
 
     private void generateTagReport(TestOutcomes testOutcomes, ReportNameProvider reportName, TestTag tag) throws IOException {
         TestOutcomes testOutcomesForTag = testOutcomes.withTag(tag);
+        String csvReport = reportName.forCSVFiles().forTag(tag);
+        String report = reportName.forTag(tag);
+        if (pageIsUpToDate(report, testOutcomesForTag, csvReport)) {
+            return;
+        }
+
         Map<String, Object> context = buildContext(testOutcomesForTag, reportName);
         context.put("report", ReportProperties.forTagResultsReport());
         context.put("currentTagType", tag.getType());
         context.put("currentTag", tag);
-
-        String csvReport = reportName.forCSVFiles().forTag(tag);
         context.put("csvReport", csvReport);
 
-        String report = reportName.forTag(tag);
         generateReportPage(context, TEST_OUTCOME_TEMPLATE_PATH, report);
         generateCSVReportFor(testOutcomesForTag, csvReport);
+        recordPage(report, testOutcomesForTag);
     }
 
 
     private void generateTagTypeReport(TestOutcomes testOutcomes, ReportNameProvider reportName, String tagType) throws IOException {
 
         TestOutcomes testOutcomesForTagType = testOutcomes.withTagType(tagType);
+        String csvReport = reportName.forCSVFiles().forTagType(tagType);
+        String report = reportName.forTagType(tagType);
+        if (pageIsUpToDate(report, testOutcomesForTagType, csvReport)) {
+            return;
+        }
 
         Map<String, Object> context = buildContext(testOutcomesForTagType, reportName);
         context.put("report", ReportProperties.forTagTypeResultsReport());
         context.put("tagType", tagType);
-
-        String csvReport = reportName.forCSVFiles().forTagType(tagType);
         context.put("csvReport", csvReport);
 
-        String report = reportName.forTagType(tagType);
         generateReportPage(context, TAGTYPE_TEMPLATE_PATH, report);
         generateCSVReportFor(testOutcomesForTagType, csvReport);
+        recordPage(report, testOutcomesForTagType);
     }
 
     private void generateAssociatedTagReportsForTag(TestOutcomes testOutcomes, String sourceTag) throws IOException {
@@ -471,8 +551,7 @@ public class HtmlAggregateStoryReporter extends HtmlReporter implements UserStor
     private void generateReportPage(final Map<String, Object> context,
                                     final String template,
                                     final String outputFile) throws IOException {
-        String htmlContents = mergeTemplate(template).usingContext(context);
-        writeReportToOutputDirectory(outputFile, htmlContents);
+        mergeTemplate(template).toReport(outputFile, context);
     }
 
     protected ThucydidesSystemProperties getSystemProperties() {
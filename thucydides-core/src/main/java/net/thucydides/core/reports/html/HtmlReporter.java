@@ -11,11 +11,18 @@ import net.thucydides.core.util.EnvironmentVariables;
 import org.apache.commons.io.FileUtils;
 import org.joda.time.DateTime;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileFilter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Map;
 
 /**
@@ -33,6 +40,9 @@ public abstract class HtmlReporter extends ThucydidesReporter {
 
     protected static final String TIMESTAMP_FORMAT = "dd-MM-YYYY HH:mm";
 
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int REPORT_BUFFER_SIZE = 64 * 1024;
+
     public HtmlReporter() {
         this(Injectors.getInjector().getProvider(EnvironmentVariables.class).get() );
     }
@@ -115,10 +125,14 @@ public abstract class HtmlReporter extends ThucydidesReporter {
     protected File writeReportToOutputDirectory(final String reportFilename, final String htmlContents) throws
             IOException {
         File report = new File(getOutputDirectory(), reportFilename);
-        FileUtils.writeStringToFile(report, htmlContents, Charset.forName("UTF-8"));
+        FileUtils.writeStringToFile(report, htmlContents, UTF_8);
         return report;
     }
 
+    private Writer reportWriterFor(final File report) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(new FileOutputStream(report), UTF_8), REPORT_BUFFER_SIZE);
+    }
+
     protected String timestampFrom(TestOutcomes rootOutcomes) {
         return timestampFrom(currentTime());
     }
@@ -147,11 +161,35 @@ public abstract class HtmlReporter extends ThucydidesReporter {
         }
 
         public String usingContext(final Map<String, Object> context) {
+            StringWriter sw = new StringWriter();
+            mergeInto(sw, context);
+            return sw.toString();
+        }
+
+        /**
+         * Merge the template into a report file in the output directory, without building the whole page
+         * in memory first. The page is written to a temporary file that is then moved into place, so that a
+         * failed merge never leaves a partly written page, or replaces the page from an earlier run.
+         */
+        public File toReport(final String reportFilename, final Map<String, Object> context) throws IOException {
+            File report = new File(getOutputDirectory(), reportFilename);
+            FileUtils.forceMkdir(report.getParentFile());
+            Path temporaryFile = Files.createTempFile(report.getParentFile().toPath(), report.getName(), ".tmp");
+            try {
+                try (Writer writer = reportWriterFor(temporaryFile.toFile())) {
+                    mergeInto(writer, context);
+                }
+                Files.move(temporaryFile, report.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryFile);
+            }
+            return report;
+        }
+
+        private void mergeInto(final Writer writer, final Map<String, Object> context) {
             try {
                 ReportTemplate template = getTemplateManager().getTemplateFrom(templateFile);
-                StringWriter sw = new StringWriter();
-                template.merge(context, sw);
-                return sw.toString();
+                template.merge(context, writer);
             } catch (Exception e) {
                 throw new RuntimeException("Failed to merge template: " + e.getMessage(), e);
             }
@@ -70,10 +70,9 @@ public class HtmlRequirementsReporter extends HtmlReporter {
 
         addFormattersToContext(context);
 
-        String htmlContents = mergeTemplate(DEFAULT_REQUIREMENTS_REPORT).usingContext(context);
         copyResourcesToOutputDirectory();
 
-        return writeReportToOutputDirectory(filename, htmlContents);
+        return mergeTemplate(DEFAULT_REQUIREMENTS_REPORT).toReport(filename, context);
     }
 
     private void addFormattersToContext(final Map<String, Object> context) {
@@ -17,7 +17,7 @@ import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_EMPTY;
         "flattenedTestSteps", "leafTestSteps", "formattedIssues", "issueKeys",
         "success","error","failure","pending","skipped",
         "path","pathId","storyTitle",
-        "durationInSeconds", "videoLinks", "implementedTestCount", "exampleFields", "dataDrivenSampleScenario"})
+        "durationInSeconds", "videoLinks", "implementedTestCount", "exampleFields", "dataDrivenSampleScenario", "frozen"})
 @JsonInclude(NON_EMPTY)
 public abstract class JSONTestOutcomeMixin {
     public JSONTestOutcomeMixin(@JsonProperty("name") String methodName) {
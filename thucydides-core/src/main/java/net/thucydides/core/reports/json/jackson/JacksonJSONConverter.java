@@ -22,24 +22,35 @@ public class JacksonJSONConverter implements JSONConverter {
     private final ObjectReader reader;
     private final ObjectWriter writer;
     private final EnvironmentVariables environmentVariables;
-    private final Validator validator;
 
     @Inject
     public JacksonJSONConverter(EnvironmentVariables environmentVariables) {
         this.environmentVariables = environmentVariables;
-        mapper = new ObjectMapper();
-        mapper.registerModule(new JodaModule());
-        mapper.registerModule(new GuavaModule());
-        mapper.registerModule(new TestOutcomeModule());
-        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
-        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper = testOutcomeMapper();
 
         reader = mapper.reader(TestOutcome.class);
         writer = mapper.writerWithType(TestOutcome.class);
+    }
 
-        ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
-        validator = factory.getValidator();
+    /**
+     * Building a validator factory is expensive, so it is only done the first time an outcome needs validating,
+     * and the validator is shared by all converters.
+     */
+    private static class OutcomeValidator {
+        private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+    }
 
+    /**
+     * An object mapper that knows how to map test outcomes, so that other stored formats can share the JSON mapping.
+     */
+    public static ObjectMapper testOutcomeMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JodaModule());
+        mapper.registerModule(new GuavaModule());
+        mapper.registerModule(new TestOutcomeModule());
+        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return mapper;
     }
 
     /**
@@ -52,12 +63,14 @@ public class JacksonJSONConverter implements JSONConverter {
     @Override
     public TestOutcome fromJson(InputStream inputStream) throws IOException {
         TestOutcome outcome = reader.readValue(inputStream);
-        checkConstraints(outcome);
+        if (validateOutcomes()) {
+            checkConstraints(outcome);
+        }
         return outcome;
     }
 
     private void checkConstraints(TestOutcome outcome) {
-        Set<ConstraintViolation<TestOutcome>> violations = validator.validate(outcome);
+        Set<ConstraintViolation<TestOutcome>> violations = OutcomeValidator.VALIDATOR.validate(outcome);
         if (!violations.isEmpty()) {
             throw new ValidationException(Arrays.toString(violations.toArray()));
         }
@@ -72,6 +85,10 @@ public class JacksonJSONConverter implements JSONConverter {
         }
     }
 
+    private boolean validateOutcomes() {
+        return environmentVariables.getPropertyAsBoolean(ThucydidesSystemProperty.JSON_OUTCOME_VALIDATION, true);
+    }
+
     private boolean usePrettyPrinting() {
         return environmentVariables.getPropertyAsBoolean(ThucydidesSystemProperty.JSON_PRETTY_PRINTING, false);
     }
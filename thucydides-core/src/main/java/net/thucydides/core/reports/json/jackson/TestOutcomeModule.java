@@ -1,6 +1,7 @@
 package net.thucydides.core.reports.json.jackson;
 
 import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.module.SimpleDeserializers;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import net.thucydides.core.model.*;
 import net.thucydides.core.model.features.ApplicationFeature;
@@ -31,6 +32,8 @@ public class TestOutcomeModule extends SimpleModule {
         context.setMixInAnnotations(Throwable.class, JSONThrowableMixin.class);
         context.setMixInAnnotations(FailureCause.class, JSONFailureCauseMixin.class);
 
-
+        SimpleDeserializers deserializers = new SimpleDeserializers();
+        deserializers.addDeserializer(TestStep.class, new TestStepDeserializer());
+        context.addDeserializers(deserializers);
     }
 }
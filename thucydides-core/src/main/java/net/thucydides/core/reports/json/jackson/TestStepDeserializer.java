@@ -0,0 +1,101 @@
+package net.thucydides.core.reports.json.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.model.FailureCause;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.model.TestStep;
+import net.thucydides.core.pages.SystemClock;
+import net.thucydides.core.screenshots.ScreenshotAndHtmlSource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads test steps directly from the JSON token stream.
+ * Test steps make up most of a stored test outcome, and reading them field by field avoids the reflective
+ * bean mapping, and the system clock lookup in the TestStep constructor, for every step.
+ * Screenshots and failure causes are still read using the mapper's own deserializers.
+ */
+public class TestStepDeserializer extends StdDeserializer<TestStep> implements ResolvableDeserializer {
+
+    private JsonDeserializer<Object> screenshotDeserializer;
+    private JsonDeserializer<Object> failureCauseDeserializer;
+
+    public TestStepDeserializer() {
+        super(TestStep.class);
+    }
+
+    @Override
+    public void resolve(DeserializationContext context) throws JsonMappingException {
+        screenshotDeserializer = context.findRootValueDeserializer(context.constructType(ScreenshotAndHtmlSource.class));
+        failureCauseDeserializer = context.findRootValueDeserializer(context.constructType(FailureCause.class));
+    }
+
+    @Override
+    public TestStep deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.START_OBJECT) {
+            parser.nextToken();
+        }
+        int number = 0;
+        String description = null;
+        Long startTime = null;
+        long duration = 0;
+        TestResult result = null;
+        FailureCause exception = null;
+        List<ScreenshotAndHtmlSource> screenshots = new ArrayList<>();
+        List<TestStep> children = new ArrayList<>();
+
+        for (; parser.getCurrentToken() == JsonToken.FIELD_NAME; parser.nextToken()) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "number": number = parser.getIntValue(); break;
+                case "description": description = parser.getText(); break;
+                case "startTime": startTime = parser.getLongValue(); break;
+                case "duration": duration = parser.getLongValue(); break;
+                case "result": result = testResultFrom(parser, context); break;
+                case "exception": exception = (FailureCause) failureCauseDeserializer.deserialize(parser, context); break;
+                case "screenshots":
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        screenshots.add((ScreenshotAndHtmlSource) screenshotDeserializer.deserialize(parser, context));
+                    }
+                    break;
+                case "children":
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        children.add(deserialize(parser, context));
+                    }
+                    break;
+                default: parser.skipChildren();
+            }
+        }
+        if (parser.getCurrentToken() != JsonToken.END_OBJECT) {
+            throw context.wrongTokenException(parser, JsonToken.END_OBJECT, "Expected the end of a test step");
+        }
+        return TestStep.restoredStep(number, description, (startTime != null) ? startTime : now(), duration,
+                                     result, exception, screenshots, children);
+    }
+
+    private TestResult testResultFrom(JsonParser parser, DeserializationContext context) throws IOException {
+        String value = parser.getText();
+        try {
+            return TestResult.valueOf(value);
+        } catch (IllegalArgumentException unknownResult) {
+            throw context.weirdStringException(value, TestResult.class, "not a test result");
+        }
+    }
+
+    private long now() {
+        return Injectors.getInjector().getInstance(SystemClock.class).getCurrentTime().getMillis();
+    }
+}
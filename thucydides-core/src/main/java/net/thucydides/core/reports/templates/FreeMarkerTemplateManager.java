@@ -1,25 +1,77 @@
 package net.thucydides.core.reports.templates;
 
+import com.google.common.collect.ImmutableList;
+import freemarker.core.Environment;
 import freemarker.template.Configuration;
 import freemarker.template.DefaultObjectWrapper;
+import freemarker.template.TemplateException;
+import freemarker.template.TemplateExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
- * Manages velocity templates.
- *
+ * Manages FreeMarker templates.
+ * Each template is parsed once and then shared by all the reporters, which may merge it from several threads.
+ * The standard report templates are parsed up front, so that the first reports do not pay for it.
+ * Errors in the data merged into a template that is known to work are logged, and the rest of the report
+ * is still written.
  */
 public class FreeMarkerTemplateManager implements TemplateManager {
 
+    private static final List<String> REPORT_TEMPLATES = ImmutableList.of(
+            "freemarker/default.ftl",
+            "freemarker/screenshots.ftl",
+            "freemarker/home.ftl",
+            "freemarker/history.ftl",
+            "freemarker/releases.ftl",
+            "freemarker/release.ftl",
+            "freemarker/results-by-tagtype.ftl",
+            "freemarker/requirement-type.ftl",
+            "freemarker/requirements.ftl");
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FreeMarkerTemplateManager.class);
+
     Configuration cfg;
 
+    private final ConcurrentMap<String, ReportTemplate> templates = new ConcurrentHashMap<String, ReportTemplate>();
+
     public FreeMarkerTemplateManager() throws Exception {
         cfg = new Configuration();
         cfg.setNumberFormat("0.######");
         cfg.setClassForTemplateLoading(getClass(), "/");
         cfg.setObjectWrapper(new DefaultObjectWrapper());
+        cfg.setTemplateExceptionHandler(new LoggingTemplateExceptionHandler());
+        preloadTemplates(REPORT_TEMPLATES);
     }
 
     public ReportTemplate getTemplateFrom(final String template) throws Exception {
-        return new FreemarkerReportTemplate(cfg, template);
+        ReportTemplate reportTemplate = templates.get(template);
+        if (reportTemplate == null) {
+            templates.putIfAbsent(template, new FreemarkerReportTemplate(cfg, template));
+            reportTemplate = templates.get(template);
+        }
+        return reportTemplate;
     }
 
+    private static class LoggingTemplateExceptionHandler implements TemplateExceptionHandler {
+        @Override
+        public void handleTemplateException(TemplateException templateException, Environment env, Writer out) {
+            LOGGER.error("Error in report template: {}\n{}", templateException.getMessage(), templateException.getFTLInstructionStack());
+        }
+    }
+
+    private void preloadTemplates(List<String> templateFiles) {
+        for (String templateFile : templateFiles) {
+            try {
+                getTemplateFrom(templateFile);
+            } catch (Exception e) {
+                LOGGER.debug("Could not preload report template {}: {}", templateFile, e.getMessage());
+            }
+        }
+    }
 }
@@ -10,7 +10,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Map;
 
@@ -18,6 +17,8 @@ public class FreemarkerReportTemplate implements ReportTemplate {
 
     private final Template template;
 
+    private volatile boolean mergedSuccessfully = false;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(FreemarkerReportTemplate.class);
 
     public FreemarkerReportTemplate(final Configuration configuration, final String templateFile) throws IOException, TemplateMergeException {
@@ -28,15 +29,21 @@ public class FreemarkerReportTemplate implements ReportTemplate {
         }
     }
 
-    public void merge(Map<String, Object> context, StringWriter writer) throws TemplateMergeException {
+    /**
+     * Parsed templates are immutable once loaded, so the same template can be merged by several threads at once.
+     * Until the template has been merged successfully, any error fails the merge. After that, errors are
+     * handled by the exception handler of the template configuration.
+     */
+    public void merge(Map<String, Object> context, Writer writer) throws TemplateMergeException {
         try {
-            template.process(context, writer);
-            template.setTemplateExceptionHandler(new TemplateExceptionHandler() {
-                @Override
-                public void handleTemplateException(TemplateException te, Environment env, Writer out) throws TemplateException {
-                    te.printStackTrace();
-                }
-            });
+            if (mergedSuccessfully) {
+                template.process(context, writer);
+            } else {
+                Environment environment = template.createProcessingEnvironment(context, writer);
+                environment.setTemplateExceptionHandler(TemplateExceptionHandler.RETHROW_HANDLER);
+                environment.process();
+                mergedSuccessfully = true;
+            }
         } catch (TemplateException templateException) {
             LOGGER.error("Syntax error in report template: {}\n{}", templateException.getMessage(), templateException.getFTLInstructionStack());
             throw new TemplateMergeException("Failed to process FreeMarker template", templateException);
@@ -4,6 +4,9 @@ import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.thoughtworks.xstream.XStream;
+import com.thoughtworks.xstream.XStreamException;
+import com.thoughtworks.xstream.io.xml.PrettyPrintWriter;
+import com.thoughtworks.xstream.io.xml.StaxDriver;
 import com.thoughtworks.xstream.mapper.CannotResolveClassException;
 import net.thucydides.core.model.TestOutcome;
 import net.thucydides.core.reports.AcceptanceTestLoader;
@@ -13,6 +16,7 @@ import net.thucydides.core.reports.TestOutcomes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.xml.stream.XMLInputFactory;
 import java.io.*;
 import java.nio.charset.Charset;
 import java.util.List;
@@ -30,6 +34,23 @@ public class XMLTestOutcomeReporter implements AcceptanceTestReporter, Acceptanc
 
     private static final Logger LOGGER = LoggerFactory.getLogger(XMLTestOutcomeReporter.class);
 
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * Setting up XStream is expensive, so the same configured instance is used to read and write all the reports.
+     * XStream instances can be shared between threads once they have been configured.
+     * Reports are read with a StAX pull parser, whose parser factory is created once rather than for every file,
+     * and written with the same indented layout as before.
+     */
+    private static final XStream XSTREAM = configuredXStream();
+
+    private static XStream configuredXStream() {
+        XStream xstream = new XStream(new NoExternalEntitiesStaxDriver());
+        xstream.alias("acceptance-test-run", TestOutcome.class);
+        xstream.registerConverter(new TestOutcomeConverter());
+        return xstream;
+    }
+
     private transient String qualifier;
 
     public void setQualifier(final String qualifier) {
@@ -57,61 +78,47 @@ public class XMLTestOutcomeReporter implements AcceptanceTestReporter, Acceptanc
     public File generateReportFor(final TestOutcome testOutcome, final TestOutcomes allTestOutcomes) throws IOException {
         TestOutcome storedTestOutcome = testOutcome.withQualifier(qualifier);
         Preconditions.checkNotNull(outputDirectory);
-        XStream xstream = new XStream();
-        xstream.alias("acceptance-test-run", TestOutcome.class);
-        xstream.registerConverter(usingXmlConverter());
 
         String reportFilename = reportFor(storedTestOutcome);
 
-        OutputStream outputStream = null;
-        OutputStreamWriter writer = null;
         File report = new File(getOutputDirectory(), reportFilename);
 
         LOGGER.info("Generating XML report for {} to file {}", testOutcome.getTitle(), report.getAbsolutePath());
 
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(report), UTF_8));
         try {
-            outputStream = new FileOutputStream(report);
-            writer = new OutputStreamWriter(outputStream, Charset.forName("UTF-8"));
-            xstream.toXML(storedTestOutcome, writer);
+            XSTREAM.marshal(storedTestOutcome, new PrettyPrintWriter(writer));
+            writer.flush();
             LOGGER.info("XML report generated ({} bytes) {}",report.getAbsolutePath(),report.length());
-        } catch(IOException failedToWriteReport) {
-            throw failedToWriteReport;
         } finally {
-            writer.flush();
             writer.close();
-            outputStream.close();
         }
         return report;
     }
 
-    private TestOutcomeConverter usingXmlConverter() {
-        return new TestOutcomeConverter();
-    }
-
     private String reportFor(final TestOutcome testOutcome) {
         return testOutcome.withQualifier(qualifier).getReportName(XML);
     }
 
     public Optional<TestOutcome> loadReportFrom(final File reportFile) {
-        InputStream input = null;
-        InputStreamReader reader = null;
+        Reader reader = null;
         try {
-            XStream xstream = new XStream();
-            xstream.alias("acceptance-test-run", TestOutcome.class);
-            xstream.registerConverter(usingXmlConverter());
-            input = new FileInputStream(reportFile);
-            reader = new InputStreamReader(input, Charset.forName("UTF-8"));
-            return Optional.of((TestOutcome) xstream.fromXML(reader));
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(reportFile), UTF_8));
+            return Optional.of((TestOutcome) XSTREAM.fromXML(reader));
         } catch (CannotResolveClassException e) {
             LOGGER.warn("Tried to load a file that is not a thucydides report: " + reportFile);
             return Optional.absent();
         } catch (FileNotFoundException e) {
             LOGGER.warn("Tried to load a file that is not a thucydides report: " + reportFile);
             return Optional.absent();
+        } catch (XStreamException e) {
+            LOGGER.warn("Could not read the XML report " + reportFile + ": " + e.getMessage());
+            return Optional.absent();
         } finally {
             try {
-                reader.close();
-                input.close();
+                if (reader != null) {
+                    reader.close();
+                }
             } catch (IOException ignored) {}
         }
     }
@@ -139,6 +146,20 @@ public class XMLTestOutcomeReporter implements AcceptanceTestReporter, Acceptanc
         return reportsDirectory.listFiles(new XmlFilenameFilter());
     }
 
+    /**
+     * The StAX parser resolves DTDs and external entities by default, which would let an outcome file
+     * read other files on the machine, or fetch remote URLs, when the reports are loaded.
+     */
+    private static final class NoExternalEntitiesStaxDriver extends StaxDriver {
+        @Override
+        protected XMLInputFactory createInputFactory() {
+            XMLInputFactory inputFactory = super.createInputFactory();
+            inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            return inputFactory;
+        }
+    }
+
     private static final class XmlFilenameFilter implements FilenameFilter {
         public boolean accept(final File file, final String filename) {
             return filename.toLowerCase(Locale.getDefault()).endsWith(".xml");
@@ -0,0 +1,48 @@
+package net.thucydides.core.scheduling;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Clock;
+import org.openqa.selenium.support.ui.Duration;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.SystemClock;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * A wait that checks its condition again as soon as the page changes, and at least once every polling interval.
+ * For drivers that cannot report page changes, it polls instead, starting with short pauses that double
+ * each time up to the polling interval, so conditions that are met quickly are noticed quickly.
+ */
+public class DomChangeFluentWait extends ThucydidesFluentWait<WebDriver> {
+
+    private static final long INITIAL_POLLING_INTERVAL_IN_MILLIS = 10;
+
+    private final DomChangeWatcher domChangeWatcher;
+    private long nextPollingInterval = INITIAL_POLLING_INTERVAL_IN_MILLIS;
+
+    public DomChangeFluentWait(WebDriver driver) {
+        this(driver, new SystemClock(), Sleeper.SYSTEM_SLEEPER);
+    }
+
+    public DomChangeFluentWait(WebDriver driver, Clock clock, Sleeper sleeper) {
+        this(driver, clock, sleeper, new DomChangeWatcher(driver));
+    }
+
+    protected DomChangeFluentWait(WebDriver driver, Clock clock, Sleeper sleeper, DomChangeWatcher domChangeWatcher) {
+        super(driver, clock, sleeper);
+        this.domChangeWatcher = domChangeWatcher;
+    }
+
+    @Override
+    public void doWait() throws InterruptedException {
+        if (!domChangeWatcher.waitForNextChange(interval.in(MILLISECONDS))) {
+            getSleeper().sleep(new Duration(nextPollingInterval(), MILLISECONDS));
+        }
+    }
+
+    private long nextPollingInterval() {
+        long pollingInterval = Math.min(nextPollingInterval, interval.in(MILLISECONDS));
+        nextPollingInterval = pollingInterval * 2;
+        return pollingInterval;
+    }
+}
@@ -0,0 +1,169 @@
+package net.thucydides.core.scheduling;
+
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.util.EnvironmentVariables;
+import net.thucydides.core.webdriver.javascript.JavascriptExecutorFacade;
+import org.apache.commons.lang3.StringUtils;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static net.thucydides.core.webdriver.javascript.JavascriptSupport.javascriptIsSupportedIn;
+
+/**
+ * Blocks until the page in the browser changes, using a MutationObserver installed by an asynchronous script.
+ * This lets a wait check its condition again as soon as something happens on the page,
+ * rather than after a fixed polling interval.
+ * If the browser cannot run asynchronous scripts or has no MutationObserver, waitForNextChange() returns false
+ * straight away, and from then on the caller is expected to fall back to ordinary polling.
+ * Other errors, such as the page being unloaded while the script runs, are treated as a page change.
+ * What the watcher learns about a driver is kept for that driver, so the watchers created for each
+ * element lookup or wait do not have to find it out again.
+ */
+public class DomChangeWatcher {
+
+    private static final String WAIT_FOR_NEXT_CHANGE =
+            "var callback = arguments[arguments.length - 1];" +
+            "if (!window.MutationObserver || !document.documentElement) { callback('unsupported'); return; }" +
+            "var minimumWait = arguments[1], started = new Date().getTime();" +
+            "var finished = false, timer, observer;" +
+            "var finish = function(result) {" +
+            "  if (finished) { return; }" +
+            "  finished = true; observer.disconnect(); clearTimeout(timer); callback(result);" +
+            "};" +
+            "observer = new MutationObserver(function() {" +
+            "  var remainingWait = minimumWait - (new Date().getTime() - started);" +
+            "  if (remainingWait <= 0) { finish('changed'); return; }" +
+            "  observer.disconnect(); clearTimeout(timer);" +
+            "  timer = setTimeout(function() { finish('changed'); }, remainingWait);" +
+            "});" +
+            "observer.observe(document.documentElement," +
+            "                 {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "timer = setTimeout(function() { finish('timeout'); }, arguments[0]);";
+
+    private static final long SCRIPT_TIMEOUT_MARGIN_IN_MILLIS = 1000;
+
+    /**
+     * Pages that change continuously, such as pages with animations or clocks, would otherwise have
+     * the wait condition checked again as fast as the browser can report the changes.
+     */
+    private static final long MINIMUM_INTERVAL_BETWEEN_CHECKS_IN_MILLIS = 50;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DomChangeWatcher.class);
+
+    private static final Map<WebDriver, DriverState> DRIVER_STATES
+            = Collections.synchronizedMap(new WeakHashMap<WebDriver, DriverState>());
+
+    private final WebDriver driver;
+    private final JavascriptExecutorFacade javascriptExecutorFacade;
+    private final DriverState driverState;
+
+    public DomChangeWatcher(WebDriver driver) {
+        this(driver, Injectors.getInjector().getProvider(EnvironmentVariables.class).get());
+    }
+
+    public DomChangeWatcher(WebDriver driver, EnvironmentVariables environmentVariables) {
+        this.driver = driver;
+        this.javascriptExecutorFacade = new JavascriptExecutorFacade(driver);
+        this.driverState = driverStateFor(driver, environmentVariables);
+    }
+
+    private static DriverState driverStateFor(WebDriver driver, EnvironmentVariables environmentVariables) {
+        synchronized (DRIVER_STATES) {
+            DriverState driverState = DRIVER_STATES.get(driver);
+            if (driverState == null) {
+                driverState = new DriverState(configuredScriptTimeoutIn(environmentVariables));
+                DRIVER_STATES.put(driver, driverState);
+            }
+            return driverState;
+        }
+    }
+
+    private static long configuredScriptTimeoutIn(EnvironmentVariables environmentVariables) {
+        return environmentVariables.getPropertyAsInteger(ThucydidesSystemProperty.WEBDRIVER_TIMEOUTS_SCRIPT
+                                                                                 .getPropertyName(), 0);
+    }
+
+    public boolean isSupported() {
+        return driverState.supported;
+    }
+
+    /**
+     * Wait until the page changes, or until the maximum wait has passed.
+     * Changes made less than 50 ms after the wait started are only reported once those 50 ms have passed.
+     *
+     * @return false if the browser cannot report page changes, in which case the method returns immediately.
+     *         Errors that do not show that the browser cannot report page changes count as a change.
+     */
+    public boolean waitForNextChange(long maxWaitInMillis) {
+        if (!driverState.supported) {
+            return false;
+        }
+        if (!javascriptIsSupportedIn(driver)) {
+            noLongerSupported("the driver cannot run Javascript");
+            return false;
+        }
+        try {
+            allowScriptsToRunFor(maxWaitInMillis);
+            long minimumWaitInMillis = Math.min(MINIMUM_INTERVAL_BETWEEN_CHECKS_IN_MILLIS, maxWaitInMillis);
+            Object result = javascriptExecutorFacade.executeAsyncScript(WAIT_FOR_NEXT_CHANGE,
+                                                                        maxWaitInMillis, minimumWaitInMillis);
+            if ((result == null) || "unsupported".equals(result)) {
+                noLongerSupported("the browser does not support MutationObservers");
+            }
+        } catch (UnsupportedCommandException e) {
+            noLongerSupported(e.getMessage());
+        } catch (WebDriverException e) {
+            if (javascriptIsDisabledAccordingTo(e)) {
+                noLongerSupported(e.getMessage());
+            } else {
+                LOGGER.debug("Stopped waiting for page changes, as the page may have changed: {}", e.getMessage());
+            }
+        }
+        return driverState.supported;
+    }
+
+    private boolean javascriptIsDisabledAccordingTo(WebDriverException e) {
+        return StringUtils.containsIgnoreCase(e.getMessage(), "javascript is not enabled")
+               || StringUtils.containsIgnoreCase(e.getMessage(), "javascript is disabled");
+    }
+
+    /**
+     * Asynchronous scripts time out after 0 ms in most drivers unless told otherwise.
+     * WebDriver cannot report the current script timeout, so it cannot be put back after each wait.
+     * Instead, the timeout set for each driver is remembered, and it is only changed again when a longer
+     * wait is needed. The remembered timeout starts from the configured script timeout, so it is never lowered
+     * below what the tests themselves expect. Asynchronous scripts run by the tests are allowed at least this long.
+     */
+    private void allowScriptsToRunFor(long maxWaitInMillis) {
+        long requiredScriptTimeout = maxWaitInMillis + SCRIPT_TIMEOUT_MARGIN_IN_MILLIS;
+        synchronized (driverState) {
+            if (driverState.scriptTimeoutInMillis < requiredScriptTimeout) {
+                driver.manage().timeouts().setScriptTimeout(requiredScriptTimeout, TimeUnit.MILLISECONDS);
+                driverState.scriptTimeoutInMillis = requiredScriptTimeout;
+            }
+        }
+    }
+
+    private void noLongerSupported(String reason) {
+        LOGGER.debug("Could not wait for page changes, polling instead: {}", reason);
+        driverState.supported = false;
+    }
+
+    private static class DriverState {
+        private volatile boolean supported = true;
+        private long scriptTimeoutInMillis;
+
+        private DriverState(long configuredScriptTimeoutInMillis) {
+            this.scriptTimeoutInMillis = configuredScriptTimeoutInMillis;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package net.thucydides.core.scheduling;
+
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.Clock;
+import org.openqa.selenium.support.ui.Sleeper;
+
+/**
+ * How waits check whether the condition they are waiting for has been met,
+ * as defined by the thucydides.wait.strategy property.
+ */
+public enum WaitStrategy {
+
+    /**
+     * Check the condition at fixed intervals.
+     */
+    POLLING {
+        @Override
+        public ThucydidesFluentWait<WebDriver> newWait(WebDriver driver, Clock clock, Sleeper sleeper) {
+            return new NormalFluentWait<>(driver, clock, sleeper);
+        }
+    },
+
+    /**
+     * Check the condition whenever the page changes.
+     */
+    DOM_CHANGES {
+        @Override
+        public ThucydidesFluentWait<WebDriver> newWait(WebDriver driver, Clock clock, Sleeper sleeper) {
+            return new DomChangeFluentWait(driver, clock, sleeper);
+        }
+    };
+
+    public abstract ThucydidesFluentWait<WebDriver> newWait(WebDriver driver, Clock clock, Sleeper sleeper);
+
+    public static WaitStrategy configuredIn(EnvironmentVariables environmentVariables) {
+        String waitStrategy = ThucydidesSystemProperty.THUCYDIDES_WAIT_STRATEGY.from(environmentVariables,
+                                                                                   POLLING.name());
+        try {
+            return valueOf(waitStrategy.trim().toUpperCase().replace('-', '_'));
+        } catch (IllegalArgumentException unknownStrategy) {
+            return POLLING;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package net.thucydides.core.screenshots;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.inject.Inject;
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.util.EnvironmentVariables;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Saves and resizes screenshots on a pool of worker threads.
+ * The screenshot queue is bounded: when it is full, the thread taking the screenshot waits for a free slot,
+ * so that a burst of screenshots from many browsers cannot fill up the memory or the temporary directory.
+ * Screenshots queued after the processor has been terminated are saved in the calling thread.
+ */
+public class MultithreadScreenshotProcessor implements ScreenshotProcessor {
+
+    protected static final int DEFAULT_QUEUE_SIZE = 64;
+    private static final int MAXIMUM_DEFAULT_THREADS = 4;
+
+    private final QueuedScreenshotWriter screenshotWriter;
+    private final ExecutorService screenshotExecutor;
+    private final Semaphore queueSlots;
+    private final int queueSize;
+    private final ScreenshotProcessingMetrics metrics = new ScreenshotProcessingMetrics();
+
+    private final Lock pendingScreenshotLock = new ReentrantLock();
+    private final Condition noPendingScreenshots = pendingScreenshotLock.newCondition();
+    private int pendingScreenshots = 0;
+
+    private volatile boolean terminated = false;
+
+    @Inject
+    public MultithreadScreenshotProcessor(EnvironmentVariables environmentVariables) {
+        this(environmentVariables,
+             environmentVariables.getPropertyAsInteger(ThucydidesSystemProperty.THUCYDIDES_SCREENSHOT_THREADS,
+                                                       defaultThreadCount()),
+             environmentVariables.getPropertyAsInteger(ThucydidesSystemProperty.THUCYDIDES_SCREENSHOT_QUEUE_SIZE,
+                                                       DEFAULT_QUEUE_SIZE));
+    }
+
+    protected MultithreadScreenshotProcessor(EnvironmentVariables environmentVariables, int threadCount, int queueSize) {
+        this.screenshotWriter = new QueuedScreenshotWriter(environmentVariables);
+        this.queueSize = Math.max(1, queueSize);
+        this.queueSlots = new Semaphore(this.queueSize);
+        this.screenshotExecutor = Executors.newFixedThreadPool(Math.max(1, threadCount),
+                                                               new ThreadFactoryBuilder().setDaemon(true)
+                                                                                         .setNameFormat("thucydides-screenshots-%d")
+                                                                                         .build());
+    }
+
+    private static int defaultThreadCount() {
+        return Math.min(MAXIMUM_DEFAULT_THREADS, Runtime.getRuntime().availableProcessors());
+    }
+
+    public void queueScreenshot(final QueuedScreenshot queuedScreenshot) {
+        screenshotQueued();
+        if (terminated) {
+            process(queuedScreenshot);
+            return;
+        }
+        queueSlots.acquireUninterruptibly();
+        metrics.recordQueueDepth(getQueueDepth());
+        try {
+            screenshotExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        process(queuedScreenshot);
+                    } finally {
+                        queueSlots.release();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException terminatedInTheMeantime) {
+            queueSlots.release();
+            process(queuedScreenshot);
+        }
+    }
+
+    private void process(QueuedScreenshot queuedScreenshot) {
+        long startTime = System.currentTimeMillis();
+        try {
+            if (screenshotWriter.save(queuedScreenshot)) {
+                metrics.recordProcessedScreenshot(System.currentTimeMillis() - startTime);
+            } else {
+                metrics.recordDroppedScreenshot();
+            }
+        } finally {
+            screenshotProcessed();
+        }
+    }
+
+    private void screenshotQueued() {
+        pendingScreenshotLock.lock();
+        try {
+            pendingScreenshots++;
+        } finally {
+            pendingScreenshotLock.unlock();
+        }
+    }
+
+    private void screenshotProcessed() {
+        pendingScreenshotLock.lock();
+        try {
+            pendingScreenshots--;
+            if (pendingScreenshots == 0) {
+                noPendingScreenshots.signalAll();
+            }
+        } finally {
+            pendingScreenshotLock.unlock();
+        }
+    }
+
+    /**
+     * Wait until every screenshot queued so far has been saved.
+     */
+    public void waitUntilDone() {
+        pendingScreenshotLock.lock();
+        try {
+            while (pendingScreenshots > 0) {
+                noPendingScreenshots.awaitUninterruptibly();
+            }
+        } finally {
+            pendingScreenshotLock.unlock();
+        }
+    }
+
+    public void terminate() {
+        terminated = true;
+        screenshotExecutor.shutdown();
+    }
+
+    public boolean isEmpty() {
+        pendingScreenshotLock.lock();
+        try {
+            return pendingScreenshots == 0;
+        } finally {
+            pendingScreenshotLock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of screenshots waiting for, or being processed by, a screenshot thread.
+     */
+    public int getQueueDepth() {
+        return queueSize - queueSlots.availablePermits();
+    }
+
+    public ScreenshotProcessingMetrics getMetrics() {
+        return metrics;
+    }
+}
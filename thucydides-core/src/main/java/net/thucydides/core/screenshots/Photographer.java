@@ -7,6 +7,7 @@ import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.util.EnvironmentVariables;
 import net.thucydides.core.webdriver.ProvidedDriverConfiguration;
 import net.thucydides.core.webdriver.WebDriverFacade;
+import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
@@ -17,11 +18,11 @@ import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 import java.awt.image.ColorModel;
 import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Path;
 
 /**
  * The photographer takes and stores screenshots during the test.
@@ -40,6 +41,8 @@ public class Photographer {
     private final Logger logger = LoggerFactory.getLogger(Photographer.class);
     private ScreenshotProcessor screenshotProcessor;
     private EnvironmentVariables environmentVariables;
+    private Optional<SimilarScreenshotFilter> similarScreenshotFilter = Optional.absent();
+    private boolean reusedSimilarScreenshot = false;
 
     protected Logger getLogger() {
         return logger;
@@ -85,26 +88,43 @@ public class Photographer {
         return blurLevel;
     }
 
+    /**
+     * Screenshots that look the same as the previous one, according to this filter,
+     * are not saved again: the previous screenshot file is returned instead.
+     */
+    public Photographer withSimilarScreenshotFilter(SimilarScreenshotFilter similarScreenshotFilter) {
+        this.similarScreenshotFilter = Optional.fromNullable(similarScreenshotFilter);
+        return this;
+    }
+
+    /**
+     * @return true if the last screenshot looked the same as a previous one, and the previous screenshot file was returned.
+     */
+    public boolean reusedSimilarScreenshot() {
+        return reusedSimilarScreenshot;
+    }
+
     /**
      * Take a screenshot of the current browser and store it in the output directory.
+     * The screenshot is read into memory once: the digest, the blurring and the final write
+     * in the screenshot processor all work from the same bytes.
      */
     public Optional<File> takeScreenshot() {
         if (driver != null && driverCanTakeSnapshots()) {
             try {
-                File screenshotTempFile = null;
-                Object capturedScreenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-                if (isAFile(capturedScreenshot)) {
-                    screenshotTempFile = (File) capturedScreenshot;
-                } else if (isByteArray(capturedScreenshot)) {
-                    screenshotTempFile = saveScreenshotData((byte[]) capturedScreenshot);
-                }
-                if (screenshotTempFile != null && blurLevel.isPresent()) {
-                    screenshotTempFile = blur(screenshotTempFile);
+                byte[] screenshotData = captureScreenshot();
+                if (screenshotData != null && blurLevel.isPresent()) {
+                    screenshotData = blur(screenshotData);
                 }
-                if (screenshotTempFile != null) {
-                    String storedFilename = getDigestScreenshotNameFor(screenshotTempFile);
+                if (screenshotData != null) {
+                    String storedFilename = getDigestScreenshotNameFor(screenshotData);
                     File savedScreenshot = targetScreenshot(storedFilename);
-                    screenshotProcessor.queueScreenshot(new QueuedScreenshot(screenshotTempFile, savedScreenshot));
+                    Optional<File> similarScreenshot = similarPreviousScreenshot(screenshotData, savedScreenshot);
+                    reusedSimilarScreenshot = similarScreenshot.isPresent();
+                    if (similarScreenshot.isPresent()) {
+                        return similarScreenshot;
+                    }
+                    screenshotProcessor.queueScreenshot(new QueuedScreenshot(screenshotData, savedScreenshot));
                     return Optional.of(savedScreenshot);
                 }
             } catch (Throwable e) {
@@ -114,17 +134,52 @@ public class Photographer {
         return Optional.absent();
     }
 
+    private Optional<File> similarPreviousScreenshot(byte[] screenshotData, File savedScreenshot) {
+        if (similarScreenshotFilter.isPresent()) {
+            return similarScreenshotFilter.get().similarPreviousScreenshot(screenshotData, savedScreenshot);
+        }
+        return Optional.absent();
+    }
+
+    /**
+     * Screenshots are requested as bytes, so that they do not go through a temporary file.
+     * Drivers that cannot provide the bytes are asked for a screenshot file instead.
+     */
+    private byte[] captureScreenshot() throws IOException {
+        try {
+            byte[] screenshotData = screenshotDataFrom(((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES));
+            if (screenshotData != null) {
+                return screenshotData;
+            }
+        } catch (UnsupportedOperationException bytesNotSupported) {
+            getLogger().debug("Could not get the screenshot as bytes, using a screenshot file instead: " + bytesNotSupported.getMessage());
+        }
+        return screenshotDataFrom(((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE));
+    }
+
+    private byte[] screenshotDataFrom(Object capturedScreenshot) throws IOException {
+        if (isAFile(capturedScreenshot)) {
+            File screenshotTempFile = (File) capturedScreenshot;
+            byte[] screenshotData = Files.readAllBytes(screenshotTempFile.toPath());
+            FileUtils.deleteQuietly(screenshotTempFile);
+            return screenshotData;
+        } else if (isByteArray(capturedScreenshot)) {
+            return (byte[]) capturedScreenshot;
+        }
+        return null;
+    }
+
     public String getPageSource() {
         return driver.getPageSource();
     }
 
-    private String getDigestScreenshotNameFor(File screenshotTempFile) throws IOException {
+    private String getDigestScreenshotNameFor(byte[] screenshotData) {
         ScreenshotDigest screenshotDigest = new ScreenshotDigest(environmentVariables, blurLevel.orNull());
-        return screenshotDigest.forScreenshot(screenshotTempFile);
+        return screenshotDigest.forScreenshot(screenshotData);
     }
 
-    protected File blur(File srcFile) throws IOException {
-        BufferedImage srcImage = ImageIO.read(srcFile);
+    protected byte[] blur(byte[] screenshotData) throws IOException {
+        BufferedImage srcImage = ImageIO.read(new ByteArrayInputStream(screenshotData));
         BufferedImage destImage = deepCopy(srcImage);
         BoxBlurFilter boxBlurFilter = new BoxBlurFilter();
         boxBlurFilter.setRadius(blurLevel.get().getRadius());
@@ -134,7 +189,7 @@ public class Photographer {
         ByteArrayOutputStream outStream = new ByteArrayOutputStream();
         ImageIO.write(destImage, "png", outStream);
 
-        return saveScreenshotData(outStream.toByteArray());
+        return outStream.toByteArray();
     }
 
     private BufferedImage deepCopy(BufferedImage srcImage) {
@@ -144,12 +199,6 @@ public class Photographer {
         return new BufferedImage(cm, raster, isAlphaPremultiplied, null);
     }
 
-    private File saveScreenshotData(byte[] capturedScreenshot) throws IOException {
-        Path temporaryScreenshotFile = Files.createTempFile("screenshot", "");
-        Files.write(temporaryScreenshotFile, capturedScreenshot);
-        return temporaryScreenshotFile.toFile();
-    }
-
     private boolean isAFile(Object screenshot) {
         return (screenshot instanceof File);
     }
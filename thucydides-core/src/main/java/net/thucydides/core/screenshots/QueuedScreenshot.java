@@ -1,22 +1,43 @@
 package net.thucydides.core.screenshots;
 
+import com.google.common.base.Optional;
+
 import java.io.File;
 
+/**
+ * A screenshot waiting to be saved in the output directory.
+ * The screenshot is either held in memory, as it was captured by the driver, or stored in a temporary file.
+ */
 public class QueuedScreenshot {
 
     private final File destinationFilename;
     private final File sourceFilename;
+    private final byte[] screenshotData;
 
     public QueuedScreenshot(File sourceFilename, File destinationFilename) {
         this.sourceFilename = sourceFilename;
         this.destinationFilename = destinationFilename;
+        this.screenshotData = null;
+    }
+
+    public QueuedScreenshot(byte[] screenshotData, File destinationFilename) {
+        this.sourceFilename = null;
+        this.destinationFilename = destinationFilename;
+        this.screenshotData = screenshotData;
     }
 
     public File getDestinationFile() {
         return destinationFilename;
     }
 
+    /**
+     * @return the temporary file containing the screenshot, or null if the screenshot is held in memory.
+     */
     public File getSourceFile() {
         return sourceFilename;
     }
+
+    public Optional<byte[]> getScreenshotData() {
+        return Optional.fromNullable(screenshotData);
+    }
 }
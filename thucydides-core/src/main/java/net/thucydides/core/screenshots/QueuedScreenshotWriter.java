@@ -0,0 +1,233 @@
+package net.thucydides.core.screenshots;
+
+import com.google.common.base.Optional;
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.images.SimpleImageInfo;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.CopyOption;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Moves a queued screenshot to its destination file, resizing it first if a resized image width is configured.
+ * The image width is read from the PNG header, so the screenshot is only decoded when it actually needs resizing.
+ * If a shared screenshot store is configured, the screenshot is saved in the store and linked into the destination.
+ * The writer holds no state of its own, so it can be shared by several screenshot processing threads.
+ */
+class QueuedScreenshotWriter {
+
+    private final EnvironmentVariables environmentVariables;
+    private final Optional<ScreenshotStore> screenshotStore;
+
+    private final Logger logger = LoggerFactory.getLogger(QueuedScreenshotWriter.class);
+
+    QueuedScreenshotWriter(EnvironmentVariables environmentVariables) {
+        this.environmentVariables = environmentVariables;
+        this.screenshotStore = ScreenshotStore.configuredIn(environmentVariables);
+    }
+
+    /**
+     * @return false if the screenshot could not be saved to the destination directory.
+     */
+    boolean save(QueuedScreenshot queuedScreenshot) {
+        if (!queuedScreenshot.getDestinationFile().exists()) {
+            return resizeOrMoveScreenshot(queuedScreenshot);
+        }
+        return true;
+    }
+
+    private boolean resizeOrMoveScreenshot(QueuedScreenshot queuedScreenshot) {
+        if (shouldResize(queuedScreenshot)) {
+            return resizeScreenshot(queuedScreenshot);
+        } else {
+            return storeScreenshot(queuedScreenshot);
+        }
+    }
+
+    private boolean storeScreenshot(QueuedScreenshot queuedScreenshot) {
+        if (queuedScreenshot.getScreenshotData().isPresent()) {
+            return writeScreenshot(queuedScreenshot, queuedScreenshot.getScreenshotData().get());
+        } else if (screenshotStore.isPresent()) {
+            return moveScreenshotToStore(queuedScreenshot);
+        } else {
+            return moveScreenshot(queuedScreenshot);
+        }
+    }
+
+    private int getResizedWidth() {
+        return environmentVariables.getPropertyAsInteger(ThucydidesSystemProperty.THUCYDIDES_RESIZED_IMAGE_WIDTH, 0);
+    }
+
+    private boolean shouldResize(QueuedScreenshot queuedScreenshot) {
+        if (getResizedWidth() > 0) {
+            try {
+                return (imageInfoFor(queuedScreenshot).getWidth() != getResizedWidth());
+            } catch (IOException e) {
+                logger.warn("Failed to read the stored screenshot dimensions: " + e.getMessage());
+            }
+        }
+        return false;
+    }
+
+    private SimpleImageInfo imageInfoFor(QueuedScreenshot queuedScreenshot) throws IOException {
+        if (queuedScreenshot.getScreenshotData().isPresent()) {
+            return new SimpleImageInfo(queuedScreenshot.getScreenshotData().get());
+        } else {
+            return new SimpleImageInfo(queuedScreenshot.getSourceFile());
+        }
+    }
+
+    private BufferedImage readImage(QueuedScreenshot queuedScreenshot) throws IOException {
+        if (queuedScreenshot.getScreenshotData().isPresent()) {
+            return ImageIO.read(new ByteArrayInputStream(queuedScreenshot.getScreenshotData().get()));
+        } else {
+            return ImageIO.read(queuedScreenshot.getSourceFile());
+        }
+    }
+
+    private boolean writeScreenshot(QueuedScreenshot queuedScreenshot, byte[] screenshotData) {
+        try {
+            File destinationFile = queuedScreenshot.getDestinationFile();
+            if (screenshotStore.isPresent()) {
+                screenshotStore.get().store(destinationFile.getName(), screenshotData);
+                screenshotStore.get().linkInto(destinationFile, destinationFile.getName());
+            } else {
+                Path destinationPath = destinationFile.toPath();
+                Files.createDirectories(destinationPath.getParent());
+                if (Files.notExists(destinationPath)) {
+                    Path temporaryFile = temporaryFileFor(destinationPath);
+                    try {
+                        Files.write(temporaryFile, screenshotData);
+                        moveIntoPlace(temporaryFile, destinationPath);
+                    } finally {
+                        Files.deleteIfExists(temporaryFile);
+                    }
+                }
+            }
+            deleteSourceFileOf(queuedScreenshot);
+            return true;
+        } catch (Throwable e) {
+            logger.warn("Failed to write the screenshot to the destination directory: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean moveScreenshotToStore(QueuedScreenshot queuedScreenshot) {
+        try {
+            File destinationFile = queuedScreenshot.getDestinationFile();
+            screenshotStore.get().store(destinationFile.getName(), queuedScreenshot.getSourceFile());
+            screenshotStore.get().linkInto(destinationFile, destinationFile.getName());
+            deleteSourceFileOf(queuedScreenshot);
+            return true;
+        } catch (Throwable e) {
+            logger.warn("Failed to copy the screenshot to the screenshot store: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void deleteSourceFileOf(QueuedScreenshot queuedScreenshot) {
+        if (queuedScreenshot.getSourceFile() != null) {
+            FileUtils.deleteQuietly(queuedScreenshot.getSourceFile());
+        }
+    }
+
+    private boolean moveScreenshot(QueuedScreenshot queuedScreenshot) {
+        try {
+            CopyOption[] options = new CopyOption[]{ StandardCopyOption.COPY_ATTRIBUTES,
+                                                     StandardCopyOption.REPLACE_EXISTING };
+
+            Path sourcePath = queuedScreenshot.getSourceFile().toPath();
+            Path destinationPath = queuedScreenshot.getDestinationFile().toPath();
+            Path destinationDir = queuedScreenshot.getDestinationFile().toPath().getParent();
+            if (Files.notExists(destinationDir)) {
+                Files.createDirectories(destinationDir);
+            }
+            if (Files.notExists(destinationPath)) {
+                Path temporaryFile = temporaryFileFor(destinationPath);
+                try {
+                    Files.copy(sourcePath, temporaryFile, options);
+                    moveIntoPlace(temporaryFile, destinationPath);
+                } finally {
+                    Files.deleteIfExists(temporaryFile);
+                }
+            }
+            try {
+                Files.deleteIfExists(sourcePath);
+            } catch (IOException e) {
+                queuedScreenshot.getSourceFile().deleteOnExit();
+            }
+            return true;
+        } catch (Throwable e) {
+            logger.warn("Failed to copy the screenshot to the destination directory: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private Path temporaryFileFor(Path destinationPath) throws IOException {
+        return Files.createTempFile(destinationPath.getParent(), destinationPath.getFileName().toString(), ".tmp");
+    }
+
+    /**
+     * Screenshots are named after their contents, so if another thread has saved the same screenshot in the meantime,
+     * its copy is just as good. Saving to a temporary file in the same directory first means that the move is atomic,
+     * and that a partly written screenshot is never seen in the destination directory.
+     */
+    private void moveIntoPlace(Path temporaryFile, Path destinationPath) throws IOException {
+        try {
+            Files.move(temporaryFile, destinationPath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException savedByAnotherThread) {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    private boolean resizeScreenshot(QueuedScreenshot queuedScreenshot) {
+        try {
+            BufferedImage image = readImage(queuedScreenshot);
+            int width = image.getData().getWidth();
+            int height = image.getData().getHeight();
+            int targetWidth = getResizedWidth();
+            int targetHeight = (int) (((double) targetWidth / (double) width) * (double) height);
+
+            BufferedImage resizedImage = resize(image, targetWidth, targetHeight);
+            ByteArrayOutputStream resizedScreenshot = new ByteArrayOutputStream();
+            ImageIO.write(resizedImage, "png", resizedScreenshot);
+            return writeScreenshot(queuedScreenshot, resizedScreenshot.toByteArray());
+        } catch (Throwable e) {
+            logger.warn("Failed to resize screenshot: using original size " + e.getMessage());
+            return storeScreenshot(queuedScreenshot);
+        }
+    }
+
+    private BufferedImage resize(BufferedImage image, int width, int height) {
+        int type = image.getType() == 0? BufferedImage.TYPE_INT_ARGB : image.getType();
+        BufferedImage resizedImage = new BufferedImage(width, height, type);
+        Graphics2D g = resizedImage.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+
+        g.setRenderingHint(RenderingHints.KEY_RENDERING,
+                RenderingHints.VALUE_RENDER_QUALITY);
+
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+                RenderingHints.VALUE_ANTIALIAS_ON);
+
+        g.drawImage(image, 0, 0, width, height, null);
+        g.dispose();
+        return resizedImage;
+    }
+}
@@ -8,6 +8,7 @@ import org.apache.commons.codec.digest.DigestUtils;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 
 public class ScreenshotDigest {
 
@@ -20,7 +21,17 @@ public class ScreenshotDigest {
     private final EnvironmentVariables environmentVariables;
 
     public String forScreenshot(File screenshotFile) throws IOException {
-        return DigestUtils.md5Hex(new FileInputStream(screenshotFile))
+        try (InputStream screenshot = new FileInputStream(screenshotFile)) {
+            return screenshotNameFor(DigestUtils.md5Hex(screenshot));
+        }
+    }
+
+    public String forScreenshot(byte[] screenshotData) {
+        return screenshotNameFor(DigestUtils.md5Hex(screenshotData));
+    }
+
+    private String screenshotNameFor(String digest) {
+        return digest
                + "_" + blurLevel.or(BlurLevel.NONE).toString()
                + optionalWidth()
                + ".png";
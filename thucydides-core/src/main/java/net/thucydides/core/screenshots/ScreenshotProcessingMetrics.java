@@ -0,0 +1,65 @@
+package net.thucydides.core.screenshots;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of how many screenshots have been processed, how long they took,
+ * how deep the screenshot queue has grown and how many screenshots could not be saved.
+ */
+public class ScreenshotProcessingMetrics {
+
+    private final AtomicLong processedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong totalProcessingTime = new AtomicLong();
+    private final AtomicLong maximumProcessingTime = new AtomicLong();
+    private final AtomicLong maximumQueueDepth = new AtomicLong();
+
+    void recordQueueDepth(int queueDepth) {
+        updateMaximum(maximumQueueDepth, queueDepth);
+    }
+
+    void recordProcessedScreenshot(long durationInMilliseconds) {
+        processedCount.incrementAndGet();
+        totalProcessingTime.addAndGet(durationInMilliseconds);
+        updateMaximum(maximumProcessingTime, durationInMilliseconds);
+    }
+
+    void recordDroppedScreenshot() {
+        droppedCount.incrementAndGet();
+    }
+
+    public long getProcessedCount() {
+        return processedCount.get();
+    }
+
+    /**
+     * @return the number of screenshots that could not be saved to the output directory.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getTotalProcessingTime() {
+        return totalProcessingTime.get();
+    }
+
+    public long getMaximumProcessingTime() {
+        return maximumProcessingTime.get();
+    }
+
+    public long getAverageProcessingTime() {
+        long count = getProcessedCount();
+        return (count == 0) ? 0 : getTotalProcessingTime() / count;
+    }
+
+    public long getMaximumQueueDepth() {
+        return maximumQueueDepth.get();
+    }
+
+    private void updateMaximum(AtomicLong maximum, long value) {
+        long currentMaximum = maximum.get();
+        while ((value > currentMaximum) && !maximum.compareAndSet(currentMaximum, value)) {
+            currentMaximum = maximum.get();
+        }
+    }
+}
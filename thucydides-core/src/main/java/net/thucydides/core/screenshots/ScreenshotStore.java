@@ -0,0 +1,238 @@
+package net.thucydides.core.screenshots;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.guice.Injectors;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.reports.OutcomeFormat;
+import net.thucydides.core.reports.TestOutcomeLoader;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A directory of screenshots, keyed by their digest-based file names, that can be shared by several test runs
+ * and modules. Each screenshot is stored once; the report directories refer to it through hard links,
+ * or through a plain copy on file systems that do not support them.
+ * Screenshots that are no longer used by any test outcome can be removed with pruneScreenshotsNotUsedIn().
+ */
+public class ScreenshotStore {
+
+    /**
+     * Screenshots stored more recently than this are never pruned, as they may belong to tests that are still running.
+     */
+    private static final long PRUNING_GRACE_PERIOD = TimeUnit.HOURS.toMillis(1);
+
+    /**
+     * A report directory may hold test outcomes in any of these formats, whatever the preferred format is.
+     */
+    private static final List<OutcomeFormat> OUTCOME_FORMATS
+            = ImmutableList.of(OutcomeFormat.XML, OutcomeFormat.JSON, OutcomeFormat.BINARY, OutcomeFormat.ARCHIVE);
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScreenshotStore.class);
+
+    private final Path storeDirectory;
+    private final EnvironmentVariables environmentVariables;
+
+    public ScreenshotStore(File storeDirectory) {
+        this(storeDirectory, Injectors.getInjector().getProvider(EnvironmentVariables.class).get());
+    }
+
+    public ScreenshotStore(File storeDirectory, EnvironmentVariables environmentVariables) {
+        this.storeDirectory = storeDirectory.toPath();
+        this.environmentVariables = environmentVariables;
+    }
+
+    /**
+     * @return the screenshot store defined by the thucydides.screenshot.store property, if any.
+     */
+    public static Optional<ScreenshotStore> configuredIn(EnvironmentVariables environmentVariables) {
+        String storeDirectory = ThucydidesSystemProperty.THUCYDIDES_SCREENSHOT_STORE.from(environmentVariables);
+        if (StringUtils.isNotBlank(storeDirectory)) {
+            return Optional.of(new ScreenshotStore(new File(storeDirectory), environmentVariables));
+        }
+        return Optional.absent();
+    }
+
+    public File getStoreDirectory() {
+        return storeDirectory.toFile();
+    }
+
+    public boolean contains(String screenshotName) {
+        return Files.exists(storedPathFor(screenshotName));
+    }
+
+    /**
+     * Add a screenshot to the store, unless a screenshot with the same name is already there.
+     * The screenshot is written to a temporary file first, so other processes never see a partial screenshot.
+     */
+    public void store(String screenshotName, byte[] screenshotData) throws IOException {
+        Path storedPath = storedPathFor(screenshotName);
+        if (Files.notExists(storedPath)) {
+            Files.createDirectories(storedPath.getParent());
+            Path temporaryFile = Files.createTempFile(storedPath.getParent(), screenshotName, ".tmp");
+            Files.write(temporaryFile, screenshotData);
+            moveIntoPlace(temporaryFile, storedPath);
+        }
+    }
+
+    public void store(String screenshotName, File screenshotFile) throws IOException {
+        Path storedPath = storedPathFor(screenshotName);
+        if (Files.notExists(storedPath)) {
+            Files.createDirectories(storedPath.getParent());
+            Path temporaryFile = Files.createTempFile(storedPath.getParent(), screenshotName, ".tmp");
+            Files.copy(screenshotFile.toPath(), temporaryFile, StandardCopyOption.REPLACE_EXISTING);
+            moveIntoPlace(temporaryFile, storedPath);
+        }
+    }
+
+    private void moveIntoPlace(Path temporaryFile, Path storedPath) throws IOException {
+        try {
+            Files.move(temporaryFile, storedPath, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException storedByAnotherProcess) {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * Make a stored screenshot available in a report directory.
+     * A hard link is used where possible, so that the screenshot does not take up any extra disk space.
+     */
+    public void linkInto(File destinationFile, String screenshotName) throws IOException {
+        Path destinationPath = destinationFile.toPath();
+        if (Files.exists(destinationPath)) {
+            return;
+        }
+        Files.createDirectories(destinationPath.getParent());
+        Path storedPath = storedPathFor(screenshotName);
+        try {
+            Files.createLink(destinationPath, storedPath);
+        } catch (FileAlreadyExistsException linkedByAnotherThread) {
+            // Nothing to do
+        } catch (UnsupportedOperationException | IOException hardLinksNotAvailable) {
+            LOGGER.debug("Could not link to the stored screenshot, copying it instead: " + hardLinksNotAvailable.getMessage());
+            copyStoredScreenshot(storedPath, destinationPath);
+        }
+    }
+
+    private void copyStoredScreenshot(Path storedPath, Path destinationPath) throws IOException {
+        try {
+            Files.copy(storedPath, destinationPath);
+        } catch (FileAlreadyExistsException copiedByAnotherThread) {
+            // Nothing to do
+        }
+    }
+
+    /**
+     * Delete the stored screenshots that are not used by any of the test outcomes in the given report directories.
+     * The store may be shared by several modules, so every report directory that uses it must be given.
+     * Screenshots stored within the last hour are kept, as they may belong to tests that have not finished yet.
+     * Nothing is deleted if a report directory holds no test outcomes, or if any test outcome cannot be read,
+     * as the screenshots they use cannot be known.
+     *
+     * @return the number of screenshots deleted from the store.
+     * @throws IOException if the test outcomes could not all be read, in which case no screenshots are deleted.
+     */
+    public int pruneScreenshotsNotUsedIn(Collection<File> reportDirectories) throws IOException {
+        Set<String> usedScreenshots = screenshotsUsedIn(reportDirectories);
+        long pruningCutoff = System.currentTimeMillis() - PRUNING_GRACE_PERIOD;
+        int prunedScreenshots = 0;
+        for (Path storedScreenshot : storedScreenshots()) {
+            String screenshotName = storedScreenshot.getFileName().toString();
+            if (!usedScreenshots.contains(screenshotName)
+                    && Files.getLastModifiedTime(storedScreenshot).toMillis() < pruningCutoff) {
+                Files.deleteIfExists(storedScreenshot);
+                prunedScreenshots++;
+            }
+        }
+        LOGGER.info("Pruned {} unused screenshots from {}", prunedScreenshots, storeDirectory);
+        return prunedScreenshots;
+    }
+
+    private Set<String> screenshotsUsedIn(Collection<File> reportDirectories) throws IOException {
+        if (reportDirectories.isEmpty()) {
+            throw new IOException("No report directories were given: no screenshots have been pruned");
+        }
+        TestOutcomeLoader loader = new TestOutcomeLoader(environmentVariables);
+        UsedScreenshots usedScreenshots = new UsedScreenshots();
+        for (File reportDirectory : reportDirectories) {
+            int outcomesBefore = usedScreenshots.loadedOutcomes.get();
+            for (OutcomeFormat format : OUTCOME_FORMATS) {
+                loader.forFormat(format).processOutcomesFrom(reportDirectory, usedScreenshots);
+            }
+            if (usedScreenshots.loadedOutcomes.get() == outcomesBefore) {
+                throw new IOException("No test outcomes were found in " + reportDirectory
+                                      + ": no screenshots have been pruned");
+            }
+        }
+        if (!usedScreenshots.unreadableReports.isEmpty()) {
+            throw new IOException("Could not read the test outcomes in " + usedScreenshots.unreadableReports
+                                  + ": no screenshots have been pruned");
+        }
+        return usedScreenshots.screenshotNames;
+    }
+
+    private static class UsedScreenshots implements TestOutcomeLoader.OutcomeLoadingListener {
+        private final Set<String> screenshotNames = Collections.synchronizedSet(Sets.<String>newHashSet());
+        private final List<File> unreadableReports = Collections.synchronizedList(Lists.<File>newArrayList());
+        private final AtomicInteger loadedOutcomes = new AtomicInteger();
+
+        @Override
+        public void outcomeLoadedFrom(File reportFile, TestOutcome testOutcome) {
+            loadedOutcomes.incrementAndGet();
+            for (ScreenshotAndHtmlSource screenshot : testOutcome.getScreenshotAndHtmlSources()) {
+                screenshotNames.add(screenshot.getScreenshotFile().getName());
+            }
+        }
+
+        @Override
+        public void outcomeNotLoadedFrom(File reportFile) {
+            unreadableReports.add(reportFile);
+        }
+    }
+
+    private Set<Path> storedScreenshots() throws IOException {
+        Set<Path> storedScreenshots = Sets.newHashSet();
+        if (Files.isDirectory(storeDirectory)) {
+            try (DirectoryStream<Path> shards = Files.newDirectoryStream(storeDirectory)) {
+                for (Path shard : shards) {
+                    if (Files.isDirectory(shard)) {
+                        addStoredScreenshotsIn(shard, storedScreenshots);
+                    }
+                }
+            }
+        }
+        return storedScreenshots;
+    }
+
+    private void addStoredScreenshotsIn(Path shard, Set<Path> storedScreenshots) throws IOException {
+        try (DirectoryStream<Path> screenshots = Files.newDirectoryStream(shard, "*.png")) {
+            for (Path screenshot : screenshots) {
+                storedScreenshots.add(screenshot);
+            }
+        }
+    }
+
+    /**
+     * Screenshots are spread over sub-directories named after the first two characters of their digest,
+     * to keep the directories a manageable size.
+     */
+    private Path storedPathFor(String screenshotName) {
+        String shard = (screenshotName.length() > 2) ? screenshotName.substring(0, 2) : "00";
+        return storeDirectory.resolve(shard).resolve(screenshotName);
+    }
+}
@@ -0,0 +1,91 @@
+package net.thucydides.core.screenshots;
+
+import com.google.common.base.Optional;
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.images.PerceptualHash;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Recognizes screenshots that look almost the same as the previous one, such as screenshots that only differ
+ * by a blinking cursor or a clock, so that they can refer to the previous screenshot file instead of being saved again.
+ * Screenshots are compared using a perceptual hash, and are considered similar if their hashes differ by no more
+ * than the number of bits defined by the thucydides.screenshot.similarity.threshold property.
+ */
+public class SimilarScreenshotFilter {
+
+    private static final int DISABLED = -1;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SimilarScreenshotFilter.class);
+
+    private final int similarityThreshold;
+
+    private PerceptualHash previousScreenshotHash;
+    private File previousScreenshot;
+
+    public SimilarScreenshotFilter(int similarityThreshold) {
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    public static SimilarScreenshotFilter fromConfiguration(EnvironmentVariables environmentVariables) {
+        return new SimilarScreenshotFilter(
+                environmentVariables.getPropertyAsInteger(ThucydidesSystemProperty.THUCYDIDES_SCREENSHOT_SIMILARITY_THRESHOLD,
+                                                          DISABLED));
+    }
+
+    public boolean isEnabled() {
+        return similarityThreshold >= 0;
+    }
+
+    /**
+     * Compare a new screenshot with the previous one.
+     * If they look the same, the previous screenshot file is returned, and should be used instead of the new one.
+     * Otherwise the new screenshot becomes the one that the following screenshots are compared with.
+     *
+     * @param screenshotData the PNG image data of the new screenshot
+     * @param screenshotFile the file the new screenshot will be saved in
+     */
+    public synchronized Optional<File> similarPreviousScreenshot(byte[] screenshotData, File screenshotFile) {
+        if (!isEnabled()) {
+            return Optional.absent();
+        }
+        Optional<PerceptualHash> screenshotHash = hashOf(screenshotData);
+        if (!screenshotHash.isPresent()) {
+            return Optional.absent();
+        }
+        if ((previousScreenshotHash != null)
+                && (screenshotHash.get().distanceTo(previousScreenshotHash) <= similarityThreshold)) {
+            return Optional.of(previousScreenshot);
+        }
+        previousScreenshotHash = screenshotHash.get();
+        previousScreenshot = screenshotFile;
+        return Optional.absent();
+    }
+
+    /**
+     * Start afresh, for example at the start of a new test.
+     */
+    public synchronized void reset() {
+        previousScreenshotHash = null;
+        previousScreenshot = null;
+    }
+
+    private Optional<PerceptualHash> hashOf(byte[] screenshotData) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(screenshotData));
+            if (image != null) {
+                return Optional.of(PerceptualHash.of(image));
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not compare the screenshot with the previous one: " + e.getMessage());
+        }
+        return Optional.absent();
+    }
+}
@@ -83,6 +83,8 @@ public class BaseStepListener implements StepListener, StepPublisher {
 
     ScreenshotProcessor screenshotProcessor;
 
+    private SimilarScreenshotFilter similarScreenshotFilter;
+
     private boolean inFluentStepSequence;
 
     private List<String> storywideIssues;
@@ -259,6 +261,7 @@ public class BaseStepListener implements StepListener, StepPublisher {
     public void testStarted(final String testMethod) {
         TestOutcome newTestOutcome = TestOutcome.forTestInStory(testMethod, testSuite, testedStory);
         testOutcomes.add(newTestOutcome);
+        getSimilarScreenshotFilter().reset();
         updateSessionIdIfKnown();
         setAnnotatedResult(testMethod);
     }
@@ -527,14 +530,18 @@ public class BaseStepListener implements StepListener, StepPublisher {
 
     private void takeEndOfStepScreenshotFor(final TestResult result) {
         if (shouldTakeEndOfStepScreenshotFor(result)) {
-            take(OPTIONAL_SCREENSHOT);
+            take(OPTIONAL_SCREENSHOT, (result != FAILURE));
         }
     }
 
     private void take(final ScreenshotType screenshotType) {
+        take(screenshotType, (screenshotType == OPTIONAL_SCREENSHOT));
+    }
+
+    private void take(final ScreenshotType screenshotType, final boolean mayReuseSimilarScreenshot) {
         if (currentStepExists() && browserIsOpen()) {
             try {
-                Optional<ScreenshotAndHtmlSource> screenshotAndHtmlSource = grabScreenshot();
+                Optional<ScreenshotAndHtmlSource> screenshotAndHtmlSource = grabScreenshot(mayReuseSimilarScreenshot);
                 if (screenshotAndHtmlSource.isPresent()) {
                     takeScreenshotIfRequired(screenshotType, screenshotAndHtmlSource.get());
                 }
@@ -616,10 +623,21 @@ public class BaseStepListener implements StepListener, StepPublisher {
         }
     }
 
-    private Optional<ScreenshotAndHtmlSource> grabScreenshot() {
-        Optional<File> screenshot = getPhotographer().takeScreenshot();
+    /**
+     * Only optional screenshots can be replaced by a similar earlier screenshot: screenshots requested by the test,
+     * and screenshots of failing steps, are always kept. When an earlier screenshot is reused, so is its page source,
+     * rather than overwriting the page source stored for the earlier step.
+     */
+    private Optional<ScreenshotAndHtmlSource> grabScreenshot(boolean mayReuseSimilarScreenshot) {
+        Photographer photographer = getPhotographer();
+        if (mayReuseSimilarScreenshot && getSimilarScreenshotFilter().isEnabled()) {
+            photographer.withSimilarScreenshotFilter(getSimilarScreenshotFilter());
+        }
+        Optional<File> screenshot = photographer.takeScreenshot();
         if (screenshot.isPresent()) {
-            if (shouldStoreSourcecode()) {
+            if (photographer.reusedSimilarScreenshot()) {
+                return Optional.of(reusedScreenshot(screenshot.get()));
+            } else if (shouldStoreSourcecode()) {
                 File sourcecodeFile = sourcecodeForScreenshot(screenshot.get(), getPageSource());
                 return Optional.of(new ScreenshotAndHtmlSource(screenshot.get(), sourcecodeFile));
             } else {
@@ -633,8 +651,20 @@ public class BaseStepListener implements StepListener, StepPublisher {
         return getPhotographer().getPageSource();
     }
 
+    private ScreenshotAndHtmlSource reusedScreenshot(File screenshotFile) {
+        File pageSourceFile = pageSourceFileFor(screenshotFile);
+        if (shouldStoreSourcecode() && pageSourceFile.exists()) {
+            return new ScreenshotAndHtmlSource(screenshotFile, pageSourceFile);
+        }
+        return new ScreenshotAndHtmlSource(screenshotFile);
+    }
+
+    private File pageSourceFileFor(File screenshotFile) {
+        return new File(screenshotFile.getAbsolutePath() + ".html");
+    }
+
     private File sourcecodeForScreenshot(File screenshotFile, String pageSource) {
-        File pageSourceFile = new File(screenshotFile.getAbsolutePath() + ".html");
+        File pageSourceFile = pageSourceFileFor(screenshotFile);
 
         try {
             Files.write(pageSourceFile.toPath(), pageSource.getBytes());
@@ -650,11 +680,23 @@ public class BaseStepListener implements StepListener, StepPublisher {
 
     public Photographer getPhotographer() {
         ScreenshotBlurCheck blurCheck = new ScreenshotBlurCheck();
+        Photographer photographer;
         if (blurCheck.blurLevel().isPresent()) {
-            return new Photographer(driver, outputDirectory, blurCheck.blurLevel().get());
+            photographer = new Photographer(driver, outputDirectory, blurCheck.blurLevel().get());
         } else {
-            return new Photographer(driver, outputDirectory);
+            photographer = new Photographer(driver, outputDirectory);
+        }
+        return photographer;
+    }
+
+    /**
+     * Near-identical screenshots are only recognized within a test, so the filter is reset for each new test.
+     */
+    private SimilarScreenshotFilter getSimilarScreenshotFilter() {
+        if (similarScreenshotFilter == null) {
+            similarScreenshotFilter = SimilarScreenshotFilter.fromConfiguration(configuration.getEnvironmentVariables());
         }
+        return similarScreenshotFilter;
     }
 
     private boolean shouldTakeEndOfStepScreenshotFor(final TestResult result) {
@@ -3,7 +3,6 @@ package net.thucydides.core.steps;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
 import com.google.inject.Inject;
 import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.model.*;
@@ -32,16 +31,24 @@ public class StepEventBus {
 
     /**
      * The event bus used to inform listening classes about when tests and test steps start and finish.
-     * There is a separate event bus for each thread.
+     * There is a separate event bus for each thread, so no locking is needed to find it.
      */
-    public static synchronized StepEventBus getEventBus() {
-        if (stepEventBusThreadLocal.get() == null) {
-            stepEventBusThreadLocal.set(Injectors.getInjector().getInstance(StepEventBus.class));
+    public static StepEventBus getEventBus() {
+        StepEventBus eventBus = stepEventBusThreadLocal.get();
+        if (eventBus == null) {
+            eventBus = Injectors.getInjector().getInstance(StepEventBus.class);
+            stepEventBusThreadLocal.set(eventBus);
         }
-        return stepEventBusThreadLocal.get();
+        return eventBus;
     }
 
     private List<StepListener> registeredListeners = new ArrayList<StepListener>();
+
+    /**
+     * The registered and custom listeners notified for each event.
+     * This list is only rebuilt when listeners are added or removed, not for every event.
+     */
+    private ImmutableList<StepListener> allListeners;
     /**
      * A reference to the base step listener, if registered.
      */
@@ -79,6 +86,7 @@ public class StepEventBus {
     public StepEventBus registerListener(final StepListener listener) {
         if (!registeredListeners.contains(listener)) {
             registeredListeners.add(listener);
+            allListeners = null;
             if (BaseStepListener.class.isAssignableFrom(listener.getClass())) {
                 baseStepListener = (BaseStepListener) listener;
                 baseStepListener.setEventBus(this);
@@ -125,9 +133,12 @@ public class StepEventBus {
     }
 
     protected List<StepListener> getAllListeners() {
-        List<StepListener> allListeners = Lists.newArrayList(registeredListeners);
-        allListeners.addAll(getCustomListeners());
-        return ImmutableList.copyOf(allListeners);
+        if (allListeners == null) {
+            allListeners = ImmutableList.<StepListener>builder().addAll(registeredListeners)
+                                                                .addAll(getCustomListeners())
+                                                                .build();
+        }
+        return allListeners;
     }
 
     private Set<StepListener> getCustomListeners() {
@@ -357,10 +368,12 @@ public class StepEventBus {
 
     public void dropListener(final StepListener stepListener) {
         registeredListeners.remove(stepListener);
+        allListeners = null;
     }
 
     public void dropAllListeners() {
         registeredListeners.clear();
+        allListeners = null;
     }
 
     public boolean webdriverCallsAreSuspended() {
@@ -0,0 +1,82 @@
+package net.thucydides.core.webdriver;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps track of how long it takes to start each type of browser, including remote sessions on a grid,
+ * and how often a browser could not be started.
+ */
+public class DriverCreationMetrics {
+
+    private final ConcurrentMap<String, DriverCreationTimes> timesByDriverType
+            = new ConcurrentHashMap<String, DriverCreationTimes>();
+
+    void recordDriverCreation(String driverType, long durationInMilliseconds) {
+        timesFor(driverType).recordCreation(durationInMilliseconds);
+    }
+
+    void recordFailedDriverCreation(String driverType) {
+        timesFor(driverType).failedCount.incrementAndGet();
+    }
+
+    public Set<String> getDriverTypes() {
+        return ImmutableSet.copyOf(timesByDriverType.keySet());
+    }
+
+    public long getCreationCount(String driverType) {
+        return recordedTimesFor(driverType).createdCount.get();
+    }
+
+    public long getFailedCreationCount(String driverType) {
+        return recordedTimesFor(driverType).failedCount.get();
+    }
+
+    public long getTotalCreationTime(String driverType) {
+        return recordedTimesFor(driverType).totalCreationTime.get();
+    }
+
+    public long getMaximumCreationTime(String driverType) {
+        return recordedTimesFor(driverType).maximumCreationTime.get();
+    }
+
+    public long getAverageCreationTime(String driverType) {
+        long count = getCreationCount(driverType);
+        return (count == 0) ? 0 : getTotalCreationTime(driverType) / count;
+    }
+
+    private DriverCreationTimes recordedTimesFor(String driverType) {
+        DriverCreationTimes times = timesByDriverType.get(driverType);
+        return (times == null) ? new DriverCreationTimes() : times;
+    }
+
+    private DriverCreationTimes timesFor(String driverType) {
+        DriverCreationTimes times = timesByDriverType.get(driverType);
+        if (times == null) {
+            timesByDriverType.putIfAbsent(driverType, new DriverCreationTimes());
+            times = timesByDriverType.get(driverType);
+        }
+        return times;
+    }
+
+    private static class DriverCreationTimes {
+        private final AtomicLong createdCount = new AtomicLong();
+        private final AtomicLong failedCount = new AtomicLong();
+        private final AtomicLong totalCreationTime = new AtomicLong();
+        private final AtomicLong maximumCreationTime = new AtomicLong();
+
+        void recordCreation(long durationInMilliseconds) {
+            createdCount.incrementAndGet();
+            totalCreationTime.addAndGet(durationInMilliseconds);
+            long currentMaximum = maximumCreationTime.get();
+            while ((durationInMilliseconds > currentMaximum)
+                    && !maximumCreationTime.compareAndSet(currentMaximum, durationInMilliseconds)) {
+                currentMaximum = maximumCreationTime.get();
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package net.thucydides.core.webdriver;
 
 import net.thucydides.core.ThucydidesSystemProperty;
 import net.thucydides.core.annotations.locators.SmartElementLocatorFactory;
+import net.thucydides.core.scheduling.WaitStrategy;
 import net.thucydides.core.util.EnvironmentVariables;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.pagefactory.AjaxElementLocatorFactory;
@@ -29,7 +30,7 @@ public class ElementLocatorFactorySelector {
         } else if (locatorType.equals("DefaultElementLocatorFactory")) {
             return new DefaultElementLocatorFactory(driver);
         } else if (locatorType.equals("SmartElementLocatorFactory")){
-        	return new SmartElementLocatorFactory(driver, timeoutInSeconds);
+        	return new SmartElementLocatorFactory(driver, timeoutInSeconds, WaitStrategy.configuredIn(environmentVariables));
         } else {
             throw new IllegalArgumentException("Unsupported ElementLocatorFactory implementation: " + locatorType);
         }
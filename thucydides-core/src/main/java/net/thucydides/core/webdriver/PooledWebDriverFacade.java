@@ -0,0 +1,38 @@
+package net.thucydides.core.webdriver;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * A WebDriver proxy that takes its browser from a driver pool, and gives it back to the pool
+ * instead of quitting it.
+ */
+class PooledWebDriverFacade extends WebDriverFacade {
+
+    private final WebDriverPool driverPool;
+
+    PooledWebDriverFacade(final Class<? extends WebDriver> driverClass,
+                          final WebDriverFactory webDriverFactory,
+                          final WebDriverPool driverPool) {
+        super(driverClass, webDriverFactory);
+        this.driverPool = driverPool;
+    }
+
+    @Override
+    protected WebDriver newProxyDriver() {
+        return driverPool.acquire(getDriverClass());
+    }
+
+    @Override
+    public void quit() {
+        if (proxyInstanciated()) {
+            WebDriver driver = getDriverInstance();
+            proxiedWebDriver = null;
+            driverPool.release(getDriverClass(), driver);
+        }
+    }
+
+    @Override
+    public void reset() {
+        quit();
+    }
+}
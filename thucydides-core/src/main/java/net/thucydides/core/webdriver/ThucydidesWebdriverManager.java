@@ -1,5 +1,6 @@
 package net.thucydides.core.webdriver;
 
+import com.google.common.base.Optional;
 import com.google.inject.Inject;
 import org.apache.commons.lang3.StringUtils;
 import org.openqa.selenium.WebDriver;
@@ -30,11 +31,14 @@ public class ThucydidesWebdriverManager implements WebdriverManager {
 
     private final Set<WebDriver> allWebdriverInstances;
 
+    private final Optional<WebDriverPool> driverPool;
+
     @Inject
     public ThucydidesWebdriverManager(final WebDriverFactory webDriverFactory, final Configuration configuration) {
         this.webDriverFactory = webDriverFactory;
         this.configuration = configuration;
         this.allWebdriverInstances =  Collections.synchronizedSet(new HashSet<WebDriver>());
+        this.driverPool = WebDriverPool.fromConfiguration(webDriverFactory, configuration.getEnvironmentVariables());
     }
 
     /**
@@ -42,14 +46,20 @@ public class ThucydidesWebdriverManager implements WebdriverManager {
      * override this method to use a custom driver if you really know what you
      * are doing.
      *
+     * If a driver pool is configured, the browser is taken from the pool and given back to it when the test is done.
+     *
      * @throws net.thucydides.core.webdriver.UnsupportedDriverException
      *             if the driver type is not supported.
      */
     private static WebDriver newDriver(final Configuration configuration,
                                        final WebDriverFactory webDriverFactory,
+                                       final Optional<WebDriverPool> driverPool,
                                        final String driver) {
         SupportedWebDriver supportedDriverType = getConfiguredWebDriverWithOverride(configuration, driver);
         Class<? extends WebDriver> webDriverType = webDriverFactory.getClassFor(supportedDriverType);
+        if (driverPool.isPresent()) {
+            return WebdriverProxyFactory.getFactory().proxyFor(webDriverType, webDriverFactory, driverPool.get());
+        }
         return WebdriverProxyFactory.getFactory().proxyFor(webDriverType, webDriverFactory);
     }
 
@@ -74,6 +84,10 @@ public class ThucydidesWebdriverManager implements WebdriverManager {
         allWebdriverInstances.removeAll(closedDrivers);
     }
 
+    /**
+     * This is called at the end of each test class, so the browsers waiting in the driver pool are kept
+     * for the next test class: the pool closes them when the JVM shuts down.
+     */
     public void closeAllDrivers() {
         synchronized (allWebdriverInstances) {
             for(WebDriver driver : allWebdriverInstances) {
@@ -95,11 +109,11 @@ public class ThucydidesWebdriverManager implements WebdriverManager {
     }
 
     public WebDriver getWebdriver() {
-        return getThreadLocalWebDriver(configuration, webDriverFactory, inThisTestThread().getCurrentDriverName());
+        return getThreadLocalWebDriver(configuration, webDriverFactory, driverPool, inThisTestThread().getCurrentDriverName());
     }
 
     public SessionId getSessionId() {
-        WebDriver driver = getThreadLocalWebDriver(configuration, webDriverFactory,
+        WebDriver driver = getThreadLocalWebDriver(configuration, webDriverFactory, driverPool,
                                                    inThisTestThread().getCurrentDriverName());
         if (driver instanceof RemoteWebDriver) {
             return ((RemoteWebDriver) driver).getSessionId();
@@ -112,7 +126,7 @@ public class ThucydidesWebdriverManager implements WebdriverManager {
         if (StringUtils.isEmpty(driverName)) {
             activeDriver = getWebdriver();
         } else {
-            activeDriver = getThreadLocalWebDriver(configuration, webDriverFactory, driverName);
+            activeDriver = getThreadLocalWebDriver(configuration, webDriverFactory, driverPool, driverName);
         }
         registerDriverInGlobalDrivers(activeDriver);
         return activeDriver;
@@ -124,12 +138,13 @@ public class ThucydidesWebdriverManager implements WebdriverManager {
 
     private static WebDriver getThreadLocalWebDriver(final Configuration configuration,
                                                      final WebDriverFactory webDriverFactory,
+                                                     final Optional<WebDriverPool> driverPool,
                                                      final String driver) {
 
 
         if (!inThisTestThread().driverIsRegisteredFor(driver)) {
             inThisTestThread().registerDriverCalled(driver)
-                              .forDriver(newDriver(configuration, webDriverFactory, driver));
+                              .forDriver(newDriver(configuration, webDriverFactory, driverPool, driver));
 
         }
         return inThisTestThread().useDriver(driver);
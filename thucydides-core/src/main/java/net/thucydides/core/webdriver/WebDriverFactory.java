@@ -60,6 +60,15 @@ public class WebDriverFactory {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(WebDriverFactory.class);
 
+    /**
+     * Fixture services and the PhantomJS path are shared by every driver in the JVM.
+     */
+    private static final Object FIXTURE_SERVICES_LOCK = new Object();
+    private static final Object PHANTOMJS_PATH_LOCK = new Object();
+    private static volatile boolean phantomJSPathChecked = false;
+
+    private static final DriverCreationMetrics DRIVER_CREATION_METRICS = new DriverCreationMetrics();
+
     private ProfilesIni allProfiles;
     private static final int DEFAULT_HEIGHT = ThucydidesSystemProperty.DEFAULT_HEIGHT;
     private static final int DEFAULT_WIDTH = ThucydidesSystemProperty.DEFAULT_WIDTH;
@@ -71,6 +80,12 @@ public class WebDriverFactory {
     private final BrowserStackRemoteDriverCapabilities browserStackRemoteDriverCapabilities;
     private final SauceRemoteDriverCapabilities sauceRemoteDriverCapabilities;
 
+    /**
+     * Set while a driver is being created if the requested window size was passed to the browser on startup,
+     * in which case it does not need resizing afterwards. Several drivers can be created at once, hence one per thread.
+     */
+    private final ThreadLocal<Boolean> windowSizeSetOnStartup = new ThreadLocal<Boolean>();
+
     private final Integer EXTRA_TIME_TO_TAKE_SCREENSHOTS = 180;
 
     public WebDriverFactory() {
@@ -118,7 +133,7 @@ public class WebDriverFactory {
         this.sauceRemoteDriverCapabilities = new SauceRemoteDriverCapabilities(environmentVariables);
     }
 
-    protected ProfilesIni getAllProfiles() {
+    protected synchronized ProfilesIni getAllProfiles() {
         if (allProfiles == null) {
             allProfiles = new ProfilesIni();
         }
@@ -152,13 +167,16 @@ public class WebDriverFactory {
     }
     
     /**
-     * This method is synchronized because multiple webdriver instances can be created in parallel.
-     * However, they may use common system resources such as ports, so may potentially interfere
-     * with each other.
+     * Browsers can be started in parallel, which matters when remote sessions take a long time to create.
+     * Only the resources that are shared between drivers (fixture services, Firefox profiles and the PhantomJS path)
+     * are guarded. The time taken to start each type of driver is recorded in the driver creation metrics.
      *
      * @param driverClass
      */
-    protected synchronized WebDriver newWebdriverInstance(final Class<? extends WebDriver> driverClass) {
+    protected WebDriver newWebdriverInstance(final Class<? extends WebDriver> driverClass) {
+        String driverType = driverTypeLabelFor(driverClass);
+        long startTime = System.currentTimeMillis();
+        windowSizeSetOnStartup.remove();
         try {
             WebDriver driver;
             if (isARemoteDriver(driverClass) || shouldUseARemoteDriver() || saucelabsUrlIsDefined() || browserStackUrlIsDefined()) {
@@ -182,18 +200,52 @@ public class WebDriverFactory {
                 driver = newDriverInstanceFrom(driverClass);
             }
             setImplicitTimeoutsIfSpecified(driver);
+            setScriptTimeoutIfSpecified(driver);
             redimensionBrowser(driver);
 
             activateJavascriptSupportFor(driver);
+            long creationTime = System.currentTimeMillis() - startTime;
+            DRIVER_CREATION_METRICS.recordDriverCreation(driverType, creationTime);
+            LOGGER.debug("Started a {} driver in {} ms", driverType, creationTime);
             return driver;
         } catch (Exception cause) {
+            DRIVER_CREATION_METRICS.recordFailedDriverCreation(driverType);
             throw new UnsupportedDriverException("Could not instantiate " + driverClass, cause);
+        } finally {
+            windowSizeSetOnStartup.remove();
         }
     }
 
+    /**
+     * How long it has taken to start each type of driver in this JVM.
+     * Remote drivers are listed as "remote:" followed by the requested browser.
+     */
+    public static DriverCreationMetrics getDriverCreationMetrics() {
+        return DRIVER_CREATION_METRICS;
+    }
+
+    private String driverTypeLabelFor(Class<? extends WebDriver> driverClass) {
+        if (isARemoteDriver(driverClass) || shouldUseARemoteDriver() || saucelabsUrlIsDefined() || browserStackUrlIsDefined()) {
+            return "remote:" + getDriverFrom(environmentVariables, DEFAULT_DRIVER);
+        }
+        return driverClass.getSimpleName();
+    }
+
     // IntelliJ in Mac OS X does not pick up environment variables. So to get PhantomJS working in IDE mode for the
     // Thucydides tests, add the 'phantomjs.binary.path' property into a thucydides.properties file in your home directory.
     private void setPhantomJSPathIfNotSet() {
+        if (phantomJSPathChecked) {
+            return;
+        }
+        synchronized (PHANTOMJS_PATH_LOCK) {
+            if (!phantomJSPathChecked) {
+                findPhantomJSPathIfNotSet();
+                phantomJSPathChecked = true;
+            }
+        }
+    }
+
+    private void findPhantomJSPathIfNotSet() {
         if (!phantomJSIsAvailable()) {
             LOGGER.info("PhantomJS not on path, trying to get path from PHANTOMJS_BINARY_PATH");
             String phantomJSPath = System.getProperty(PhantomJSDriverService.PHANTOMJS_EXECUTABLE_PATH_PROPERTY);
@@ -242,8 +294,18 @@ public class WebDriverFactory {
         if (ThucydidesSystemProperty.WEBDRIVER_TIMEOUTS_IMPLICITLYWAIT.isDefinedIn(environmentVariables)) {
             int timeout = environmentVariables.getPropertyAsInteger(ThucydidesSystemProperty.WEBDRIVER_TIMEOUTS_IMPLICITLYWAIT
                                                                                             .getPropertyName(),0);
+            // Drivers start with no implicit wait, so there is no need to ask the browser to set it to zero.
+            if (timeout > 0) {
+                driver.manage().timeouts().implicitlyWait(timeout, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
 
-            driver.manage().timeouts().implicitlyWait(timeout, TimeUnit.MILLISECONDS);
+    private void setScriptTimeoutIfSpecified(WebDriver driver) {
+        int timeout = environmentVariables.getPropertyAsInteger(ThucydidesSystemProperty.WEBDRIVER_TIMEOUTS_SCRIPT
+                                                                                        .getPropertyName(),0);
+        if (timeout > 0) {
+            driver.manage().timeouts().setScriptTimeout(timeout, TimeUnit.MILLISECONDS);
         }
     }
 
@@ -435,20 +497,26 @@ public class WebDriverFactory {
     }
 
     public void setupFixtureServices() throws FixtureException {
-        for(FixtureService fixtureService : fixtureProviderService.getFixtureServices()) {
-            fixtureService.setup();
+        synchronized (FIXTURE_SERVICES_LOCK) {
+            for(FixtureService fixtureService : fixtureProviderService.getFixtureServices()) {
+                fixtureService.setup();
+            }
         }
     }
 
     public void shutdownFixtureServices() {
-        for(FixtureService fixtureService : fixtureProviderService.getFixtureServices()) {
-            fixtureService.shutdown();
+        synchronized (FIXTURE_SERVICES_LOCK) {
+            for(FixtureService fixtureService : fixtureProviderService.getFixtureServices()) {
+                fixtureService.shutdown();
+            }
         }
     }
 
     private void addCapabilitiesFromFixtureServicesTo(DesiredCapabilities capabilities) {
-        for(FixtureService fixtureService : fixtureProviderService.getFixtureServices()) {
-            fixtureService.addCapabilitiesTo(capabilities);
+        synchronized (FIXTURE_SERVICES_LOCK) {
+            for(FixtureService fixtureService : fixtureProviderService.getFixtureServices()) {
+                fixtureService.addCapabilitiesTo(capabilities);
+            }
         }
     }
 
@@ -501,6 +569,11 @@ public class WebDriverFactory {
             List<String> arguments = new OptionsSplitter().split(chromeSwitches);
             options.addArguments(arguments);
         }
+        if (browserDimensionsSpecified() && !StringUtils.contains(chromeSwitches, "window-size")) {
+            Dimension size = getRequestedBrowserSize();
+            options.addArguments("--window-size=" + size.width + "," + size.height);
+            windowSizeSetOnStartup.set(true);
+        }
         return options;
     }
 
@@ -524,7 +597,7 @@ public class WebDriverFactory {
     }
 
     private void redimensionBrowser(final WebDriver driver) {
-        if (supportsScreenResizing(driver) && browserDimensionsSpecified()) {
+        if (supportsScreenResizing(driver) && browserDimensionsSpecified() && !Boolean.TRUE.equals(windowSizeSetOnStartup.get())) {
             resizeBrowserTo(driver,
                     getRequestedBrowserSize().height,
                     getRequestedBrowserSize().width);
@@ -551,7 +624,9 @@ public class WebDriverFactory {
 
         if (usesFirefox(driver) || usesInternetExplorer(driver) || usesPhantomJS(driver)) {
             driver.manage().window().setSize(new Dimension(width, height));
-        } else if (usesChrome(driver)) {
+            return;
+        }
+        if (usesChrome(driver)) {
             ((JavascriptExecutor) driver).executeScript("window.open('about:blank','_blank','width=#{width},height=#{height}');");
             Set<String> windowHandles = driver.getWindowHandles();
             windowHandles.remove(driver.getWindowHandle());
@@ -693,7 +768,11 @@ public class WebDriverFactory {
     }
 
     private FirefoxProfile getProfileFrom(final String profileName) {
-        FirefoxProfile profile = getAllProfiles().getProfile(profileName);
+        ProfilesIni profiles = getAllProfiles();
+        FirefoxProfile profile;
+        synchronized (profiles) {
+            profile = profiles.getProfile(profileName);
+        }
         if (profile == null) {
             profile = useExistingFirefoxProfile(new File(profileName));
         }
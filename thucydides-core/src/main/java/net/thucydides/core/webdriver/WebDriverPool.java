@@ -0,0 +1,264 @@
+package net.thucydides.core.webdriver;
+
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.thucydides.core.ThucydidesSystemProperty;
+import net.thucydides.core.util.EnvironmentVariables;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps browsers of each driver type open and ready to use, so that tests that restart the browser
+ * do not have to wait for a new one to start.
+ * When a test has finished with a browser, it goes back to the pool until it has been used the maximum number of times.
+ * Before a browser is reused, the cookies and web storage of the site it was last showing are cleared.
+ * WebDriver can only reach the cookies of the current domain, so cookies set by other sites visited during a test
+ * are not cleared, and can still be seen by the next test that uses the same browser.
+ * The pool size is the number of browsers kept for each driver type, including the ones being used by tests:
+ * whenever there are fewer, new browsers are started in the background.
+ * The pool is only used if thucydides.driver.pool.size is set to a positive number.
+ */
+public class WebDriverPool {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebDriverPool.class);
+
+    private static final int DEFAULT_MAXIMUM_REUSE = 20;
+
+    private static final String CLEAR_WEB_STORAGE
+            = "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}";
+
+    private final WebDriverFactory webDriverFactory;
+    private final int poolSize;
+    private final int maximumReuse;
+
+    private final ConcurrentMap<Class<? extends WebDriver>, BlockingQueue<WebDriver>> idleDrivers
+            = new ConcurrentHashMap<Class<? extends WebDriver>, BlockingQueue<WebDriver>>();
+    private final ConcurrentMap<Class<? extends WebDriver>, AtomicInteger> driversBeingStarted
+            = new ConcurrentHashMap<Class<? extends WebDriver>, AtomicInteger>();
+    private final ConcurrentMap<Class<? extends WebDriver>, AtomicInteger> driversInUse
+            = new ConcurrentHashMap<Class<? extends WebDriver>, AtomicInteger>();
+    private final Map<WebDriver, Integer> timesUsed = new ConcurrentHashMap<WebDriver, Integer>();
+
+    private volatile boolean shutdown = false;
+
+    /**
+     * All the pools share one background thread to start browsers, and one shutdown hook to close them.
+     * Pools are only weakly referenced here, so that a pool that is no longer used can be garbage collected.
+     */
+    private static final ExecutorService DRIVER_STARTER
+            = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setDaemon(true)
+                                                                          .setNameFormat("thucydides-driver-pool-%d")
+                                                                          .build());
+
+    private static final Set<WebDriverPool> OPEN_POOLS
+            = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<WebDriverPool, Boolean>()));
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                shutdownAllPools();
+            }
+        }));
+    }
+
+    public WebDriverPool(WebDriverFactory webDriverFactory, int poolSize, int maximumReuse) {
+        this.webDriverFactory = webDriverFactory;
+        this.poolSize = poolSize;
+        this.maximumReuse = Math.max(1, maximumReuse);
+        OPEN_POOLS.add(this);
+    }
+
+    private static void shutdownAllPools() {
+        List<WebDriverPool> openPools;
+        synchronized (OPEN_POOLS) {
+            openPools = new ArrayList<WebDriverPool>(OPEN_POOLS);
+        }
+        for (WebDriverPool pool : openPools) {
+            pool.shutdown();
+        }
+        DRIVER_STARTER.shutdownNow();
+    }
+
+    /**
+     * @return a driver pool if one is configured for these tests.
+     */
+    public static Optional<WebDriverPool> fromConfiguration(WebDriverFactory webDriverFactory,
+                                                            EnvironmentVariables environmentVariables) {
+        int poolSize = environmentVariables.getPropertyAsInteger(ThucydidesSystemProperty.THUCYDIDES_DRIVER_POOL_SIZE, 0);
+        if (poolSize <= 0) {
+            return Optional.absent();
+        }
+        int maximumReuse = environmentVariables.getPropertyAsInteger(ThucydidesSystemProperty.THUCYDIDES_DRIVER_POOL_MAX_REUSE,
+                                                                     DEFAULT_MAXIMUM_REUSE);
+        return Optional.of(new WebDriverPool(webDriverFactory, poolSize, maximumReuse));
+    }
+
+    /**
+     * Take a ready browser from the pool, or start a new one if none are ready yet.
+     */
+    public WebDriver acquire(Class<? extends WebDriver> driverClass) {
+        WebDriver driver = idleDriversFor(driverClass).poll();
+        if (driver == null) {
+            driver = newDriver(driverClass);
+        }
+        timesUsed.put(driver, timesUsed(driver) + 1);
+        counterFor(driversInUse, driverClass).incrementAndGet();
+        replenish(driverClass);
+        return driver;
+    }
+
+    /**
+     * Give a browser back to the pool once a test has finished with it.
+     * The cookies and web storage of the current site are cleared, and the browser is sent to a blank page,
+     * or it is closed if it cannot be reused.
+     */
+    public void release(Class<? extends WebDriver> driverClass, WebDriver driver) {
+        BlockingQueue<WebDriver> idle = idleDriversFor(driverClass);
+        int stillInUse = counterFor(driversInUse, driverClass).decrementAndGet();
+        if (!shutdown && (timesUsed(driver) < maximumReuse) && (idle.size() + stillInUse < poolSize) && clearedCurrentSite(driver)) {
+            idle.offer(driver);
+        } else {
+            quitSafely(driver);
+            replenish(driverClass);
+        }
+    }
+
+    public int getIdleDriverCount(Class<? extends WebDriver> driverClass) {
+        return idleDriversFor(driverClass).size();
+    }
+
+    /**
+     * Close the browsers waiting in the pool.
+     * The pool can still be used afterwards: new browsers are started when they are next needed.
+     */
+    public void closeIdleDrivers() {
+        for (BlockingQueue<WebDriver> idle : idleDrivers.values()) {
+            List<WebDriver> drivers = new ArrayList<WebDriver>();
+            idle.drainTo(drivers);
+            for (WebDriver driver : drivers) {
+                quitSafely(driver);
+            }
+        }
+    }
+
+    /**
+     * Close all the browsers waiting in the pool, and stop using it.
+     * This is done when the JVM shuts down: browsers released after this are closed rather than kept.
+     */
+    public void shutdown() {
+        shutdown = true;
+        OPEN_POOLS.remove(this);
+        closeIdleDrivers();
+    }
+
+    private void replenish(final Class<? extends WebDriver> driverClass) {
+        if (shutdown) {
+            return;
+        }
+        final AtomicInteger starting = counterFor(driversBeingStarted, driverClass);
+        AtomicInteger inUse = counterFor(driversInUse, driverClass);
+        while (idleDriversFor(driverClass).size() + starting.get() + inUse.get() < poolSize) {
+            starting.incrementAndGet();
+            try {
+                DRIVER_STARTER.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            WebDriver driver = newDriver(driverClass);
+                            if (shutdown) {
+                                quitSafely(driver);
+                            } else {
+                                idleDriversFor(driverClass).offer(driver);
+                            }
+                        } catch (RuntimeException e) {
+                            LOGGER.warn("Could not start a new browser for the driver pool: " + e.getMessage());
+                        } finally {
+                            starting.decrementAndGet();
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                starting.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private WebDriver newDriver(Class<? extends WebDriver> driverClass) {
+        webDriverFactory.setupFixtureServices();
+        return webDriverFactory.newWebdriverInstance(driverClass);
+    }
+
+    /**
+     * Only the cookies of the current domain, and the web storage of the current origin, can be cleared:
+     * this is not a full reset of the browser state.
+     */
+    private boolean clearedCurrentSite(WebDriver driver) {
+        try {
+            if (driver.getWindowHandles().size() > 1) {
+                return false;
+            }
+            driver.manage().deleteAllCookies();
+            if (driver instanceof JavascriptExecutor) {
+                ((JavascriptExecutor) driver).executeScript(CLEAR_WEB_STORAGE);
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (WebDriverException e) {
+            LOGGER.debug("Could not clean up the browser for reuse: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void quitSafely(WebDriver driver) {
+        timesUsed.remove(driver);
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            LOGGER.warn("Error while quitting the driver (" + e.getMessage() + ")");
+        }
+    }
+
+    private int timesUsed(WebDriver driver) {
+        Integer uses = timesUsed.get(driver);
+        return (uses == null) ? 0 : uses;
+    }
+
+    private BlockingQueue<WebDriver> idleDriversFor(Class<? extends WebDriver> driverClass) {
+        BlockingQueue<WebDriver> idle = idleDrivers.get(driverClass);
+        if (idle == null) {
+            idleDrivers.putIfAbsent(driverClass, new LinkedBlockingQueue<WebDriver>());
+            idle = idleDrivers.get(driverClass);
+        }
+        return idle;
+    }
+
+    private AtomicInteger counterFor(ConcurrentMap<Class<? extends WebDriver>, AtomicInteger> counters,
+                                     Class<? extends WebDriver> driverClass) {
+        AtomicInteger counter = counters.get(driverClass);
+        if (counter == null) {
+            counters.putIfAbsent(driverClass, new AtomicInteger());
+            counter = counters.get(driverClass);
+        }
+        return counter;
+    }
+}
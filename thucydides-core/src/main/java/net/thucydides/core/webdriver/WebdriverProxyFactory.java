@@ -55,6 +55,19 @@ public class WebdriverProxyFactory implements Serializable {
         }
     }
 
+    /**
+     * A proxy that takes its browser from the given driver pool, and gives it back to the pool when the test is done with it.
+     */
+    public WebDriverFacade proxyFor(final Class<? extends WebDriver> driverClass,
+                                    final WebDriverFactory webDriverFactory,
+                                    final WebDriverPool driverPool) {
+        if (mockDriver != null) {
+            return mockDriver;
+        } else {
+            return new PooledWebDriverFacade(driverClass, webDriverFactory, driverPool);
+        }
+    }
+
     public void registerListener(final ThucydidesWebDriverEventListener eventListener) {
         eventListeners.add(eventListener);
     }
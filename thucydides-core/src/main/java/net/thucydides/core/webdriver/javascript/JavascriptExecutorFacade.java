@@ -21,6 +21,8 @@ import static net.thucydides.core.webdriver.javascript.JavascriptSupport.javascr
  * Simple encapsulation of Javascript execution.
  */
 public class JavascriptExecutorFacade {
+    private static final String JAVASCRIPT_UTILS_MISSING = "thucydides:javascript-utils-missing";
+
     private WebDriver driver;
     private ObjectMapper mapper;
     private InjectableValues inject;
@@ -60,10 +62,33 @@ public class JavascriptExecutorFacade {
         }
     }
     
+    /**
+     * Execute some asynchronous Javascript, which signals that it is done by calling the callback passed
+     * as its last argument.
+     */
+    public Object executeAsyncScript(final String script, final Object... params) {
+        if (javascriptIsSupportedIn(driver)) {
+            JavascriptExecutor js = getJavascriptEnabledDriver();
+            return js.executeAsyncScript(script, params);
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * The JSON utilities are only injected if the page does not have them yet: the check is done
+     * by the same call that runs the script, so in most cases only one call is needed.
+     */
     private String executeAndGetJsonAsString(final String script, final Object... params){
-    	JQueryEnabledPage jQueryEnabledPage = JQueryEnabledPage.withDriver(getRealDriver());
-        jQueryEnabledPage.injectJavaScriptUtils();
-    	return (String)executeScript("return JSON.stringify(JSON.decycle(function(arguments){"+ script + "}(arguments)));", params);
+        String jsonScript = "if (typeof JSON.decycle !== 'function') { return '" + JAVASCRIPT_UTILS_MISSING + "'; }"
+                          + "return JSON.stringify(JSON.decycle(function(arguments){"+ script + "}(arguments)));";
+        String json = (String) executeScript(jsonScript, params);
+        if (JAVASCRIPT_UTILS_MISSING.equals(json)) {
+            JQueryEnabledPage jQueryEnabledPage = JQueryEnabledPage.withDriver(getRealDriver());
+            jQueryEnabledPage.injectJavaScriptUtils();
+            json = (String) executeScript(jsonScript, params);
+        }
+        return json;
     }    
     
     private <T> T deserializeJsonAs(Class<T> classOfT, final String objString){
@@ -130,5 +130,15 @@ class WhenUsingTheSmartAnnotations extends Specification {
         AnnotatedPageSample.class.getField("bySCLocatorLong")   | net.thucydides.core.annotations.findby.By.ByScLocator
     }
 
-
+    def "should only build the locator for a field once"() {
+        given:
+        def field = AnnotatedPageSample.class.getField("byJQuery")
+        when:
+        def locator = SmartAnnotations.locatorFor(field)
+        def locatorForAnotherCopyOfTheField = SmartAnnotations.locatorFor(AnnotatedPageSample.class.getField("byJQuery"))
+        then:
+        locatorForAnotherCopyOfTheField.is(locator)
+        and:
+        locator.class == net.thucydides.core.annotations.findby.By.ByjQuerySelector
+    }
 }
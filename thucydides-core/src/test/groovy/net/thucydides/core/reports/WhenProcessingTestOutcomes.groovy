@@ -29,6 +29,46 @@ class WhenProcessingTestOutcomes extends Specification {
         testOutcomes.size() == 220
     }
 
+    def "should load test outcomes in the same title order every time"() {
+        when:
+            def firstLoad = loader.forFormat(OutcomeFormat.JSON).loadFrom(directoryInClasspathCalled("/test-outcomes/lots-of-tests"))
+            def secondLoad = loader.forFormat(OutcomeFormat.JSON).loadFrom(directoryInClasspathCalled("/test-outcomes/lots-of-tests"))
+        then:
+            firstLoad.collect { it.title } == firstLoad.collect { it.title }.sort(false)
+            firstLoad.collect { it.reportName } == secondLoad.collect { it.reportName }
+    }
+
+    def "should pass each test outcome to a listener"() {
+        given:
+            def processedFiles = Collections.synchronizedSet(new HashSet<String>())
+            def listener = { File reportFile, TestOutcome testOutcome -> processedFiles.add(reportFile.name) } as TestOutcomeLoader.OutcomeFileListener
+        when:
+            loader.forFormat(OutcomeFormat.JSON).processOutcomesFrom(directoryInClasspathCalled("/test-outcomes/lots-of-tests"), listener)
+        then:
+            processedFiles.size() == 220
+    }
+
+    def "should not keep the test outcomes that are only passed to a listener"() {
+        given:
+            def processedOutcomes = Collections.synchronizedList(new ArrayList<TestOutcome>())
+            def listener = { File reportFile, TestOutcome testOutcome -> processedOutcomes.add(testOutcome) } as TestOutcomeLoader.OutcomeFileListener
+        when:
+            def keptOutcomes = loader.forFormat(OutcomeFormat.JSON).load(directoryInClasspathCalled("/test-outcomes/lots-of-tests"), listener, false)
+        then:
+            processedOutcomes.size() == 220
+            keptOutcomes.isEmpty()
+    }
+
+    def "should report listener failures as IO exceptions"() {
+        given:
+            def listener = { File reportFile, TestOutcome testOutcome -> throw new IOException("disk full") } as TestOutcomeLoader.OutcomeFileListener
+        when:
+            loader.forFormat(OutcomeFormat.JSON).processOutcomesFrom(directoryInClasspathCalled("/test-outcomes/lots-of-tests"), listener)
+        then:
+            IOException e = thrown()
+            e.message == "disk full"
+    }
+
     EnvironmentVariables environmentVariables = new MockEnvironmentVariables()
 
     def "should load tests in JSON if configured"() {
@@ -182,6 +222,25 @@ class WhenProcessingTestOutcomes extends Specification {
         tests everyItem(havingTagName("a story"))
     }
 
+    def "should find tests by tag name regardless of case"() {
+        given:
+        TestOutcomes testOutcomes = TestOutcomeLoader.loadTestOutcomes().inFormat(OutcomeFormat.XML).from(directoryInClasspathCalled("/tagged-test-outcomes"));
+        when:
+        def tests = testOutcomes.withTag("A Story").getOutcomes()
+        then:
+        tests == testOutcomes.withTag("a story").getOutcomes()
+        !tests.isEmpty()
+    }
+
+    def "filtered test outcomes should keep the order of the original test outcomes"() {
+        given:
+        TestOutcomes testOutcomes = TestOutcomeLoader.loadTestOutcomes().inFormat(OutcomeFormat.XML).from(directoryInClasspathCalled("/tagged-test-outcomes"));
+        when:
+        def filteredTests = testOutcomes.withTagType("story").getOutcomes()
+        then:
+        filteredTests == testOutcomes.getOutcomes().findAll { outcome -> outcome.tags.any { it.type == "story" } }
+    }
+
 
     def "should list all passing tests"() {
         given:
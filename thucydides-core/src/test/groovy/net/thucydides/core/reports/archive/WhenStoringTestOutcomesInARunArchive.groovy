@@ -0,0 +1,181 @@
+package net.thucydides.core.reports.archive
+
+import com.github.goldin.spock.extensions.tempdir.TempDir
+import net.thucydides.core.model.TestOutcome
+import net.thucydides.core.reports.OutcomeFormat
+import net.thucydides.core.reports.TestOutcomeLoader
+import net.thucydides.core.reports.TestOutcomes
+import net.thucydides.core.reports.binary.BinaryOutcomeConverter
+import net.thucydides.core.reports.integration.TestStepFactory
+import net.thucydides.core.util.MockEnvironmentVariables
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class WhenStoringTestOutcomesInARunArchive extends Specification {
+
+    @TempDir
+    File outputDirectory
+
+    TestOutcomes allTestOutcomes = Mock();
+
+    def converter = new BinaryOutcomeConverter(false)
+
+    class SomeTestScenario {
+        public void should_do_this() {
+        }
+    }
+
+    def cleanup() {
+        ArchiveTestOutcomeReporter.closeAllArchives()
+    }
+
+    def "should read back test outcomes appended concurrently from several threads"() {
+        given:
+        def reporter = new ArchiveTestOutcomeReporter(new MockEnvironmentVariables())
+        reporter.setOutputDirectory(outputDirectory)
+        def executor = Executors.newFixedThreadPool(8)
+        when:
+        def results = (0..<200).collect { index ->
+            executor.submit({ reporter.generateReportFor(anOutcomeCalled("test_${index}"), allTestOutcomes) } as Callable)
+        }.collect { it.get() }
+        executor.shutdown()
+        ArchiveTestOutcomeReporter.closeAllArchives()
+        then:
+        results.unique().size() == 1
+        and:
+        def outcomes = reporter.loadOutcomesFrom(results[0])
+        outcomes.size() == 200
+        outcomes*.methodName.toSet() == (0..<200).collect { "test_${it}".toString() }.toSet()
+    }
+
+    def "should find the records using the index once the archive is closed"() {
+        given:
+        def archiveFile = new File(outputDirectory, "closed.archive")
+        def writer = new OutcomeArchiveWriter(archiveFile)
+        3.times { appendTo(writer, anOutcomeCalled("test_${it}")) }
+        writer.close()
+        when:
+        def reader = new OutcomeArchiveReader(archiveFile)
+        then:
+        reader.recordCount == 3
+        reader.readOutcome(2).methodName == "test_2"
+        cleanup:
+        reader?.close()
+    }
+
+    def "should find the records in an archive that was never closed"() {
+        given:
+        def archiveFile = new File(outputDirectory, "unclosed.archive")
+        def writer = new OutcomeArchiveWriter(archiveFile)
+        3.times { appendTo(writer, anOutcomeCalled("test_${it}")) }
+        when:
+        def reader = new OutcomeArchiveReader(archiveFile)
+        then:
+        reader.recordCount == 3
+        reader.readOutcome(1).methodName == "test_1"
+        cleanup:
+        reader?.close()
+        writer.close()
+    }
+
+    def "should ignore a record that was only partly written"() {
+        given:
+        def archiveFile = new File(outputDirectory, "truncated.archive")
+        def writer = new OutcomeArchiveWriter(archiveFile)
+        3.times { appendTo(writer, anOutcomeCalled("test_${it}")) }
+        writer.close()
+        def completeRecords = new File(outputDirectory, "complete.archive")
+        def completeWriter = new OutcomeArchiveWriter(completeRecords)
+        2.times { appendTo(completeWriter, anOutcomeCalled("test_${it}")) }
+        def twoRecordsLength = completeRecords.length()
+        completeWriter.close()
+        and:
+        def truncatedArchive = new RandomAccessFile(archiveFile, "rw")
+        truncatedArchive.setLength(twoRecordsLength + 10)
+        truncatedArchive.close()
+        when:
+        def reader = new OutcomeArchiveReader(archiveFile)
+        then:
+        reader.recordCount == 2
+        reader.readOutcome(1).methodName == "test_1"
+        cleanup:
+        reader?.close()
+    }
+
+    def "should not load files that are not run archives"() {
+        given:
+        def notAnArchive = new File(outputDirectory, "not-an-archive.archive")
+        notAnArchive.text = "{'title':'not an archive'}"
+        expect:
+        new ArchiveTestOutcomeReporter(new MockEnvironmentVariables()).loadOutcomesFrom(notAnArchive).isEmpty()
+    }
+
+    def "should load the archived test outcomes for aggregate reports"() {
+        given:
+        def reporter = new ArchiveTestOutcomeReporter(new MockEnvironmentVariables())
+        reporter.setOutputDirectory(outputDirectory)
+        40.times { reporter.generateReportFor(anOutcomeCalled("test_${it}"), allTestOutcomes) }
+        ArchiveTestOutcomeReporter.closeAllArchives()
+        when:
+        def outcomes = TestOutcomeLoader.loadTestOutcomes().inFormat(OutcomeFormat.ARCHIVE).from(outputDirectory)
+        then:
+        outcomes.outcomes.size() == 40
+    }
+
+    def "should only load the latest outcome of a test that was run again in a later test run"() {
+        given:
+        def earlierRun = new File(outputDirectory, "earlier-run.archive")
+        def earlierWriter = new OutcomeArchiveWriter(earlierRun)
+        appendTo(earlierWriter, anOutcomeCalled("test_1"))
+        appendTo(earlierWriter, anOutcomeCalled("test_2"))
+        earlierWriter.close()
+        earlierRun.setLastModified(earlierRun.lastModified() - 60000)
+        and:
+        def laterRun = new File(outputDirectory, "later-run.archive")
+        def laterWriter = new OutcomeArchiveWriter(laterRun)
+        appendTo(laterWriter, anOutcomeCalled("test_2", "Step for the second run"))
+        laterWriter.close()
+        when:
+        def outcomes = new ArchiveTestOutcomeReporter(new MockEnvironmentVariables()).loadReportsFrom(outputDirectory)
+        then:
+        outcomes.size() == 2
+        outcomes.find { it.methodName == "test_2" }.testSteps[0].description == "Step for the second run"
+        and:
+        TestOutcomeLoader.loadTestOutcomes().inFormat(OutcomeFormat.ARCHIVE).from(outputDirectory).outcomes.size() == 2
+    }
+
+    def "should give each archived outcome its own digest"() {
+        given:
+        def archiveFile = new File(outputDirectory, "digests.archive")
+        def writer = new OutcomeArchiveWriter(archiveFile)
+        appendTo(writer, anOutcomeCalled("test_1"))
+        appendTo(writer, anOutcomeCalled("test_2"))
+        writer.close()
+        when:
+        def reader = new OutcomeArchiveReader(archiveFile)
+        def digests = OutcomeArchiveReader.latestOutcomesIn([reader])*.digest()
+        then:
+        digests.size() == 2
+        digests[0] != digests[1]
+        cleanup:
+        reader?.close()
+    }
+
+    def anOutcomeCalled(String name, String stepName = "Step for ${name}") {
+        def testOutcome = TestOutcome.forTest(name, SomeTestScenario.class)
+        testOutcome.recordStep(TestStepFactory.successfulTestStepCalled(stepName))
+        return testOutcome
+    }
+
+    def appendTo(OutcomeArchiveWriter writer, TestOutcome testOutcome) {
+        writer.append(testOutcome.reportName, binaryOutcome(testOutcome))
+    }
+
+    def binaryOutcome(TestOutcome testOutcome) {
+        def bytes = new ByteArrayOutputStream()
+        converter.toBinary(testOutcome, bytes)
+        return bytes.toByteArray()
+    }
+}
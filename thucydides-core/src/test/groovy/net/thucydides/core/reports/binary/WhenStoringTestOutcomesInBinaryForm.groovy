@@ -0,0 +1,157 @@
+package net.thucydides.core.reports.binary
+
+import com.github.goldin.spock.extensions.tempdir.TempDir
+import net.thucydides.core.annotations.Story
+import net.thucydides.core.annotations.WithTag
+import net.thucydides.core.model.DataTable
+import net.thucydides.core.model.TestOutcome
+import net.thucydides.core.reports.OutcomeFormat
+import net.thucydides.core.reports.TestOutcomeLoader
+import net.thucydides.core.reports.TestOutcomes
+import net.thucydides.core.reports.integration.TestStepFactory
+import net.thucydides.core.reports.json.JSONTestOutcomeReporter
+import net.thucydides.core.reports.json.jackson.JacksonJSONConverter
+import net.thucydides.core.screenshots.ScreenshotAndHtmlSource
+import net.thucydides.core.util.MockEnvironmentVariables
+import org.joda.time.DateTime
+import org.joda.time.LocalDateTime
+import org.skyscreamer.jsonassert.JSONCompare
+import org.skyscreamer.jsonassert.JSONCompareMode
+import sample.steps.FailingStep
+import spock.lang.Specification
+
+class WhenStoringTestOutcomesInBinaryForm extends Specification {
+
+    private static final DateTime FIRST_OF_JANUARY = new LocalDateTime(2013, 1, 1, 0, 0, 0, 0).toDateTime()
+
+    def environmentVariables = new MockEnvironmentVariables()
+
+    BinaryTestOutcomeReporter reporter
+
+    @TempDir
+    File outputDirectory
+
+    TestOutcomes allTestOutcomes = Mock();
+
+    def setup() {
+        reporter = new BinaryTestOutcomeReporter(environmentVariables)
+        reporter.setOutputDirectory(outputDirectory)
+    }
+
+    class AUserStory {
+    }
+
+    @Story(AUserStory.class)
+    @WithTag(name = "important feature", type = "feature")
+    class SomeTestScenario {
+        public void should_do_this() {
+        }
+    }
+
+    def "should load the same test outcome as the JSON reports"() {
+        given:
+        def testOutcome = aDataDrivenTestOutcome()
+        when:
+        def binaryReport = reporter.generateReportFor(testOutcome, allTestOutcomes)
+        TestOutcome reloadedOutcome = reporter.loadReportFrom(binaryReport).get()
+        then:
+        JSONCompare.compareJSON(asJson(reloadedFromJson(testOutcome)), asJson(reloadedOutcome), JSONCompareMode.NON_EXTENSIBLE).passed()
+        and:
+        reloadedOutcome.startTime == testOutcome.startTime
+        reloadedOutcome.dataTable.rows.size() == 100
+        reloadedOutcome.testSteps.size() == 101
+    }
+
+    def "should load the same test outcome from compressed binary outcomes"() {
+        given:
+        environmentVariables.setProperty("thucydides.binary.outcome.compression", "true")
+        def compressingReporter = new BinaryTestOutcomeReporter(environmentVariables)
+        compressingReporter.setOutputDirectory(outputDirectory)
+        def testOutcome = aDataDrivenTestOutcome()
+        when:
+        def binaryReport = compressingReporter.generateReportFor(testOutcome, allTestOutcomes)
+        TestOutcome reloadedOutcome = reporter.loadReportFrom(binaryReport).get()
+        then:
+        JSONCompare.compareJSON(asJson(reloadedFromJson(testOutcome)), asJson(reloadedOutcome), JSONCompareMode.NON_EXTENSIBLE).passed()
+    }
+
+    def "binary outcomes should be smaller than JSON outcomes"() {
+        given:
+        def testOutcome = aDataDrivenTestOutcome()
+        def jsonReporter = new JSONTestOutcomeReporter()
+        jsonReporter.setOutputDirectory(outputDirectory)
+        when:
+        def binaryReport = reporter.generateReportFor(testOutcome, allTestOutcomes)
+        def jsonReport = jsonReporter.generateReportFor(testOutcome, allTestOutcomes)
+        then:
+        binaryReport.name.endsWith(".bin")
+        binaryReport.length() < jsonReport.length() / 2
+    }
+
+    def "should ignore files that are not binary test outcomes"() {
+        given:
+        def notAnOutcome = new File(outputDirectory, "not-an-outcome.bin")
+        notAnOutcome.text = "{'title':'not a binary outcome'}"
+        expect:
+        !reporter.loadReportFrom(notAnOutcome).isPresent()
+    }
+
+    def "should ignore binary outcomes with a corrupted string length"() {
+        given:
+        def corruptedOutcome = new File(outputDirectory, "corrupted.bin")
+        corruptedOutcome.bytes = ([84, 72, 66, 79, 1, 0, 1, 5, 0] + stringLength) as byte[]
+        expect:
+        !reporter.loadReportFrom(corruptedOutcome).isPresent()
+        where:
+        stringLength << [[0xFF, 0xFF, 0xFF, 0xFF, 0x0F], [0xF0, 0xFF, 0xFF, 0xFF, 0x07]]
+    }
+
+    def "should ignore binary outcomes with an unknown test result"() {
+        given:
+        def binaryReport = reporter.generateReportFor(aDataDrivenTestOutcome(), allTestOutcomes)
+        def content = new String(binaryReport.bytes, "ISO-8859-1")
+        binaryReport.bytes = content.replace("SUCCESS", "SUCCEED").getBytes("ISO-8859-1")
+        expect:
+        !reporter.loadReportFrom(binaryReport).isPresent()
+    }
+
+    def "should load binary outcomes for aggregate reports"() {
+        given:
+        reporter.generateReportFor(aDataDrivenTestOutcome(), allTestOutcomes)
+        when:
+        def outcomes = TestOutcomeLoader.loadTestOutcomes().inFormat(OutcomeFormat.BINARY).from(outputDirectory)
+        then:
+        outcomes.outcomes.size() == 1
+    }
+
+    def aDataDrivenTestOutcome() {
+        def testOutcome = TestOutcome.forTest("should_do_this", SomeTestScenario.class)
+        testOutcome.startTime = FIRST_OF_JANUARY
+        testOutcome.description = "Some description"
+        testOutcome.useExamplesFrom(DataTable.withHeaders(["a", "b", "c"]).andTitle("a title").build())
+        100.times { row ->
+            testOutcome.addRow(["a": "${row}".toString(), "b": "Some value", "c": "-${row * 1000000000000}".toString()])
+            testOutcome.startGroup("Example ${row}")
+            testOutcome.recordStep(TestStepFactory.successfulTestStepCalled("Enter some values").startingAt(FIRST_OF_JANUARY)
+                                                  .addScreenshot(new ScreenshotAndHtmlSource(new File("screenshot${row}.png"))))
+            testOutcome.recordStep(TestStepFactory.successfulTestStepCalled("Check the results").startingAt(FIRST_OF_JANUARY))
+            testOutcome.endGroup()
+        }
+        def failingStep = TestStepFactory.failingTestStepCalled("A failing step").startingAt(FIRST_OF_JANUARY)
+        failingStep.failedWith(new FailingStep().failsWithMessage("Oh nose!"))
+        testOutcome.recordStep(failingStep)
+        return testOutcome
+    }
+
+    def reloadedFromJson(TestOutcome testOutcome) {
+        def jsonReporter = new JSONTestOutcomeReporter()
+        jsonReporter.setOutputDirectory(outputDirectory)
+        return jsonReporter.loadReportFrom(jsonReporter.generateReportFor(testOutcome, allTestOutcomes)).get()
+    }
+
+    def asJson(TestOutcome testOutcome) {
+        def json = new ByteArrayOutputStream()
+        new JacksonJSONConverter(new MockEnvironmentVariables()).toJson(testOutcome, json)
+        return json.toString("UTF-8")
+    }
+}
@@ -0,0 +1,132 @@
+package net.thucydides.core.reports.html
+
+import com.github.goldin.spock.extensions.tempdir.TempDir
+import net.thucydides.core.guice.Injectors
+import net.thucydides.core.issues.IssueTracking
+import net.thucydides.core.model.TestOutcome
+import net.thucydides.core.reports.TestOutcomes
+import net.thucydides.core.reports.archive.ArchiveTestOutcomeReporter
+import net.thucydides.core.requirements.RequirementsService
+import net.thucydides.core.util.MockEnvironmentVariables
+import org.apache.commons.io.FileUtils
+import spock.lang.Specification
+
+import static net.thucydides.core.util.TestResources.directoryInClasspathCalled
+
+class WhenGeneratingIncrementalAggregateReports extends Specification {
+
+    @TempDir File temporaryDirectory
+
+    def environmentVariables = new MockEnvironmentVariables()
+
+    File sourceDirectory
+    File outputDirectory
+
+    def setup() {
+        sourceDirectory = new File(temporaryDirectory, "source")
+        outputDirectory = new File(temporaryDirectory, "reports")
+        outputDirectory.mkdirs()
+        FileUtils.copyDirectory(directoryInClasspathCalled("/test-outcomes/containing-features-and-stories"), sourceDirectory)
+        environmentVariables.setProperty("output.formats", "xml")
+        environmentVariables.setProperty("thucydides.incremental.reports", "true")
+    }
+
+    def "should record the outcome files and generated pages in a manifest"() {
+        when:
+            aggregateReports()
+            def manifest = new Properties()
+            new File(outputDirectory, AggregateReportManifest.MANIFEST_FILE).withInputStream { manifest.load(it) }
+        then:
+            manifest.getProperty("outcome.sample-report-1.xml") != null
+            manifest.getProperty("page.index.html") != null
+    }
+
+    def "should not regenerate pages when no test outcomes have changed"() {
+        given:
+            aggregateReports()
+            def homePage = new File(outputDirectory, "index.html")
+            homePage.setLastModified(1000L)
+        when:
+            aggregateReports()
+        then:
+            homePage.lastModified() == 1000L
+    }
+
+    def "should regenerate pages whose test outcomes have changed"() {
+        given:
+            aggregateReports()
+            def homePage = new File(outputDirectory, "index.html")
+            homePage.setLastModified(1000L)
+        when:
+            new File(sourceDirectory, "sample-report-1.xml").append("\n")
+            aggregateReports()
+        then:
+            homePage.lastModified() != 1000L
+    }
+
+    def "should regenerate every page when incremental reporting is not enabled"() {
+        given:
+            aggregateReports()
+            def homePage = new File(outputDirectory, "index.html")
+            homePage.setLastModified(1000L)
+        when:
+            environmentVariables.setProperty("thucydides.incremental.reports", "false")
+            aggregateReports()
+        then:
+            homePage.lastModified() != 1000L
+    }
+
+    class SomeTestScenario {
+        public void should_do_this() {
+        }
+    }
+
+    def "should record each archived test outcome with the digest of its own record"() {
+        given:
+            def firstOutcome = TestOutcome.forTest("should_do_this", SomeTestScenario)
+            def secondOutcome = TestOutcome.forTest("should_do_that", SomeTestScenario)
+            def firstRun = archive(firstOutcome, secondOutcome)
+        when:
+            def manifest = AggregateReportManifest.loadFrom(outputDirectory)
+            manifest.recordOutcomeFile(firstOutcome, firstRun)
+            manifest.recordOutcomeFile(secondOutcome, firstRun)
+            manifest.save()
+            def savedManifest = new Properties()
+            new File(outputDirectory, AggregateReportManifest.MANIFEST_FILE).withInputStream { savedManifest.load(it) }
+        then:
+            savedManifest.getProperty("outcome.archived." + firstOutcome.reportName) !=
+                savedManifest.getProperty("outcome.archived." + secondOutcome.reportName)
+    }
+
+    def "should not treat an unchanged test outcome in a later run archive as changed"() {
+        given:
+            def outcome = TestOutcome.forTest("should_do_this", SomeTestScenario)
+            def firstRun = archive(outcome)
+            def manifest = AggregateReportManifest.loadFrom(outputDirectory)
+            manifest.recordOutcomeFile(outcome, firstRun)
+            manifest.save()
+        when:
+            def laterRun = archive(outcome, TestOutcome.forTest("should_do_that", SomeTestScenario))
+            def laterManifest = AggregateReportManifest.loadFrom(outputDirectory)
+            laterManifest.recordOutcomeFile(outcome, laterRun)
+        then:
+            laterRun != firstRun
+            !laterManifest.outcomeFileHasChanged(outcome, laterRun)
+    }
+
+    def archive(TestOutcome... outcomes) {
+        def reporter = new ArchiveTestOutcomeReporter(environmentVariables)
+        reporter.outputDirectory = new File(temporaryDirectory, "archives")
+        def archiveFile = null
+        outcomes.each { archiveFile = reporter.generateReportFor(it, Mock(TestOutcomes)) }
+        ArchiveTestOutcomeReporter.closeAllArchives()
+        return archiveFile
+    }
+
+    def aggregateReports() {
+        def reporter = new HtmlAggregateStoryReporter("project", "", Mock(IssueTracking), Injectors.injector.getInstance(RequirementsService),
+                                                      environmentVariables)
+        reporter.outputDirectory = outputDirectory
+        reporter.generateReportsForTestResultsFrom(sourceDirectory)
+    }
+}
@@ -0,0 +1,34 @@
+package net.thucydides.core.reports.html
+
+import com.github.goldin.spock.extensions.tempdir.TempDir
+import net.thucydides.core.util.MockEnvironmentVariables
+import spock.lang.Specification
+
+class WhenWritingHtmlReportPages extends Specification {
+
+    @TempDir File outputDirectory
+
+    def reporter = new HtmlReporter(new MockEnvironmentVariables()) {}
+
+    def setup() {
+        reporter.outputDirectory = outputDirectory
+        new File(outputDirectory, "page.html").text = "previous page"
+    }
+
+    def "should replace the previous page once the template has been merged"() {
+        when:
+            def page = reporter.mergeTemplate("templates/test.ftl").toReport("page.html", [name: "Joe", age: 20])
+        then:
+            page.text == "Hi Joe, aged 20. Next year you will be 21"
+            outputDirectory.list() as List == ["page.html"]
+    }
+
+    def "should leave the previous page in place if the template cannot be merged"() {
+        when:
+            reporter.mergeTemplate("templates/test-with-error.ftl").toReport("page.html", [:])
+        then:
+            thrown(RuntimeException)
+            new File(outputDirectory, "page.html").text == "previous page"
+            outputDirectory.list() as List == ["page.html"]
+    }
+}
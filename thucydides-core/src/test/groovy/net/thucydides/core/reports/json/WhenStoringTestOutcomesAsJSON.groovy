@@ -742,6 +742,52 @@ class WhenStoringTestOutcomesAsJSON extends Specification {
             !loadedOutcome.isPresent()
     }
 
+    def "should not validate the loaded test outcomes if json outcome validation is turned off"() {
+        given:
+            def environmentVariables = new MockEnvironmentVariables()
+            environmentVariables.setProperty("json.outcome.validation", "false")
+            def converter = new JacksonJSONConverter(environmentVariables)
+        when:
+            def loadedOutcome = converter.fromJson(new ByteArrayInputStream('{"title":"A test without a name"}'.getBytes("UTF-8")))
+        then:
+            loadedOutcome.title == "A test without a name"
+    }
+
+    def "should write the same test steps after reloading them"() {
+        given:
+            def testOutcome = TestOutcome.forTest("a_nested_test_case", SomeNestedTestScenario.class);
+            testOutcome.setStartTime(FIRST_OF_JANUARY);
+            testOutcome.recordStep(TestStepFactory.successfulTestStepCalled("Group 1").startingAt(FIRST_OF_JANUARY)
+                                                  .addScreenshot(new ScreenshotAndHtmlSource(new File("group.png"), new File("group.html"))))
+            testOutcome.startGroup()
+            testOutcome.recordStep(TestStepFactory.successfulTestStepCalled("step 1").startingAt(FIRST_OF_JANUARY))
+            def failingStep = TestStepFactory.failingTestStepCalled("step 2").startingAt(FIRST_OF_JANUARY)
+            def failure = new FailingStep().failsWithMessage("Oh nose!")
+            failure.stackTrace = [new StackTraceElement("sample.steps.FailingStep", "failsWithMessage", "FailingStep.java", 9)]
+            failingStep.failedWith(failure)
+            failingStep.duration = 1500
+            testOutcome.recordStep(failingStep)
+            testOutcome.endGroup()
+            def converter = new JacksonJSONConverter(new MockEnvironmentVariables())
+        when:
+            def reloadedOutcome = reloaded(testOutcome, converter)
+        then:
+            reloadedOutcome.testSteps[0].startTime == FIRST_OF_JANUARY.millis
+            reloadedOutcome.testSteps[0].children[1].exception.message == "Oh nose!"
+            JSONCompare.compareJSON(asJson(testOutcome, converter), asJson(reloadedOutcome, converter),
+                                    JSONCompareMode.NON_EXTENSIBLE).passed()
+    }
+
+    def reloaded(TestOutcome testOutcome, JacksonJSONConverter converter) {
+        return converter.fromJson(new ByteArrayInputStream(asJson(testOutcome, converter).getBytes("UTF-8")))
+    }
+
+    def asJson(TestOutcome testOutcome, JacksonJSONConverter converter) {
+        def json = new ByteArrayOutputStream()
+        converter.toJson(testOutcome, json)
+        return json.toString("UTF-8")
+    }
+
 
     def "should read a test outcome with tags"() {
         given:
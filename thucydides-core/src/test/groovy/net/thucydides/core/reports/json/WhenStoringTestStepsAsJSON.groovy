@@ -1,5 +1,6 @@
 package net.thucydides.core.reports.json
 
+import com.fasterxml.jackson.databind.JsonMappingException
 import net.thucydides.core.model.TestResult
 import net.thucydides.core.model.TestStep
 import net.thucydides.core.reports.json.jackson.JacksonJSONConverter
@@ -59,6 +60,13 @@ class WhenStoringTestStepsAsJSON extends Specification {
         simpleStepJson  | simpleStep
     }
 
+    def "should report an unknown test result as a mapping error"() {
+        when:
+            converter.mapper.readValue(new StringReader(simpleStepJson.replace("SUCCESS", "SUCCEED")), TestStep)
+        then:
+            thrown(JsonMappingException)
+    }
+
     def "should read and write a test step containing an error"() {
         given:
             TestStep stepWithError = TestStep.forStepCalled("some step").withResult(TestResult.ERROR)
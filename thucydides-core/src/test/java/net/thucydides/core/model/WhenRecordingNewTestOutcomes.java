@@ -236,6 +236,50 @@ public class WhenRecordingNewTestOutcomes {
         assertThat(outcome.getResult(), is(TestResult.PENDING));
     }
 
+    @Test
+    public void a_frozen_test_outcome_should_cache_its_step_lists() {
+        testOutcome.recordStep(forASuccessfulTestStepCalled("Step 1"));
+        testOutcome.recordStep(forAPendingTestStepCalled("Step 2"));
+        testOutcome.freeze();
+
+        assertThat(testOutcome.getLeafTestSteps(), is(sameInstance(testOutcome.getLeafTestSteps())));
+        assertThat(testOutcome.getFlattenedTestSteps(), is(sameInstance(testOutcome.getFlattenedTestSteps())));
+        assertThat(testOutcome.getResult(), is(TestResult.PENDING));
+        assertThat(testOutcome.getPendingCount(), is(1));
+    }
+
+    @Test
+    public void the_cached_step_lists_of_a_frozen_test_outcome_should_not_be_modifiable() {
+        testOutcome.recordStep(forASuccessfulTestStepCalled("Step 1"));
+        testOutcome.freeze();
+
+        try {
+            testOutcome.getLeafTestSteps().add(forASuccessfulTestStepCalled("Step 2"));
+            fail("The leaf test steps should not be modifiable");
+        } catch (UnsupportedOperationException expected) {}
+        try {
+            testOutcome.getFlattenedTestSteps().clear();
+            fail("The flattened test steps should not be modifiable");
+        } catch (UnsupportedOperationException expected) {}
+
+        assertThat(testOutcome.getLeafTestSteps().size(), is(1));
+        assertThat(testOutcome.getFlattenedTestSteps().size(), is(1));
+    }
+
+    @Test
+    public void recording_a_step_should_unfreeze_a_frozen_test_outcome() {
+        testOutcome.recordStep(forASuccessfulTestStepCalled("Step 1"));
+        testOutcome.freeze();
+        assertThat(testOutcome.getResult(), is(TestResult.SUCCESS));
+
+        testOutcome.recordStep(forABrokenTestStepCalled("Step 2", new AssertionError("Oh bother!")));
+
+        assertThat(testOutcome.isFrozen(), is(false));
+        assertThat(testOutcome.getResult(), is(TestResult.FAILURE));
+        assertThat(testOutcome.getLeafTestSteps().size(), is(2));
+        assertThat(testOutcome.getFailureCount(), is(1));
+    }
+
     @Test
     public void a_qualified_test_outcome_title_should_contain_the_qualifier() {
         TestOutcome outcome = TestOutcome.forTest("should_do_this", SomeAnnotatedTestScenario.class);
@@ -1,5 +1,7 @@
 package net.thucydides.core.pages;
 
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
 import net.thucydides.core.webdriver.javascript.JavascriptExecutorFacade;
 import org.junit.Before;
 import org.junit.Test;
@@ -9,12 +11,15 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.support.pagefactory.ElementLocator;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.anyObject;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -296,4 +301,92 @@ public class WhenManinpulatingWebElements {
         WebElementFacade webElementFacade = WebElementFacadeImpl.wrapWebElement(driver, (WebElement)null, 100);
         webElementFacade.getText();
     }
+
+    @Test
+    public void a_snapshot_should_capture_the_state_of_an_element() {
+        when(webElement.getTagName()).thenReturn("input");
+        when(webElement.isDisplayed()).thenReturn(true);
+        when(webElement.isEnabled()).thenReturn(true);
+        when(webElement.getAttribute("id")).thenReturn("firstName");
+        when(webElement.getAttribute("value")).thenReturn("Joe");
+        when(webElement.getText()).thenReturn("");
+        when(webElement.getLocation()).thenReturn(new Point(10, 20));
+        when(webElement.getSize()).thenReturn(new Dimension(100, 30));
+        WebElementFacade elementFacade = WebElementFacadeImpl.wrapWebElement(driver, webElement, 100);
+
+        WebElementSnapshot snapshot = elementFacade.snapshot();
+
+        assertThat(snapshot.isVisible(), is(true));
+        assertThat(snapshot.isEnabled(), is(true));
+        assertThat(snapshot.getTextValue(), is("Joe"));
+        assertThat(snapshot.getAttribute("id"), is("firstName"));
+        assertThat(snapshot.getSize(), is(new Dimension(100, 30)));
+        assertThat(snapshot.toString(), is("<input id='firstName' value='Joe'>"));
+    }
+
+    @Test
+    public void checks_on_a_snapshot_should_not_go_back_to_the_browser() {
+        when(webElement.isDisplayed()).thenReturn(true);
+        when(webElement.isEnabled()).thenReturn(true);
+        when(webElement.getText()).thenReturn("Hello world");
+        WebElementFacade elementFacade = WebElementFacadeImpl.wrapWebElement(driver, webElement, 100);
+
+        elementFacade.snapshot().shouldBeVisible().shouldBeEnabled().shouldContainText("Hello").shouldNotContainText("Bye");
+
+        verify(webElement, times(1)).isDisplayed();
+        verify(webElement, times(1)).getText();
+    }
+
+    @Test
+    public void a_snapshot_of_a_missing_element_should_not_be_present() {
+        WebElementFacade webElementFacade = WebElementFacadeImpl.wrapWebElement(driver, (WebElement)null, 100);
+
+        WebElementSnapshot snapshot = webElementFacade.snapshot();
+
+        assertThat(snapshot.isPresent(), is(false));
+        assertThat(snapshot.isVisible(), is(false));
+    }
+
+    @Test(expected = AssertionError.class)
+    public void a_snapshot_should_report_failed_checks() {
+        when(webElement.isDisplayed()).thenReturn(false);
+        WebElementFacade elementFacade = WebElementFacadeImpl.wrapWebElement(driver, webElement, 100);
+
+        elementFacade.snapshot().shouldBeVisible();
+    }
+
+    @Test
+    public void a_snapshot_can_be_read_from_the_state_returned_by_the_snapshot_script() {
+        Map<String, Object> state = new HashMap<String, Object>();
+        state.put("tagName", "button");
+        state.put("displayed", true);
+        state.put("enabled", false);
+        state.put("text", " Submit ");
+        state.put("attributes", ImmutableMap.of("name", "submit", "data-role", "primary"));
+        state.put("x", 5L);
+        state.put("y", 6L);
+        state.put("width", 70.4);
+        state.put("height", 20L);
+
+        WebElementSnapshot snapshot = WebElementSnapshot.fromScriptResult(state, Optional.<String>absent());
+
+        assertThat(snapshot.isEnabled(), is(false));
+        assertThat(snapshot.getText(), is("Submit"));
+        assertThat(snapshot.getAttribute("data-role"), is("primary"));
+        assertThat(snapshot.getLocation(), is(new Point(5, 6)));
+        assertThat(snapshot.getSize(), is(new Dimension(70, 20)));
+    }
+
+    @Test
+    public void the_text_value_of_a_list_item_snapshot_should_be_its_text() {
+        Map<String, Object> state = new HashMap<String, Object>();
+        state.put("tagName", "li");
+        state.put("displayed", true);
+        state.put("text", "Apples");
+        state.put("attributes", ImmutableMap.of("value", "0"));
+
+        WebElementSnapshot snapshot = WebElementSnapshot.fromScriptResult(state, Optional.<String>absent());
+
+        assertThat(snapshot.getTextValue(), is("Apples"));
+    }
 }
@@ -0,0 +1,158 @@
+package net.thucydides.core.pages.components;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.openqa.selenium.internal.WrapsDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static net.thucydides.core.matchers.BeanMatchers.the;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * The table below is read either element by element, or with the table contents script,
+ * whose result is the one the script returns for this table in a browser:
+ * <pre>
+ *     &lt;tr>&lt;th>First Name&lt;/th>&lt;th>Last Name&lt;/th>&lt;th>Favorite Colour&lt;/th>&lt;/tr>
+ *     &lt;tr>&lt;td>Tim&lt;/td>&lt;td>Brooke-Taylor&lt;/td>&lt;td>Red&lt;/td>&lt;/tr>
+ *     &lt;tr>&lt;th>Goodie&lt;/th>&lt;td>Graeme&lt;/td>&lt;td>Garden&lt;/td>&lt;td>Green&lt;/td>&lt;/tr>
+ *     &lt;tr>&lt;td colspan="3">Three clients&lt;/td>&lt;/tr>
+ *     &lt;tr>&lt;td>Bill&lt;/td>&lt;td style="display:none">Oddie&lt;/td>&lt;td>Blue&lt;/td>&lt;/tr>
+ * </pre>
+ */
+public class WhenReadingHtmlTables {
+
+    private static final List<String> HEADINGS = ImmutableList.of("First Name", "Last Name", "Favorite Colour");
+
+    @Mock
+    HtmlUnitDriver driver;
+
+    private WebElement table;
+    private WebElement timsRow;
+    private WebElement graemesRow;
+    private WebElement billsRow;
+
+    @Before
+    public void createTable() {
+        MockitoAnnotations.initMocks(this);
+        table = mock(WebElement.class, withSettings().extraInterfaces(WrapsDriver.class));
+        when(((WrapsDriver) table).getWrappedDriver()).thenReturn(driver);
+
+        timsRow = rowWithCells("Tim", "Brooke-Taylor", "Red");
+        graemesRow = rowWithCells("Graeme", "Garden", "Green");
+        billsRow = rowWithCells("Bill", "", "Blue");
+        when(table.findElements(By.xpath(".//tr[td][count(td)>=3]"))).thenAnswer(new Answer<List<WebElement>>() {
+            @Override
+            public List<WebElement> answer(InvocationOnMock invocation) {
+                return new ArrayList<WebElement>(ImmutableList.of(timsRow, graemesRow, billsRow));
+            }
+        });
+        List<WebElement> headingCells = cells("First Name", "Last Name", "Favorite Colour", "Goodie");
+        when(table.findElements(By.xpath(".//th"))).thenReturn(headingCells);
+
+        when(driver.executeScript(eq(HtmlTableContents.TABLE_CONTENTS_SCRIPT), anyVararg())).thenAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) {
+                boolean readHeadings = (Boolean) invocation.getArguments()[3];
+                boolean includeRows = (Boolean) invocation.getArguments()[4];
+                List<String> headings = readHeadings
+                        ? ImmutableList.of("First Name", "Last Name", "Favorite Colour", "Goodie") : HEADINGS;
+                List<List<String>> rows = ImmutableList.of();
+                if (includeRows) {
+                    rows = ImmutableList.<List<String>>of(ImmutableList.of("Tim", "Brooke-Taylor", "Red"),
+                                                          ImmutableList.of("Graeme", "Garden", "Green"),
+                                                          ImmutableList.of("Bill", "", "Blue"));
+                }
+                return ImmutableMap.of("headings", headings, "rows", rows);
+            }
+        });
+    }
+
+    private WebElement rowWithCells(String... cellTexts) {
+        WebElement row = mock(WebElement.class);
+        List<WebElement> cells = cells(cellTexts);
+        when(row.findElements(By.xpath("./td"))).thenReturn(cells);
+        return row;
+    }
+
+    private List<WebElement> cells(String... cellTexts) {
+        List<WebElement> cells = new ArrayList<WebElement>();
+        for (String cellText : cellTexts) {
+            WebElement cell = mock(WebElement.class);
+            when(cell.getText()).thenReturn(cellText);
+            cells.add(cell);
+        }
+        return cells;
+    }
+
+    private void javascriptIsEnabled(boolean enabled) {
+        when(driver.isJavascriptEnabled()).thenReturn(enabled);
+    }
+
+    @Test
+    public void rows_read_in_one_call_should_match_the_rows_read_element_by_element() {
+        javascriptIsEnabled(false);
+        List<Map<Object, String>> rowsReadElementByElement = HtmlTable.withColumns("First Name", "Last Name", "Favorite Colour")
+                                                                      .readRowsFrom(table);
+        javascriptIsEnabled(true);
+        List<Map<Object, String>> rowsReadInOneCall = HtmlTable.withColumns("First Name", "Last Name", "Favorite Colour")
+                                                               .readRowsFrom(table);
+
+        assertThat(rowsReadInOneCall, is(rowsReadElementByElement));
+        assertThat(rowsReadInOneCall.size(), is(3));
+        assertThat(rowsReadInOneCall.get(2).get("Last Name"), is(""));
+    }
+
+    @Test
+    public void headings_read_in_one_call_should_match_the_headings_read_element_by_element() {
+        javascriptIsEnabled(false);
+        List<String> headingsReadElementByElement = new HtmlTable(table).getHeadings();
+        javascriptIsEnabled(true);
+        List<String> headingsReadInOneCall = new HtmlTable(table).getHeadings();
+
+        assertThat(headingsReadInOneCall, is(headingsReadElementByElement));
+    }
+
+    @Test
+    public void checking_the_rows_of_a_table_should_only_need_one_call_to_the_browser() {
+        javascriptIsEnabled(true);
+        HtmlTable htmlTable = HtmlTable.withColumns("First Name", "Last Name", "Favorite Colour").inTable(table);
+
+        assertThat(htmlTable.containsRowElementsWhere(the("First Name", is("Bill"))), is(true));
+        htmlTable.shouldHaveRowElementsWhere(the("Favorite Colour", is("Green")));
+        htmlTable.shouldNotHaveRowElementsWhere(the("First Name", is("Three clients")));
+
+        verify(table, never()).findElements(any(By.class));
+        verify(table, never()).findElement(any(By.class));
+    }
+
+    @Test
+    public void should_find_the_row_element_matching_the_row_read_in_one_call() {
+        javascriptIsEnabled(true);
+        HtmlTable htmlTable = HtmlTable.withColumns("First Name", "Last Name", "Favorite Colour").inTable(table);
+
+        assertThat(htmlTable.findFirstRowWhere(the("First Name", is("Graeme"))), is(sameInstance(graemesRow)));
+        assertThat(htmlTable.findFirstRowWhere(the("Favorite Colour", is("Blue"))), is(sameInstance(billsRow)));
+    }
+}
@@ -18,6 +18,7 @@ import static ch.lambdaj.Lambda.filter;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 
 public class WhenAddingJQuerySupportToPageObjects {
 
@@ -29,6 +30,7 @@ public class WhenAddingJQuerySupportToPageObjects {
     class TestableJQueryEnabledPage extends JQueryEnabledPage {
 
         public List<String> executedScripts = new ArrayList<String>();
+        public int browserCalls = 0;
 
         TestableJQueryEnabledPage(WebDriver driver, EnvironmentVariables environmentVariables) {
             super(driver, environmentVariables);
@@ -38,6 +40,12 @@ public class WhenAddingJQuerySupportToPageObjects {
         protected void executeScriptFrom(String scriptSource) {
             executedScripts.add(scriptSource);
         }
+
+        @Override
+        protected void executeScriptsUnless(String condition, List<String> scriptSources) {
+            browserCalls++;
+            executedScripts.addAll(scriptSources);
+        }
     }
 
     TestableJQueryEnabledPage page;
@@ -114,6 +122,31 @@ public class WhenAddingJQuerySupportToPageObjects {
     }
 
 
+    @Test
+    public void should_add_the_jquery_library_and_plugins_in_a_single_call() {
+        environmentVariables.setProperty("thucydides.activate.highlighting", "true");
+
+        page.injectJQueryIfAbsent();
+
+        assertThat(page, executedScript("jquery.min.js"));
+        assertThat(page, executedScript("jquery-thucydides-plugin.js"));
+        assertThat(page.browserCalls, is(1));
+    }
+
+    @Test
+    public void should_not_call_the_browser_to_add_plugins_if_none_are_activated() {
+        page.injectJQueryPluginsIfAbsent();
+
+        assertThat(page.browserCalls, is(0));
+    }
+
+    @Test
+    public void should_only_read_script_resources_once() {
+        String jquerySource = JQueryEnabledPage.getFileAsString("jquery/jquery.min.js");
+
+        assertThat(JQueryEnabledPage.getFileAsString("jquery/jquery.min.js"), is(sameInstance(jquerySource)));
+    }
+
     @Test
     public void should_not_add_the_jquery_library_to_a_page_if_jquery_integration_is_deactivated() {
         environmentVariables.setProperty("thucydides.jquery.integration", "false");
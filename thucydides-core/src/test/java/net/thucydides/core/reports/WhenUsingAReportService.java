@@ -18,6 +18,7 @@ import static org.hamcrest.Matchers.*;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class WhenUsingAReportService {
 
@@ -68,6 +69,24 @@ public class WhenUsingAReportService {
     }
 
 
+    @Test
+    public void a_report_service_should_record_how_long_each_reporter_takes() throws Exception {
+        List<TestOutcome> testOutcomeResults = new ArrayList<>();
+        for(int i = 0; i < 10; i++) {
+            testOutcomeResults.add(TestOutcome.forTestInStory("test" + i, Story.withId("s1", "Story 1")));
+        }
+        when(reporter.getName()).thenReturn("timed-reporter");
+
+        ReportService reportService = new ReportService(outputDirectory, new ArrayList<AcceptanceTestReporter>());
+        reportService.subscribe(reporter);
+        reportService.generateReportsFor(testOutcomeResults);
+
+        ReportGenerationMetrics metrics = ReportService.getReportGenerationMetrics();
+        assertThat(metrics.getReporterNames(), hasItem("timed-reporter"));
+        assertThat(metrics.getReportCountFor("timed-reporter"), is(10L));
+        assertThat(ReportService.getQueuedReportCount(), is(0));
+    }
+
     @Test
     public void a_report_service_uses_the_provided_output_directory_for_all_reports() throws Exception {
         List<TestOutcome> testOutcomeResults = new ArrayList<TestOutcome>();
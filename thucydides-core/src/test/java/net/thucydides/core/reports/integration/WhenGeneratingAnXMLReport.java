@@ -256,6 +256,37 @@ public class WhenGeneratingAnXMLReport {
         assertThat(generatedReportText, isSimilarTo(expectedReport,"timestamp"));
     }
 
+    @Test
+    public void should_load_back_a_large_data_driven_test_run_from_the_generated_report()
+            throws Exception {
+        List<List<Object>> rows = new ArrayList<List<Object>>();
+        for (int i = 0; i < 500; i++) {
+            List<Object> row = new ArrayList<Object>(); row.addAll(Lists.newArrayList("Joe " + i, "Smith & <Jones>", Integer.toString(i)));
+            rows.add(row);
+        }
+        TestOutcome testOutcome = TestOutcome.forTest("should_do_this", SomeTestScenario.class);
+        testOutcome.setStartTime(new DateTime(2013,1,1,0,0,0,0));
+        DataTable table = DataTable.withHeaders(ImmutableList.of("firstName","lastName","age")).andRows(rows).build();
+        testOutcome.useExamplesFrom(table);
+        for (int i = 0; i < 500; i++) {
+            testOutcome.startGroup("Example " + i);
+            testOutcome.recordStep(TestStepFactory.successfulTestStepCalled("step 1"));
+            testOutcome.recordStep(TestStepFactory.successfulTestStepCalled("step 2\non two lines"));
+            testOutcome.endGroup();
+        }
+
+        File xmlReport = reporter.generateReportFor(testOutcome, allTestOutcomes);
+        TestOutcome loadedOutcome = new XMLTestOutcomeReporter().loadReportFrom(xmlReport).get();
+
+        assertThat(loadedOutcome.getTitle(), is(testOutcome.getTitle()));
+        assertThat(loadedOutcome.getDataTable().getRows().size(), is(500));
+        assertThat(loadedOutcome.getDataTable().getRows().get(499).getStringValues(),
+                   contains("Joe 499", "Smith & <Jones>", "499"));
+        assertThat(loadedOutcome.getTestSteps().size(), is(500));
+        assertThat(loadedOutcome.getTestSteps().get(499).getChildren().get(1).getDescription(), is("step 2\non two lines"));
+        assertThat(loadedOutcome.countTestSteps(), is(testOutcome.countTestSteps()));
+    }
+
     @Test
     public void should_generate_an_XML_report_for_an_acceptance_test_run_with_a_table_with_a_title_and_description()
             throws Exception {
@@ -12,6 +12,13 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
@@ -58,6 +65,59 @@ public class WhenReadingAnXMLReport {
         assertThat(testOutcome.get().getDescription(), is("Some description"));
     }
 
+    @Test
+    public void should_not_resolve_external_entities_in_xml_files() throws Exception {
+        File secretFile = temporaryDirectory.newFile("secret.txt");
+        FileUtils.writeStringToFile(secretFile, "top secret");
+        String storedReportXML =
+            "<?xml version='1.0'?>\n"
+          + "<!DOCTYPE acceptance-test-run [<!ENTITY secret SYSTEM '" + secretFile.toURI() + "'>]>\n"
+          + "<acceptance-test-run title='Should do this' name='should_do_this' steps='1' successful='1' failures='0' skipped='0' ignored='0' pending='0' result='SUCCESS'  timestamp='2013-01-01T00:00:00.000-05:00'>\n"
+          + "  <user-story id='net.thucydides.core.reports.integration.WhenGeneratingAnXMLReport.AUserStory' name='A user story' />\n"
+          + "  <test-step result='SUCCESS'>\n"
+          + "    <description>&secret;</description>\n"
+          + "  </test-step>\n"
+          + "</acceptance-test-run>";
+
+        File report = temporaryDirectory.newFile("saved-report.xml");
+        FileUtils.writeStringToFile(report, storedReportXML);
+
+        Optional<TestOutcome> testOutcome = outcomeReporter.loadReportFrom(report);
+        assertThat(testOutcome.isPresent(), is(false));
+    }
+
+    @Test
+    public void should_load_reports_from_several_threads_at_the_same_time() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            String storedReportXML =
+                "<acceptance-test-run title='Should do this' name='should_do_this_" + i + "' steps='1' successful='1' failures='0' skipped='0' ignored='0' pending='0' result='SUCCESS'  timestamp='2013-01-01T00:00:00.000-05:00'>\n"
+              + "  <user-story id='net.thucydides.core.reports.integration.WhenGeneratingAnXMLReport.AUserStory' name='A user story' />\n"
+              + "  <test-step result='SUCCESS'>\n"
+              + "    <description>step 1</description>\n"
+              + "  </test-step>\n"
+              + "</acceptance-test-run>";
+            FileUtils.writeStringToFile(new File(outputDirectory, "saved-report-" + i + ".xml"), storedReportXML);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<TestOutcome>>> loadedOutcomes = new ArrayList<Future<List<TestOutcome>>>();
+            for (int i = 0; i < 4; i++) {
+                loadedOutcomes.add(executor.submit(new Callable<List<TestOutcome>>() {
+                    @Override
+                    public List<TestOutcome> call() throws Exception {
+                        return new XMLTestOutcomeReporter().loadReportsFrom(outputDirectory);
+                    }
+                }));
+            }
+            for (Future<List<TestOutcome>> outcomes : loadedOutcomes) {
+                assertThat(outcomes.get(30, TimeUnit.SECONDS).size(), is(20));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void should_load_manual_acceptance_test_report_from_xml_file() throws Exception {
         String storedReportXML =
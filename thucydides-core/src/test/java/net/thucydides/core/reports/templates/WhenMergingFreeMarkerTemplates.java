@@ -10,6 +10,8 @@ import java.util.Map;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
+import static org.hamcrest.Matchers.sameInstance;
 
 public class WhenMergingFreeMarkerTemplates {
 
@@ -28,6 +30,33 @@ public class WhenMergingFreeMarkerTemplates {
 
     }
 
+    @Test
+    public void should_only_parse_each_template_once() throws Exception {
+        FreeMarkerTemplateManager templateManager = new FreeMarkerTemplateManager();
+
+        ReportTemplate template = templateManager.getTemplateFrom("templates/test.ftl");
+        ReportTemplate sameTemplate = templateManager.getTemplateFrom("templates/test.ftl");
+
+        assertThat(sameTemplate, is(sameInstance(template)));
+    }
+
+    @Test
+    public void should_log_data_errors_and_carry_on_once_a_template_has_been_merged_successfully() throws Exception {
+        FreeMarkerTemplateManager templateManager = new FreeMarkerTemplateManager();
+        ReportTemplate template = templateManager.getTemplateFrom("templates/test.ftl");
+
+        Map<String, Object> context = new HashMap<String, Object>();
+        context.put("name","Joe");
+        context.put("age",20);
+        template.merge(context, new StringWriter());
+
+        context.put("age",null);
+        StringWriter sw = new StringWriter();
+        template.merge(context, sw);
+
+        assertThat(sw.toString(), startsWith("Hi Joe, aged "));
+    }
+
     @Test(expected = TemplateMergeException.class)
     public void should_handle_data_errors_in_template() throws Exception {
         FreeMarkerTemplateManager templateManager = new FreeMarkerTemplateManager();
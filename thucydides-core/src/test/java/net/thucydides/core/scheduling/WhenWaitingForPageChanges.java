@@ -0,0 +1,193 @@
+package net.thucydides.core.scheduling;
+
+import com.google.common.base.Function;
+import net.thucydides.core.steps.StepEventBus;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.openqa.selenium.UnsupportedCommandException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+import org.openqa.selenium.support.ui.Duration;
+import org.openqa.selenium.support.ui.Sleeper;
+import org.openqa.selenium.support.ui.SystemClock;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+public class WhenWaitingForPageChanges {
+
+    @Mock
+    Sleeper sleeper;
+
+    @Mock
+    WebDriver driver;
+
+    @Mock
+    DomChangeWatcher domChangeWatcher;
+
+    @Mock
+    HtmlUnitDriver javascriptDriver;
+
+    @Mock
+    WebDriver.Options options;
+
+    @Mock
+    WebDriver.Timeouts timeouts;
+
+    @Before
+    public void initMocks() {
+        MockitoAnnotations.initMocks(this);
+        StepEventBus.getEventBus().clear();
+    }
+
+    class Counter implements Function<WebDriver, Boolean> {
+        int counter = 0;
+
+        public Boolean apply(WebDriver driver) {
+            return ++counter > 4;
+        }
+    }
+
+    @Test
+    public void should_check_the_condition_again_when_the_page_changes_instead_of_sleeping() throws InterruptedException {
+        when(domChangeWatcher.waitForNextChange(250)).thenReturn(true);
+
+        new DomChangeFluentWait(driver, new SystemClock(), sleeper, domChangeWatcher)
+                .withTimeout(5, TimeUnit.SECONDS)
+                .pollingEvery(250, TimeUnit.MILLISECONDS)
+                .until(new Counter());
+
+        verify(domChangeWatcher, times(4)).waitForNextChange(250);
+        verify(sleeper, never()).sleep(any(Duration.class));
+    }
+
+    @Test
+    public void should_poll_with_increasing_pauses_if_the_browser_cannot_report_page_changes() throws InterruptedException {
+        when(domChangeWatcher.waitForNextChange(30)).thenReturn(false);
+
+        new DomChangeFluentWait(driver, new SystemClock(), sleeper, domChangeWatcher)
+                .withTimeout(5, TimeUnit.SECONDS)
+                .pollingEvery(30, TimeUnit.MILLISECONDS)
+                .until(new Counter());
+
+        verify(sleeper).sleep(new Duration(10, TimeUnit.MILLISECONDS));
+        verify(sleeper).sleep(new Duration(20, TimeUnit.MILLISECONDS));
+        verify(sleeper, times(2)).sleep(new Duration(30, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void drivers_that_cannot_run_javascript_cannot_report_page_changes() {
+        DomChangeWatcher watcherForAMockDriver = new DomChangeWatcher(driver);
+
+        assertThat(watcherForAMockDriver.waitForNextChange(250)).isFalse();
+        assertThat(watcherForAMockDriver.isSupported()).isFalse();
+    }
+
+    @Test
+    public void should_only_set_the_script_timeout_once_for_each_driver() {
+        browserReportsPageChanges();
+
+        new DomChangeWatcher(javascriptDriver).waitForNextChange(250);
+        new DomChangeWatcher(javascriptDriver).waitForNextChange(250);
+
+        verify(timeouts, times(1)).setScriptTimeout(anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void should_not_report_page_changes_more_often_than_every_50_ms() {
+        browserReportsPageChanges();
+
+        new DomChangeWatcher(javascriptDriver).waitForNextChange(250);
+
+        verify(javascriptDriver).executeAsyncScript(anyString(), eq(250L), eq(50L));
+    }
+
+    @Test
+    public void should_remember_that_a_driver_cannot_report_page_changes() {
+        browserReportsPageChanges();
+        when(javascriptDriver.executeAsyncScript(anyString(), anyLong(), anyLong())).thenReturn("unsupported");
+
+        new DomChangeWatcher(javascriptDriver).waitForNextChange(250);
+        DomChangeWatcher nextWatcher = new DomChangeWatcher(javascriptDriver);
+
+        assertThat(nextWatcher.waitForNextChange(250)).isFalse();
+        verify(javascriptDriver, times(1)).executeAsyncScript(anyString(), anyLong(), anyLong());
+    }
+
+    @Test
+    public void should_treat_a_page_unloaded_during_the_wait_as_a_page_change() {
+        browserReportsPageChanges();
+        when(javascriptDriver.executeAsyncScript(anyString(), anyLong(), anyLong()))
+                .thenThrow(new WebDriverException("document unloaded while waiting for result"));
+
+        DomChangeWatcher watcher = new DomChangeWatcher(javascriptDriver);
+
+        assertThat(watcher.waitForNextChange(250)).isTrue();
+        assertThat(watcher.isSupported()).isTrue();
+    }
+
+    @Test
+    public void should_remember_that_a_driver_cannot_run_asynchronous_scripts() {
+        browserReportsPageChanges();
+        when(javascriptDriver.executeAsyncScript(anyString(), anyLong(), anyLong()))
+                .thenThrow(new UnsupportedCommandException("executeAsyncScript"));
+
+        DomChangeWatcher watcher = new DomChangeWatcher(javascriptDriver);
+
+        assertThat(watcher.waitForNextChange(250)).isFalse();
+        assertThat(watcher.isSupported()).isFalse();
+    }
+
+    @Test
+    public void should_not_lower_a_longer_configured_script_timeout() {
+        browserReportsPageChanges();
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("webdriver.timeouts.script", "30000");
+
+        new DomChangeWatcher(javascriptDriver, environmentVariables).waitForNextChange(250);
+
+        verify(timeouts, never()).setScriptTimeout(anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void should_raise_a_shorter_configured_script_timeout_when_needed() {
+        browserReportsPageChanges();
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("webdriver.timeouts.script", "500");
+
+        new DomChangeWatcher(javascriptDriver, environmentVariables).waitForNextChange(2000);
+
+        verify(timeouts).setScriptTimeout(3000, TimeUnit.MILLISECONDS);
+    }
+
+    private void browserReportsPageChanges() {
+        when(javascriptDriver.isJavascriptEnabled()).thenReturn(true);
+        when(javascriptDriver.manage()).thenReturn(options);
+        when(options.timeouts()).thenReturn(timeouts);
+        when(javascriptDriver.executeAsyncScript(anyString(), anyLong(), anyLong())).thenReturn("changed");
+    }
+
+    @Test
+    public void should_poll_at_fixed_intervals_by_default() {
+        assertThat(WaitStrategy.configuredIn(new MockEnvironmentVariables())).isEqualTo(WaitStrategy.POLLING);
+    }
+
+    @Test
+    public void should_wait_for_page_changes_if_requested() {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("thucydides.wait.strategy", "dom-changes");
+
+        assertThat(WaitStrategy.configuredIn(environmentVariables)).isEqualTo(WaitStrategy.DOM_CHANGES);
+        assertThat(WaitStrategy.DOM_CHANGES.newWait(driver, new SystemClock(), sleeper)).isInstanceOf(DomChangeFluentWait.class);
+    }
+}
@@ -0,0 +1,140 @@
+package net.thucydides.core.screenshots;
+
+import net.thucydides.core.images.SimpleImageInfo;
+import net.thucydides.core.util.ExtendedTemporaryFolder;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static net.thucydides.core.util.TestResources.fileInClasspathCalled;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+public class WhenProcessingQueuedScreenshots {
+
+    @Rule
+    public ExtendedTemporaryFolder temporaryDirectory = new ExtendedTemporaryFolder();
+
+    private File sourceDirectory;
+    private File screenshotDirectory;
+    private MultithreadScreenshotProcessor screenshotProcessor;
+
+    @Before
+    public void createDirectories() throws IOException {
+        sourceDirectory = temporaryDirectory.newFolder("source");
+        screenshotDirectory = temporaryDirectory.newFolder("screenshots");
+        screenshotProcessor = new MultithreadScreenshotProcessor(new MockEnvironmentVariables(), 4, 2);
+    }
+
+    @After
+    public void terminateProcessor() {
+        screenshotProcessor.terminate();
+    }
+
+    @Test
+    public void should_save_every_queued_screenshot_before_finishing() throws IOException {
+        List<File> savedScreenshots = queueScreenshots(20);
+
+        screenshotProcessor.waitUntilDone();
+
+        for (File savedScreenshot : savedScreenshots) {
+            assertThat(savedScreenshot.exists(), is(true));
+        }
+        assertThat(screenshotProcessor.isEmpty(), is(true));
+        assertThat(screenshotProcessor.getMetrics().getProcessedCount(), is(20L));
+    }
+
+    @Test
+    public void should_never_queue_more_screenshots_than_the_queue_size() throws IOException {
+        queueScreenshots(20);
+
+        screenshotProcessor.waitUntilDone();
+
+        assertThat(screenshotProcessor.getMetrics().getMaximumQueueDepth(), lessThanOrEqualTo(2L));
+        assertThat(screenshotProcessor.getQueueDepth(), is(0));
+    }
+
+    @Test
+    public void should_count_screenshots_that_could_not_be_saved() {
+        File missingScreenshot = new File(sourceDirectory, "missing.png");
+
+        screenshotProcessor.queueScreenshot(new QueuedScreenshot(missingScreenshot, new File(screenshotDirectory, "missing.png")));
+        screenshotProcessor.waitUntilDone();
+
+        assertThat(screenshotProcessor.getMetrics().getDroppedCount(), is(1L));
+    }
+
+    @Test
+    public void should_still_save_screenshots_queued_after_the_processor_is_terminated() throws IOException {
+        screenshotProcessor.terminate();
+
+        List<File> savedScreenshots = queueScreenshots(1);
+
+        assertThat(savedScreenshots.get(0).exists(), is(true));
+    }
+
+    @Test
+    public void should_save_a_screenshot_queued_several_times_at_once_without_dropping_any_copy() throws IOException {
+        File sampleScreenshot = fileInClasspathCalled("/screenshots/google_page_1.png");
+        File destinationFile = new File(screenshotDirectory, "same-screenshot.png");
+        for (int i = 0; i < 20; i++) {
+            File sourceFile = new File(sourceDirectory, "same-screenshot-" + i + ".png");
+            FileUtils.copyFile(sampleScreenshot, sourceFile);
+            screenshotProcessor.queueScreenshot(new QueuedScreenshot(sourceFile, destinationFile));
+        }
+
+        screenshotProcessor.waitUntilDone();
+
+        assertThat(screenshotProcessor.getMetrics().getDroppedCount(), is(0L));
+        assertThat(FileUtils.contentEquals(destinationFile, sampleScreenshot), is(true));
+        assertThat(screenshotDirectory.list(), is(new String[] {"same-screenshot.png"}));
+    }
+
+    @Test
+    public void should_save_screenshots_held_in_memory() throws IOException {
+        byte[] screenshotData = FileUtils.readFileToByteArray(fileInClasspathCalled("/screenshots/google_page_1.png"));
+        File destinationFile = new File(screenshotDirectory, "in-memory.png");
+
+        screenshotProcessor.queueScreenshot(new QueuedScreenshot(screenshotData, destinationFile));
+        screenshotProcessor.waitUntilDone();
+
+        assertThat(FileUtils.readFileToByteArray(destinationFile), is(screenshotData));
+    }
+
+    @Test
+    public void should_resize_screenshots_held_in_memory_if_requested() throws IOException {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("thucydides.resized.image.width", "400");
+        MultithreadScreenshotProcessor resizingProcessor = new MultithreadScreenshotProcessor(environmentVariables, 2, 2);
+        byte[] screenshotData = FileUtils.readFileToByteArray(fileInClasspathCalled("/screenshots/google_page_1.png"));
+        File destinationFile = new File(screenshotDirectory, "resized.png");
+
+        resizingProcessor.queueScreenshot(new QueuedScreenshot(screenshotData, destinationFile));
+        resizingProcessor.waitUntilDone();
+        resizingProcessor.terminate();
+
+        assertThat(new SimpleImageInfo(destinationFile).getWidth(), is(400));
+    }
+
+    private List<File> queueScreenshots(int count) throws IOException {
+        File sampleScreenshot = fileInClasspathCalled("/screenshots/google_page_1.png");
+        List<File> savedScreenshots = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            File sourceFile = new File(sourceDirectory, "screenshot-" + i + ".png");
+            File destinationFile = new File(screenshotDirectory, "screenshot-" + i + ".png");
+            FileUtils.copyFile(sampleScreenshot, sourceFile);
+            screenshotProcessor.queueScreenshot(new QueuedScreenshot(sourceFile, destinationFile));
+            savedScreenshots.add(destinationFile);
+        }
+        return savedScreenshots;
+    }
+}
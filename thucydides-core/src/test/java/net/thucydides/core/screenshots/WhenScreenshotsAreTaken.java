@@ -33,6 +33,7 @@ public class WhenScreenshotsAreTaken {
 
     private File screenshotDirectory;
     private File screenshotTaken;
+    private byte[] screenshotData;
     private File originalScreenshot;
     private File expectedResizedScreenshot;
 
@@ -61,8 +62,8 @@ public class WhenScreenshotsAreTaken {
         }
 
         @Override
-        protected File blur(File srcFile) throws IOException {
-            return srcFile;
+        protected byte[] blur(byte[] screenshotData) throws IOException {
+            return screenshotData;
         }
     }
 
@@ -82,13 +83,25 @@ public class WhenScreenshotsAreTaken {
         expectedResizedScreenshot = FileSystemUtils.getResourceAsFile("screenshots/resized_google_page_1.png");
         screenshotTaken = temporaryDirectory.newFile("google_page_1.png");
         FileUtils.copyFile(originalScreenshot, screenshotTaken);
+        screenshotData = FileUtils.readFileToByteArray(originalScreenshot);
+    }
+
+    @Test
+    public void should_use_a_screenshot_file_if_the_driver_cannot_provide_the_screenshot_as_bytes() throws Exception {
+
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(null);
+        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        Optional<File> screenshot = photographer.takeScreenshot();
+        waitUntilScreenshotsProcessed();
+
+        assertThat(FileUtils.contentEquals(screenshot.get(), originalScreenshot), is(true));
     }
 
     @Test
     public void the_driver_should_not_take_screenshots_if_the_driver_is_not_available() throws Exception {
 
         Photographer photographer = new MockPhotographer(null, screenshotDirectory);
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
         photographer.takeScreenshot();
         waitUntilScreenshotsProcessed();
 
@@ -98,7 +111,7 @@ public class WhenScreenshotsAreTaken {
     @Test
     public void the_driver_should_capture_the_image() throws Exception {
 
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
         photographer.takeScreenshot();
         waitUntilScreenshotsProcessed();
 
@@ -109,7 +122,7 @@ public class WhenScreenshotsAreTaken {
     public void should_blur_screenshot_if_requested() throws Exception {
 
         Photographer outOfFocusPhotographer = new Photographer(driver, screenshotDirectory, BlurLevel.HEAVY);
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
         Optional<File> blurredScreenshot = outOfFocusPhotographer.takeScreenshot();
         waitUntilScreenshotsProcessed();
 
@@ -120,7 +133,7 @@ public class WhenScreenshotsAreTaken {
     public void should_not_blur_screenshot_by_default() throws Exception {
 
         Photographer outOfFocusPhotographer = new Photographer(driver, screenshotDirectory);
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
         Optional<File> blurredScreenshot = outOfFocusPhotographer.takeScreenshot();
         waitUntilScreenshotsProcessed();
 
@@ -130,7 +143,7 @@ public class WhenScreenshotsAreTaken {
     @Test
     public void should_not_take_a_snapshot_if_unsupported_by_the_driver() throws Exception {
 
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
         Photographer photographer = new Photographer(htmlDriver, screenshotDirectory);
         photographer.takeScreenshot();
         waitUntilScreenshotsProcessed();
@@ -141,7 +154,7 @@ public class WhenScreenshotsAreTaken {
     @Test
     public void the_screenshot_should_be_stored_in_the_target_directory() throws IOException, InterruptedException{
 
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
 
         String screenshotFile = photographer.takeScreenshot().get().getName();
         waitUntilScreenshotsProcessed();
@@ -159,7 +172,7 @@ public class WhenScreenshotsAreTaken {
     @Test
     public void the_photographer_should_return_the_stored_screenshot_filename() throws IOException, InterruptedException {
 
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
         
         String savedFileName = photographer.takeScreenshot().get().getName();
         waitUntilScreenshotsProcessed();
@@ -192,7 +205,7 @@ public class WhenScreenshotsAreTaken {
 
     @Test
     public void calling_api_generates_a_filename_safe_hashed_name_for_the_screenshot() throws Exception {
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
 
         String screenshotFile = photographer.takeScreenshot().get().getName();
         waitUntilScreenshotsProcessed();
@@ -202,7 +215,7 @@ public class WhenScreenshotsAreTaken {
     
     @Test
     public void by_default_screenshot_files_start_with_Screenshot() throws Exception {
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
 
         String screenshotFile = photographer.takeScreenshot().get().getName();
         waitUntilScreenshotsProcessed();
@@ -216,7 +229,7 @@ public class WhenScreenshotsAreTaken {
     @Test
     public void should_send_screenshots_to_screenshot_processor() {
 
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
         photographer.setScreenshotProcessor(screenshotProcessor);
 
         photographer.takeScreenshot();
@@ -228,11 +241,11 @@ public class WhenScreenshotsAreTaken {
     public void should_blur_screenshots_if_blurScreenshots_option_is_present() throws Exception {
         Photographer photographer = new MockPhotographer(driver, screenshotDirectory, BlurLevel.HEAVY);
         photographer = spy(photographer);
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
         photographer.takeScreenshot();
         waitUntilScreenshotsProcessed();
 
-        verify(photographer, times(1)).blur(any(File.class));
+        verify(photographer, times(1)).blur(any(byte[].class));
         verify(driver,times(1)).getScreenshotAs((OutputType<?>) anyObject());
     }
 
@@ -240,11 +253,11 @@ public class WhenScreenshotsAreTaken {
     public void should_not_blur_screenshots_if_blurScreenshots_option_is_absent() throws Exception {
         Photographer photographer = new MockPhotographer(driver, screenshotDirectory, null);
         photographer = spy(photographer);
-        when(driver.getScreenshotAs(OutputType.FILE)).thenReturn(screenshotTaken);
+        when(driver.getScreenshotAs(OutputType.BYTES)).thenReturn(screenshotData);
         photographer.takeScreenshot();
         waitUntilScreenshotsProcessed();
 
-        verify(photographer, times(0)).blur(any(File.class));
+        verify(photographer, times(0)).blur(any(byte[].class));
         verify(driver,times(1)).getScreenshotAs((OutputType<?>) anyObject());
     }
 }
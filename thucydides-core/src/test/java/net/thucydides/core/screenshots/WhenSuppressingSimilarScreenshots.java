@@ -0,0 +1,92 @@
+package net.thucydides.core.screenshots;
+
+import com.google.common.base.Optional;
+import net.thucydides.core.util.FileSystemUtils;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+public class WhenSuppressingSimilarScreenshots {
+
+    private static final File FIRST_SCREENSHOT = new File("first.png");
+    private static final File SECOND_SCREENSHOT = new File("second.png");
+
+    private final SimilarScreenshotFilter filter = new SimilarScreenshotFilter(4);
+
+    @Test
+    public void a_screenshot_with_a_small_change_should_refer_to_the_previous_screenshot() throws IOException {
+        byte[] screenshot = screenshotData("google_page_1.png");
+        byte[] screenshotWithACursor = withASmallMark(screenshot);
+
+        filter.similarPreviousScreenshot(screenshot, FIRST_SCREENSHOT);
+        Optional<File> similarScreenshot = filter.similarPreviousScreenshot(screenshotWithACursor, SECOND_SCREENSHOT);
+
+        assertThat(similarScreenshot.get(), is(FIRST_SCREENSHOT));
+    }
+
+    @Test
+    public void a_different_screenshot_should_be_kept() throws IOException {
+        filter.similarPreviousScreenshot(screenshotData("google_page_1.png"), FIRST_SCREENSHOT);
+        Optional<File> similarScreenshot = filter.similarPreviousScreenshot(screenshotData("amazon.png"), SECOND_SCREENSHOT);
+
+        assertThat(similarScreenshot.isPresent(), is(false));
+    }
+
+    @Test
+    public void screenshots_should_not_be_compared_with_screenshots_from_a_previous_test() throws IOException {
+        byte[] screenshot = screenshotData("google_page_1.png");
+
+        filter.similarPreviousScreenshot(screenshot, FIRST_SCREENSHOT);
+        filter.reset();
+        Optional<File> similarScreenshot = filter.similarPreviousScreenshot(screenshot, SECOND_SCREENSHOT);
+
+        assertThat(similarScreenshot.isPresent(), is(false));
+    }
+
+    @Test
+    public void the_filter_should_be_disabled_by_default() throws IOException {
+        SimilarScreenshotFilter defaultFilter = SimilarScreenshotFilter.fromConfiguration(new MockEnvironmentVariables());
+        byte[] screenshot = screenshotData("google_page_1.png");
+
+        defaultFilter.similarPreviousScreenshot(screenshot, FIRST_SCREENSHOT);
+        Optional<File> similarScreenshot = defaultFilter.similarPreviousScreenshot(screenshot, SECOND_SCREENSHOT);
+
+        assertThat(defaultFilter.isEnabled(), is(false));
+        assertThat(similarScreenshot.isPresent(), is(false));
+    }
+
+    @Test
+    public void the_similarity_threshold_can_be_configured() {
+        MockEnvironmentVariables environmentVariables = new MockEnvironmentVariables();
+        environmentVariables.setProperty("thucydides.screenshot.similarity.threshold", "0");
+
+        assertThat(SimilarScreenshotFilter.fromConfiguration(environmentVariables).isEnabled(), is(true));
+    }
+
+    private byte[] screenshotData(String screenshotName) throws IOException {
+        File screenshotFile = FileSystemUtils.getResourceAsFile("screenshots/" + screenshotName);
+        return Files.readAllBytes(screenshotFile.toPath());
+    }
+
+    private byte[] withASmallMark(byte[] screenshotData) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(screenshotData));
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.BLACK);
+        graphics.fillRect(10, 10, 2, 12);
+        graphics.dispose();
+        ByteArrayOutputStream markedScreenshot = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", markedScreenshot);
+        return markedScreenshot.toByteArray();
+    }
+}
@@ -0,0 +1,151 @@
+package net.thucydides.core.screenshots;
+
+import com.google.common.collect.ImmutableList;
+import net.thucydides.core.model.Story;
+import net.thucydides.core.model.TestOutcome;
+import net.thucydides.core.model.TestResult;
+import net.thucydides.core.model.TestStep;
+import net.thucydides.core.reports.TestOutcomes;
+import net.thucydides.core.reports.json.JSONTestOutcomeReporter;
+import net.thucydides.core.util.ExtendedTemporaryFolder;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.apache.commons.io.FileUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+
+public class WhenUsingASharedScreenshotStore {
+
+    @Rule
+    public ExtendedTemporaryFolder temporaryDirectory = new ExtendedTemporaryFolder();
+
+    private static final byte[] SCREENSHOT_DATA = new byte[] {1, 2, 3, 4};
+    private static final String USED_SCREENSHOT = "0a1b2c3d_NONE.png";
+    private static final String UNUSED_SCREENSHOT = "4e5f6a7b_NONE.png";
+
+    private ScreenshotStore screenshotStore;
+    private File reportDirectory;
+    private MockEnvironmentVariables environmentVariables;
+
+    @Before
+    public void createStore() throws IOException {
+        environmentVariables = new MockEnvironmentVariables();
+        screenshotStore = new ScreenshotStore(temporaryDirectory.newFolder("store"), environmentVariables);
+        reportDirectory = temporaryDirectory.newFolder("reports");
+    }
+
+    @Test
+    public void should_make_a_stored_screenshot_available_in_several_report_directories() throws IOException {
+        File firstReportDirectory = temporaryDirectory.newFolder("module-1");
+        File secondReportDirectory = temporaryDirectory.newFolder("module-2");
+
+        screenshotStore.store(USED_SCREENSHOT, SCREENSHOT_DATA);
+        screenshotStore.linkInto(new File(firstReportDirectory, USED_SCREENSHOT), USED_SCREENSHOT);
+        screenshotStore.linkInto(new File(secondReportDirectory, USED_SCREENSHOT), USED_SCREENSHOT);
+
+        assertThat(FileUtils.readFileToByteArray(new File(firstReportDirectory, USED_SCREENSHOT)), is(SCREENSHOT_DATA));
+        assertThat(FileUtils.readFileToByteArray(new File(secondReportDirectory, USED_SCREENSHOT)), is(SCREENSHOT_DATA));
+    }
+
+    @Test
+    public void should_only_store_each_screenshot_once() throws IOException {
+        screenshotStore.store(USED_SCREENSHOT, SCREENSHOT_DATA);
+        screenshotStore.store(USED_SCREENSHOT, new byte[] {5, 6, 7});
+
+        File storedScreenshot = new File(new File(screenshotStore.getStoreDirectory(), "0a"), USED_SCREENSHOT);
+        assertThat(FileUtils.readFileToByteArray(storedScreenshot), is(SCREENSHOT_DATA));
+        assertThat(screenshotStore.contains(USED_SCREENSHOT), is(true));
+    }
+
+    @Test
+    public void should_prune_screenshots_that_are_not_used_by_any_test_outcome() throws IOException {
+        storeOldScreenshot(USED_SCREENSHOT);
+        storeOldScreenshot(UNUSED_SCREENSHOT);
+        recordTestOutcomeUsing(USED_SCREENSHOT);
+
+        int prunedScreenshots = screenshotStore.pruneScreenshotsNotUsedIn(ImmutableList.of(reportDirectory));
+
+        assertThat(prunedScreenshots, is(1));
+        assertThat(screenshotStore.contains(USED_SCREENSHOT), is(true));
+        assertThat(screenshotStore.contains(UNUSED_SCREENSHOT), is(false));
+    }
+
+    @Test
+    public void should_keep_screenshots_used_by_outcomes_that_are_not_in_the_preferred_format() throws IOException {
+        environmentVariables.setProperty("output.formats", "xml");
+        storeOldScreenshot(USED_SCREENSHOT);
+        storeOldScreenshot(UNUSED_SCREENSHOT);
+        recordTestOutcomeUsing(USED_SCREENSHOT);
+
+        int prunedScreenshots = screenshotStore.pruneScreenshotsNotUsedIn(ImmutableList.of(reportDirectory));
+
+        assertThat(prunedScreenshots, is(1));
+        assertThat(screenshotStore.contains(USED_SCREENSHOT), is(true));
+        assertThat(screenshotStore.contains(UNUSED_SCREENSHOT), is(false));
+    }
+
+    @Test
+    public void should_not_prune_anything_if_a_report_directory_has_no_test_outcomes() throws IOException {
+        File emptyReportDirectory = temporaryDirectory.newFolder("empty-reports");
+        storeOldScreenshot(USED_SCREENSHOT);
+        recordTestOutcomeUsing(UNUSED_SCREENSHOT);
+
+        try {
+            screenshotStore.pruneScreenshotsNotUsedIn(ImmutableList.of(reportDirectory, emptyReportDirectory));
+            fail("Pruning should have been refused");
+        } catch (IOException expected) {}
+
+        assertThat(screenshotStore.contains(USED_SCREENSHOT), is(true));
+    }
+
+    @Test
+    public void should_not_prune_anything_if_a_test_outcome_cannot_be_read() throws IOException {
+        storeOldScreenshot(USED_SCREENSHOT);
+        recordTestOutcomeUsing(UNUSED_SCREENSHOT);
+        FileUtils.writeStringToFile(new File(reportDirectory, "truncated-outcome.json"), "{\"title\": \"a trunc");
+
+        try {
+            screenshotStore.pruneScreenshotsNotUsedIn(ImmutableList.of(reportDirectory));
+            fail("Pruning should have been refused");
+        } catch (IOException expected) {}
+
+        assertThat(screenshotStore.contains(USED_SCREENSHOT), is(true));
+    }
+
+    @Test
+    public void should_not_prune_recently_stored_screenshots() throws IOException {
+        recordTestOutcomeUsing(USED_SCREENSHOT);
+        screenshotStore.store(UNUSED_SCREENSHOT, SCREENSHOT_DATA);
+
+        int prunedScreenshots = screenshotStore.pruneScreenshotsNotUsedIn(ImmutableList.of(reportDirectory));
+
+        assertThat(prunedScreenshots, is(0));
+        assertThat(screenshotStore.contains(UNUSED_SCREENSHOT), is(true));
+    }
+
+    private void storeOldScreenshot(String screenshotName) throws IOException {
+        screenshotStore.store(screenshotName, SCREENSHOT_DATA);
+        File storedScreenshot = new File(new File(screenshotStore.getStoreDirectory(), screenshotName.substring(0, 2)),
+                                         screenshotName);
+        storedScreenshot.setLastModified(System.currentTimeMillis() - 2 * 60 * 60 * 1000);
+    }
+
+    private void recordTestOutcomeUsing(String screenshotName) throws IOException {
+        TestOutcome testOutcome = TestOutcome.forTestInStory("a test with a screenshot", Story.called("a story"));
+        TestStep step = new TestStep("a step with a screenshot");
+        step.setResult(TestResult.SUCCESS);
+        step.addScreenshot(new ScreenshotAndHtmlSource(new File(reportDirectory, screenshotName)));
+        testOutcome.recordStep(step);
+
+        JSONTestOutcomeReporter reporter = new JSONTestOutcomeReporter();
+        reporter.setOutputDirectory(reportDirectory);
+        reporter.generateReportFor(testOutcome, TestOutcomes.of(ImmutableList.of(testOutcome)));
+    }
+}
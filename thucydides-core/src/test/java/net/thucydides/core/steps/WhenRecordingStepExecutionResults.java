@@ -1463,6 +1463,52 @@ public class WhenRecordingStepExecutionResults {
     }
 
 
+    @Test
+    public void the_screenshot_of_a_failing_step_should_not_be_replaced_by_a_similar_screenshot() {
+        BaseStepListener stepListener = listenerWithSimilarScreenshotsSuppressed();
+
+        StepEventBus.getEventBus().testSuiteStarted(MyTestCase.class);
+        StepEventBus.getEventBus().testStarted("app_should_work");
+        FlatScenarioSteps steps = stepFactory.getStepLibraryFor(FlatScenarioSteps.class);
+        steps.step_one();
+        steps.failingStep();
+        StepEventBus.getEventBus().testFinished(testOutcome);
+
+        List<TestStep> testSteps = stepListener.getCurrentTestOutcome().getTestSteps();
+        File firstScreenshot = testSteps.get(0).getFirstScreenshot().getScreenshotFile();
+        List<ScreenshotAndHtmlSource> failureScreenshots = testSteps.get(1).getScreenshots();
+        File failureScreenshot = failureScreenshots.get(failureScreenshots.size() - 1).getScreenshotFile();
+        assertThat(failureScreenshot, is(not(firstScreenshot)));
+    }
+
+    @Test
+    public void a_reused_similar_screenshot_should_keep_its_original_page_source() throws IOException {
+        environmentVariables.setProperty("thucydides.store.html.source", "true");
+        when(driver.getPageSource()).thenReturn("first page").thenReturn("second page");
+        BaseStepListener stepListener = listenerWithSimilarScreenshotsSuppressed();
+
+        StepEventBus.getEventBus().testSuiteStarted(MyTestCase.class);
+        StepEventBus.getEventBus().testStarted("app_should_work");
+        FlatScenarioSteps steps = stepFactory.getStepLibraryFor(FlatScenarioSteps.class);
+        steps.step_one();
+        StepEventBus.getEventBus().testFinished(testOutcome);
+
+        List<ScreenshotAndHtmlSource> screenshots = stepListener.getCurrentTestOutcome().getTestSteps().get(0).getScreenshots();
+        assertThat(screenshots.size(), is(1));
+        assertThat(FileUtils.readFileToString(screenshots.get(0).getHtmlSource().get()), is("first page"));
+    }
+
+    private BaseStepListener listenerWithSimilarScreenshotsSuppressed() {
+        environmentVariables.setProperty("thucydides.screenshot.similarity.threshold", "64");
+        BaseStepListener stepListener = new BaseStepListener(FirefoxDriver.class, outputDirectory,
+                                                             new SystemPropertiesConfiguration(environmentVariables));
+        stepListener.setDriver(driver);
+        StepEventBus.getEventBus().clear();
+        StepEventBus.getEventBus().dropAllListeners();
+        StepEventBus.getEventBus().registerListener(stepListener);
+        return stepListener;
+    }
+
     @Test
     public void screenshot_source_will_not_be_stored_by_default() {
 
@@ -20,6 +20,8 @@ import java.io.IOException;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 public class WhenUsingTheStepEventBus {
@@ -245,6 +247,27 @@ public class WhenUsingTheStepEventBus {
 
 
 
+    @Test
+    public void listeners_registered_after_the_first_event_should_also_be_notified() {
+        StepEventBus.getEventBus().testStarted("some_test");
+        StepListener lateListener = mock(StepListener.class);
+        StepEventBus.getEventBus().registerListener(lateListener);
+
+        StepEventBus.getEventBus().stepStarted(ExecutedStepDescription.withTitle("a step"));
+
+        verify(lateListener).stepStarted(any(ExecutedStepDescription.class));
+    }
+
+    @Test
+    public void dropped_listeners_should_no_longer_be_notified() {
+        StepEventBus.getEventBus().testStarted("some_test");
+        StepEventBus.getEventBus().dropListener(listener);
+
+        StepEventBus.getEventBus().stepStarted(ExecutedStepDescription.withTitle("a step"));
+
+        verify(listener, never()).stepStarted(any(ExecutedStepDescription.class));
+    }
+
     @Test
     public void should_notify_listeners_when_a_step_starts() {
         SimpleTestScenarioSteps steps = factory.getStepLibraryFor(SimpleTestScenarioSteps.class);
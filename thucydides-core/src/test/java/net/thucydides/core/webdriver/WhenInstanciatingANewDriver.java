@@ -11,17 +11,40 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.DesiredCapabilities;
 import org.openqa.selenium.safari.SafariDriver;
 
 import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.is;
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -64,12 +87,97 @@ public class WhenInstanciatingANewDriver {
 //                                                                  "--homepage=about:blank", "--no-first-run"));
 //    }
 
+    @Test
+    public void should_start_chrome_with_the_requested_window_size() throws Exception {
+        environmentVariables.setProperty("thucydides.browser.width", "800");
+        environmentVariables.setProperty("thucydides.browser.height", "600");
+
+        webDriverFactory.newInstanceOf(SupportedWebDriver.CHROME);
+
+        verify(webdriverInstanceFactory).newChromeDriver(chromeOptionsArgument.capture());
+        ChromeOptions options = (ChromeOptions) chromeOptionsArgument.getValue().getCapability(ChromeOptions.CAPABILITY);
+        assertThat(options.toJson().toString(), containsString("--window-size=800,600"));
+    }
+
+    @Test
+    public void should_still_resize_custom_drivers_that_report_chrome_as_their_browser() throws Exception {
+        environmentVariables.setProperty("thucydides.browser.width", "800");
+        environmentVariables.setProperty("thucydides.browser.height", "600");
+        WebDriver customChromeDriver = customDriverReportingBrowser(DesiredCapabilities.chrome());
+        when(webdriverInstanceFactory.newInstanceOf(customChromeDriver.getClass())).thenReturn(customChromeDriver);
+        WebDriverFactory resizingFactory = spy(webDriverFactory);
+        doNothing().when(resizingFactory).resizeBrowserTo(any(WebDriver.class), anyInt(), anyInt());
+
+        resizingFactory.newWebdriverInstance(customChromeDriver.getClass());
+
+        verify(resizingFactory).resizeBrowserTo(eq(customChromeDriver), eq(600), eq(800));
+    }
+
+    private WebDriver customDriverReportingBrowser(final Capabilities capabilities) {
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebDriver.class, HasCapabilities.class, JavascriptExecutor.class},
+                new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if (method.getName().equals("getCapabilities")) {
+                            return capabilities;
+                        } else if (method.getName().equals("equals")) {
+                            return proxy == args[0];
+                        } else if (method.getName().equals("hashCode")) {
+                            return System.identityHashCode(proxy);
+                        }
+                        return null;
+                    }
+                });
+    }
+
     @Test
     public void should_create_safari_driver_instance() throws Exception {
         webDriverFactory.newInstanceOf(SupportedWebDriver.SAFARI);
         verify(webdriverInstanceFactory).newSafariDriver(any(Capabilities.class));
     }
 
+    @Test
+    public void should_record_how_long_each_type_of_driver_takes_to_start() throws Exception {
+        long driversStartedBefore = WebDriverFactory.getDriverCreationMetrics().getCreationCount("SafariDriver");
+
+        webDriverFactory.newInstanceOf(SupportedWebDriver.SAFARI);
+
+        DriverCreationMetrics metrics = WebDriverFactory.getDriverCreationMetrics();
+        assertThat(metrics.getCreationCount("SafariDriver"), is(driversStartedBefore + 1));
+        assertThat(metrics.getDriverTypes(), hasItem("SafariDriver"));
+    }
+
+    @Test
+    public void should_be_able_to_start_several_drivers_at_the_same_time() throws Exception {
+        final CyclicBarrier bothDriversStarting = new CyclicBarrier(2);
+        when(webdriverInstanceFactory.newSafariDriver(any(Capabilities.class))).thenAnswer(new Answer<SafariDriver>() {
+            @Override
+            public SafariDriver answer(InvocationOnMock invocation) throws Throwable {
+                bothDriversStarting.await(5, TimeUnit.SECONDS);
+                return safariDriver;
+            }
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<WebDriver>> drivers = new ArrayList<Future<WebDriver>>();
+            for (int i = 0; i < 2; i++) {
+                drivers.add(executor.submit(new Callable<WebDriver>() {
+                    @Override
+                    public WebDriver call() throws Exception {
+                        return webDriverFactory.newInstanceOf(SupportedWebDriver.SAFARI);
+                    }
+                }));
+            }
+            for (Future<WebDriver> driver : drivers) {
+                assertThat(driver.get(10, TimeUnit.SECONDS), is((WebDriver) safariDriver));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
 //    private List<String> argumentsFrom(ArgumentCaptor<Capabilities> chromeOptionsArgument) throws IOException, JSONException {
 //        JSONArray argumentsPassed = ((ChromeOptions)chromeOptionsArgument.getValue()
 //                                                                         .getCapability("chromeOptions")).toJson().getAsJsonArray();
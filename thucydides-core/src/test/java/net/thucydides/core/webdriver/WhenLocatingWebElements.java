@@ -1,6 +1,7 @@
 package net.thucydides.core.webdriver;
 
 import com.google.common.collect.ImmutableList;
+import net.thucydides.core.annotations.locators.ImmediateElementLookup;
 import net.thucydides.core.annotations.locators.SmartAjaxElementLocator;
 import net.thucydides.core.steps.StepEventBus;
 import net.thucydides.core.steps.StepFailure;
@@ -61,6 +62,30 @@ public class WhenLocatingWebElements {
         locator.findElement();
     }
 
+    @Test(timeout = 5000)
+    public void should_find_element_immediately_during_an_immediate_lookup() {
+
+        SmartAjaxElementLocator locator = new SmartAjaxElementLocator(driver, field, 5);
+        ImmediateElementLookup.start();
+        try {
+            locator.findElement();
+        } finally {
+            ImmediateElementLookup.finish();
+        }
+    }
+
+    @Test
+    public void should_wait_for_elements_again_once_an_immediate_lookup_has_finished() {
+
+        expectedException.expect(NoSuchElementException.class);
+        expectedException.expectMessage(containsString("Timed out after 1 second"));
+
+        ImmediateElementLookup.start();
+        ImmediateElementLookup.finish();
+        SmartAjaxElementLocator locator = new SmartAjaxElementLocator(driver, field, 1);
+        locator.findElement();
+    }
+
     @Rule
     public ExpectedException expectedException = ExpectedException.none();
 
@@ -0,0 +1,203 @@
+package net.thucydides.core.webdriver;
+
+import com.google.common.collect.ImmutableSet;
+import net.thucydides.core.util.MockEnvironmentVariables;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.htmlunit.HtmlUnitDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class WhenUsingADriverPool {
+
+    MockEnvironmentVariables environmentVariables;
+
+    List<WebDriver> startedDrivers;
+
+    WebDriverFactory factory;
+
+    WebDriverPool driverPool;
+
+    @Before
+    public void createFactory() {
+        environmentVariables = new MockEnvironmentVariables();
+        startedDrivers = new ArrayList<WebDriver>();
+        factory = new WebDriverFactory(new WebdriverInstanceFactory(), environmentVariables) {
+            @Override
+            protected WebDriver newWebdriverInstance(Class<? extends WebDriver> driverClass) {
+                WebDriver driver = mock(WebDriver.class, RETURNS_DEEP_STUBS);
+                when(driver.getWindowHandles()).thenReturn(ImmutableSet.of("main"));
+                synchronized (startedDrivers) {
+                    startedDrivers.add(driver);
+                }
+                return driver;
+            }
+        };
+    }
+
+    @After
+    public void closePool() {
+        if (driverPool != null) {
+            driverPool.shutdown();
+        }
+    }
+
+    @Test
+    public void should_start_a_spare_browser_in_the_background() throws InterruptedException {
+        driverPool = new WebDriverPool(factory, 2, 5);
+
+        driverPool.acquire(HtmlUnitDriver.class);
+
+        waitForIdleDrivers(1);
+        assertThat(driverPool.getIdleDriverCount(HtmlUnitDriver.class), is(1));
+    }
+
+    @Test
+    public void should_hand_out_a_ready_browser_if_one_is_available() throws InterruptedException {
+        driverPool = new WebDriverPool(factory, 2, 5);
+        driverPool.acquire(HtmlUnitDriver.class);
+        waitForIdleDrivers(1);
+        WebDriver spareDriver = startedDrivers.get(1);
+
+        assertThat(driverPool.acquire(HtmlUnitDriver.class), is(sameInstance(spareDriver)));
+    }
+
+    @Test
+    public void should_clean_up_a_released_browser_and_reuse_it() {
+        driverPool = new WebDriverPool(factory, 1, 5);
+        WebDriver driver = driverPool.acquire(HtmlUnitDriver.class);
+
+        driverPool.release(HtmlUnitDriver.class, driver);
+
+        verify(driver.manage()).deleteAllCookies();
+        verify(driver).get("about:blank");
+        verify(driver, never()).quit();
+        assertThat(driverPool.acquire(HtmlUnitDriver.class), is(sameInstance(driver)));
+    }
+
+    @Test
+    public void should_quit_a_browser_that_has_been_used_the_maximum_number_of_times() {
+        driverPool = new WebDriverPool(factory, 1, 2);
+        WebDriver driver = driverPool.acquire(HtmlUnitDriver.class);
+        driverPool.release(HtmlUnitDriver.class, driver);
+        assertThat(driverPool.acquire(HtmlUnitDriver.class), is(sameInstance(driver)));
+
+        driverPool.release(HtmlUnitDriver.class, driver);
+
+        verify(driver).quit();
+    }
+
+    @Test
+    public void should_quit_a_browser_with_several_windows_open() {
+        driverPool = new WebDriverPool(factory, 1, 5);
+        WebDriver driver = driverPool.acquire(HtmlUnitDriver.class);
+        when(driver.getWindowHandles()).thenReturn(ImmutableSet.of("main", "popup"));
+
+        driverPool.release(HtmlUnitDriver.class, driver);
+
+        verify(driver).quit();
+    }
+
+    @Test
+    public void should_not_keep_more_browsers_than_the_pool_size() {
+        driverPool = new WebDriverPool(factory, 1, 5);
+        WebDriver firstDriver = driverPool.acquire(HtmlUnitDriver.class);
+        WebDriver secondDriver = driverPool.acquire(HtmlUnitDriver.class);
+
+        driverPool.release(HtmlUnitDriver.class, firstDriver);
+        driverPool.release(HtmlUnitDriver.class, secondDriver);
+
+        verify(firstDriver).quit();
+        assertThat(driverPool.getIdleDriverCount(HtmlUnitDriver.class), is(1));
+    }
+
+    @Test
+    public void should_quit_the_waiting_browsers_when_the_pool_is_shut_down() {
+        driverPool = new WebDriverPool(factory, 1, 5);
+        WebDriver driver = driverPool.acquire(HtmlUnitDriver.class);
+        driverPool.release(HtmlUnitDriver.class, driver);
+
+        driverPool.shutdown();
+
+        verify(driver).quit();
+        assertThat(driverPool.getIdleDriverCount(HtmlUnitDriver.class), is(0));
+    }
+
+    @Test
+    public void should_keep_reusing_browsers_after_the_idle_browsers_are_closed() {
+        driverPool = new WebDriverPool(factory, 1, 5);
+        WebDriver firstDriver = driverPool.acquire(HtmlUnitDriver.class);
+        driverPool.release(HtmlUnitDriver.class, firstDriver);
+
+        driverPool.closeIdleDrivers();
+
+        verify(firstDriver).quit();
+        WebDriver secondDriver = driverPool.acquire(HtmlUnitDriver.class);
+        driverPool.release(HtmlUnitDriver.class, secondDriver);
+        verify(secondDriver, never()).quit();
+        assertThat(driverPool.acquire(HtmlUnitDriver.class), is(sameInstance(secondDriver)));
+    }
+
+    @Test
+    public void should_give_pooled_browsers_to_the_tests_when_a_pool_size_is_configured() {
+        environmentVariables.setProperty("thucydides.driver.pool.size", "2");
+        ThucydidesWebdriverManager webdriverManager
+                = new ThucydidesWebdriverManager(factory, new SystemPropertiesConfiguration(environmentVariables));
+        webdriverManager.closeAllCurrentDrivers();
+
+        assertThat(webdriverManager.getWebdriver("htmlunit"), instanceOf(PooledWebDriverFacade.class));
+    }
+
+    @Test
+    public void should_keep_the_spare_browsers_when_the_drivers_of_a_test_class_are_closed() throws InterruptedException {
+        environmentVariables.setProperty("thucydides.driver.pool.size", "2");
+        ThucydidesWebdriverManager webdriverManager
+                = new ThucydidesWebdriverManager(factory, new SystemPropertiesConfiguration(environmentVariables));
+        webdriverManager.closeAllCurrentDrivers();
+        ((WebDriverFacade) webdriverManager.getWebdriver("htmlunit")).getProxiedDriver();
+        waitForStartedDrivers(2);
+
+        webdriverManager.closeAllDrivers();
+
+        verify(startedDrivers.get(1), never()).quit();
+    }
+
+    @Test
+    public void should_not_use_a_pool_by_default() {
+        ThucydidesWebdriverManager webdriverManager
+                = new ThucydidesWebdriverManager(factory, new SystemPropertiesConfiguration(environmentVariables));
+        webdriverManager.closeAllCurrentDrivers();
+
+        assertThat(webdriverManager.getWebdriver("htmlunit"), not(instanceOf(PooledWebDriverFacade.class)));
+    }
+
+    private void waitForStartedDrivers(int expectedCount) throws InterruptedException {
+        long maxTime = System.currentTimeMillis() + 5000;
+        while ((startedDrivers.size() < expectedCount) && (System.currentTimeMillis() < maxTime)) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+    }
+
+    private void waitForIdleDrivers(int expectedCount) throws InterruptedException {
+        long maxTime = System.currentTimeMillis() + 5000;
+        while ((driverPool.getIdleDriverCount(HtmlUnitDriver.class) < expectedCount)
+                && (System.currentTimeMillis() < maxTime)) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -13,6 +13,7 @@ import net.thucydides.core.guice.Injectors;
 import net.thucydides.core.model.TestOutcome;
 import net.thucydides.core.pages.Pages;
 import net.thucydides.core.reports.AcceptanceTestReporter;
+import net.thucydides.core.reports.ReportGenerationMetrics;
 import net.thucydides.core.reports.ReportService;
 import net.thucydides.core.statistics.TestCount;
 import net.thucydides.core.steps.*;
@@ -385,6 +386,20 @@ public class ThucydidesRunner extends BlockJUnit4ClassRunner {
         getReportService().generateReportsFor(testOutcomeResults);
     }
 
+    /**
+     * @return how many reports each reporter has generated so far, and how long they took.
+     */
+    public ReportGenerationMetrics getReportGenerationMetrics() {
+        return ReportService.getReportGenerationMetrics();
+    }
+
+    /**
+     * @return the number of test outcome reports waiting to be generated.
+     */
+    public int getQueuedReportCount() {
+        return ReportService.getQueuedReportCount();
+    }
+
 
     @Override
     protected void runChild(FrameworkMethod method, RunNotifier notifier) {